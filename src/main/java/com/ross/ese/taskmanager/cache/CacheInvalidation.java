@@ -0,0 +1,35 @@
+package com.ross.ese.taskmanager.cache;
+
+import java.io.Serializable;
+
+/**
+ * Message broadcast to the other nodes when a cache entry changes on this node.
+ *
+ * @param kind What changed
+ * @param cacheName The cache, or the generation scope for {@link Kind#GENERATION}
+ * @param key The changed key; null for {@link Kind#CLEAR}
+ * @param generation The new generation for {@link Kind#GENERATION}, otherwise 0
+ */
+public record CacheInvalidation(Kind kind, String cacheName, Object key, long generation) implements Serializable {
+
+    public enum Kind {
+        /** A single entry was evicted or replaced. */
+        EVICT,
+        /** Every entry of the cache was evicted. */
+        CLEAR,
+        /** A {@link TaskCacheGenerations} scope moved to a new generation. */
+        GENERATION
+    }
+
+    public static CacheInvalidation evict(String cacheName, Object key) {
+        return new CacheInvalidation(Kind.EVICT, cacheName, key, 0);
+    }
+
+    public static CacheInvalidation clear(String cacheName) {
+        return new CacheInvalidation(Kind.CLEAR, cacheName, null, 0);
+    }
+
+    public static CacheInvalidation generation(String scope, long generation) {
+        return new CacheInvalidation(Kind.GENERATION, scope, null, generation);
+    }
+}
@@ -0,0 +1,119 @@
+package com.ross.ese.taskmanager.cache;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionOperations;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Recomputes cache entries in the background for {@link RefreshAheadCache}.
+ * Services register, per cache, how to reload the value of a key; reloads run on a
+ * small bounded pool inside a read-only transaction. When the pool is saturated a
+ * refresh is simply skipped and the entry is reloaded on a later read or expiry.
+ */
+@Component
+@Slf4j
+public class CacheRefresher implements DisposableBean {
+
+    private final Map<String, Function<Object, Callable<?>>> reloaders = new ConcurrentHashMap<>();
+    private final TransactionOperations transactionOperations;
+    private final Executor executor;
+
+    @Autowired
+    public CacheRefresher(PlatformTransactionManager transactionManager,
+                          @Value("${app.cache.refresh.threads:2}") int threads,
+                          @Value("${app.cache.refresh.queue-capacity:100}") int queueCapacity) {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setReadOnly(true);
+        this.transactionOperations = transactionTemplate;
+
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "cache-refresh-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    public CacheRefresher(TransactionOperations transactionOperations, Executor executor) {
+        this.transactionOperations = transactionOperations;
+        this.executor = executor;
+    }
+
+    /**
+     * Registers how entries of a cache are reloaded.
+     *
+     * @param cacheName The cache
+     * @param reloader Returns the loader for a key, or null if the key cannot be reloaded
+     */
+    public void register(String cacheName, Function<Object, Callable<?>> reloader) {
+        reloaders.put(cacheName, reloader);
+    }
+
+    /**
+     * @return The loader for the key, or null if the key cannot be reloaded
+     */
+    public Callable<?> loaderFor(String cacheName, Object key) {
+        Function<Object, Callable<?>> reloader = reloaders.get(cacheName);
+        return reloader != null ? reloader.apply(key) : null;
+    }
+
+    /**
+     * Runs the loader in the background and hands its result to the callback.
+     *
+     * @return false if the refresh could not be scheduled
+     */
+    public boolean refresh(Callable<?> loader, Consumer<Object> onLoaded, Runnable onDone) {
+        try {
+            executor.execute(() -> {
+                try {
+                    onLoaded.accept(transactionOperations.execute(status -> call(loader)));
+                } catch (RuntimeException e) {
+                    log.warn("Background cache refresh failed: {}", e.getMessage());
+                } finally {
+                    onDone.run();
+                }
+            });
+            return true;
+        } catch (RejectedExecutionException e) {
+            log.debug("Cache refresh pool saturated, skipping refresh");
+            return false;
+        }
+    }
+
+    @Override
+    public void destroy() {
+        if (executor instanceof ExecutorService executorService) {
+            executorService.shutdownNow();
+        }
+    }
+
+    private static Object call(Callable<?> loader) {
+        try {
+            return loader.call();
+        } catch (RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package com.ross.ese.taskmanager.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Policy;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Actuator endpoint exposing size, bounds and hit statistics of the application caches.
+ * GET /actuator/cachestats lists every cache, GET /actuator/cachestats/{name} shows one
+ * and DELETE /actuator/cachestats/{name} evicts all of its entries.
+ */
+@Component
+@Endpoint(id = "cachestats")
+@RequiredArgsConstructor
+public class CacheStatisticsEndpoint {
+
+    private final CacheManager cacheManager;
+
+    public record CacheStatistics(
+            String name,
+            long estimatedSize,
+            Long weightedSize,
+            Long maximumWeight,
+            Duration expireAfterWrite,
+            Duration expireAfterAccess,
+            long hitCount,
+            long missCount,
+            double hitRate,
+            long evictionCount,
+            long evictionWeight) {
+    }
+
+    @ReadOperation
+    public Map<String, CacheStatistics> caches() {
+        Map<String, CacheStatistics> caches = new LinkedHashMap<>();
+        for (String name : cacheManager.getCacheNames()) {
+            CacheStatistics statistics = cache(name);
+            if (statistics != null) {
+                caches.put(name, statistics);
+            }
+        }
+        return caches;
+    }
+
+    @ReadOperation
+    public CacheStatistics cache(@Selector String name) {
+        Cache<Object, Object> cache = nativeCache(name);
+        if (cache == null) {
+            return null;
+        }
+
+        CacheStats stats = cache.stats();
+        Policy<Object, Object> policy = cache.policy();
+        Policy.Eviction<Object, Object> eviction = policy.eviction().orElse(null);
+        return new CacheStatistics(
+                name,
+                cache.estimatedSize(),
+                eviction != null && eviction.weightedSize().isPresent() ? eviction.weightedSize().getAsLong() : null,
+                eviction != null ? eviction.getMaximum() : null,
+                policy.expireAfterWrite().map(Policy.FixedExpiration::getExpiresAfter).orElse(null),
+                policy.expireAfterAccess().map(Policy.FixedExpiration::getExpiresAfter).orElse(null),
+                stats.hitCount(),
+                stats.missCount(),
+                stats.hitRate(),
+                stats.evictionCount(),
+                stats.evictionWeight());
+    }
+
+    /**
+     * Evicts every entry of the named cache.
+     *
+     * @return false if there is no such cache
+     */
+    @DeleteOperation
+    public boolean evict(@Selector String name) {
+        org.springframework.cache.Cache cache = cacheManager.getCache(name);
+        if (cache == null) {
+            return false;
+        }
+        cache.clear();
+        return true;
+    }
+
+    // Caffeine caches and the near tier of two-level caches
+    @SuppressWarnings("unchecked")
+    private Cache<Object, Object> nativeCache(String name) {
+        org.springframework.cache.Cache cache = cacheManager.getCache(name);
+        return cache != null && cache.getNativeCache() instanceof Cache<?, ?> nativeCache
+                ? (Cache<Object, Object>) nativeCache
+                : null;
+    }
+}
@@ -0,0 +1,140 @@
+package com.ross.ese.taskmanager.cache;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ross.ese.taskmanager.repository.TaskRepository;
+import com.ross.ese.taskmanager.service.ProjectService;
+import com.ross.ese.taskmanager.service.TaskService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.availability.AvailabilityChangeEvent;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Warms the application up before it reports ready.
+ * <p>
+ * Loads the hot cache entries (all projects, all tasks and the task lists of the
+ * most active projects, in the summary view the list endpoints return by default), encodes them for {@link JsonResponseCache}, then runs the
+ * same reads and their JSON serialization a number of times so the JIT compiles the
+ * request path before real traffic arrives.
+ * <p>
+ * The readiness state stays REFUSING_TRAFFIC while this runs: Spring Boot only
+ * switches to ACCEPTING_TRAFFIC once all application runners have completed. The
+ * warm-up is abandoned after app.warm-up.timeout so a slow database cannot hold the
+ * instance out of service.
+ */
+@Component
+@Slf4j
+public class CacheWarmUp implements ApplicationRunner {
+
+    private final ProjectService projectService;
+    private final TaskService taskService;
+    private final TaskRepository taskRepository;
+    private final JsonResponseCache jsonResponseCache;
+    private final ObjectMapper objectMapper;
+    private final ApplicationEventPublisher eventPublisher;
+    private final boolean enabled;
+    private final Duration timeout;
+    private final int activeProjects;
+    private final int iterations;
+
+    public CacheWarmUp(
+            ProjectService projectService,
+            TaskService taskService,
+            TaskRepository taskRepository,
+            JsonResponseCache jsonResponseCache,
+            ObjectMapper objectMapper,
+            ApplicationEventPublisher eventPublisher,
+            @Value("${app.warm-up.enabled:true}") boolean enabled,
+            @Value("${app.warm-up.timeout:60s}") Duration timeout,
+            @Value("${app.warm-up.active-projects:20}") int activeProjects,
+            @Value("${app.warm-up.iterations:200}") int iterations) {
+        this.projectService = projectService;
+        this.taskService = taskService;
+        this.taskRepository = taskRepository;
+        this.jsonResponseCache = jsonResponseCache;
+        this.objectMapper = objectMapper;
+        this.eventPublisher = eventPublisher;
+        this.enabled = enabled;
+        this.timeout = timeout;
+        this.activeProjects = activeProjects;
+        this.iterations = iterations;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!enabled) {
+            return;
+        }
+
+        AvailabilityChangeEvent.publish(eventPublisher, this, ReadinessState.REFUSING_TRAFFIC);
+        long start = System.nanoTime();
+        ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "warm-up");
+            thread.setDaemon(true);
+            return thread;
+        });
+        Future<?> warmUp = executor.submit(this::warmUp);
+        try {
+            warmUp.get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+            log.info("Warm-up completed in {} ms", TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        } catch (TimeoutException e) {
+            warmUp.cancel(true);
+            log.warn("Warm-up did not complete within {}, continuing startup", timeout);
+        } catch (ExecutionException e) {
+            log.warn("Warm-up failed, continuing startup", e.getCause());
+        } catch (InterruptedException e) {
+            warmUp.cancel(true);
+            Thread.currentThread().interrupt();
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    void warmUp() {
+        List<Long> projectIds = taskRepository.findMostActiveProjectIds(Limit.of(activeProjects));
+        log.debug("Warming up caches for {} projects", projectIds.size());
+
+        List<Object> responses = load(projectIds);
+        responses.forEach(jsonResponseCache::preload);
+
+        for (int i = 0; i < iterations && !Thread.currentThread().isInterrupted(); i++) {
+            for (Object response : load(projectIds)) {
+                serialize(response);
+            }
+        }
+    }
+
+    private List<Object> load(List<Long> projectIds) {
+        List<Object> responses = new ArrayList<>(projectIds.size() + 2);
+        responses.add(projectService.getAllProjects());
+        responses.add(taskService.getAllTaskSummaries());
+        for (Long projectId : projectIds) {
+            responses.add(taskService.getTaskSummariesByProject(projectId));
+        }
+        return responses;
+    }
+
+    private void serialize(Object response) {
+        try {
+            objectMapper.writeValueAsBytes(response);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Response could not be serialized during warm-up", e);
+        }
+    }
+}
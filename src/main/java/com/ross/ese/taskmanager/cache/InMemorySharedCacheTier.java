@@ -0,0 +1,92 @@
+package com.ross.ese.taskmanager.cache;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * In-process stand-in for the shared cache tier, for local runs and tests.
+ * Several "nodes" can be simulated in one JVM with {@link #joinCluster()}, which
+ * returns a tier for another node on the same storage and message channel.
+ * Entries do not expire.
+ */
+public class InMemorySharedCacheTier implements SharedCacheTier {
+
+    private static final class Cluster {
+        private final Map<String, Map<Object, Object>> caches = new ConcurrentHashMap<>();
+        private final Map<String, AtomicLong> generations = new ConcurrentHashMap<>();
+        private final List<InMemorySharedCacheTier> nodes = new CopyOnWriteArrayList<>();
+    }
+
+    private final Cluster cluster;
+    private final List<Consumer<CacheInvalidation>> listeners = new CopyOnWriteArrayList<>();
+
+    public InMemorySharedCacheTier() {
+        this(new Cluster());
+    }
+
+    private InMemorySharedCacheTier(Cluster cluster) {
+        this.cluster = cluster;
+        cluster.nodes.add(this);
+    }
+
+    /**
+     * @return The shared tier as seen by another node of the same cluster
+     */
+    public InMemorySharedCacheTier joinCluster() {
+        return new InMemorySharedCacheTier(cluster);
+    }
+
+    @Override
+    public Object get(String cacheName, Object key) {
+        return cache(cacheName).get(key);
+    }
+
+    @Override
+    public void put(String cacheName, Object key, Object value, Duration timeToLive) {
+        cache(cacheName).put(key, value);
+    }
+
+    @Override
+    public void evict(String cacheName, Object key) {
+        cache(cacheName).remove(key);
+    }
+
+    @Override
+    public void clear(String cacheName) {
+        cache(cacheName).clear();
+    }
+
+    @Override
+    public Long getGeneration(String scope) {
+        AtomicLong generation = cluster.generations.get(scope);
+        return generation != null ? generation.get() : 0L;
+    }
+
+    @Override
+    public Long incrementGeneration(String scope) {
+        return cluster.generations.computeIfAbsent(scope, key -> new AtomicLong()).incrementAndGet();
+    }
+
+    @Override
+    public void publish(CacheInvalidation invalidation) {
+        for (InMemorySharedCacheTier node : cluster.nodes) {
+            if (node != this) {
+                node.listeners.forEach(listener -> listener.accept(invalidation));
+            }
+        }
+    }
+
+    @Override
+    public void subscribe(Consumer<CacheInvalidation> listener) {
+        listeners.add(listener);
+    }
+
+    private Map<Object, Object> cache(String cacheName) {
+        return cluster.caches.computeIfAbsent(cacheName, name -> new ConcurrentHashMap<>());
+    }
+}
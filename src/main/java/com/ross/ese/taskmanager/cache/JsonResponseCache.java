@@ -0,0 +1,150 @@
+package com.ross.ese.taskmanager.cache;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.google.common.hash.Hashing;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Keeps the encoded JSON of cached list responses so that a cache hit is written
+ * straight to the response instead of being serialized again by Jackson.
+ * <p>
+ * Encodings are keyed by the identity of the cached object: as long as the service
+ * cache returns the same list instance, its JSON (and gzip-compressed JSON, when
+ * response compression is on) is reused. Any change to a cached list produces a new
+ * instance, so there is nothing to invalidate here; entries of lists no longer
+ * referenced are dropped by the garbage collector. Each encoding carries a weak ETag,
+ * and requests with a matching If-None-Match get a 304.
+ */
+@Component
+@Slf4j
+public class JsonResponseCache {
+
+    private record EncodedBody(byte[] json, byte[] gzip, String etag) {
+    }
+
+    private final ObjectMapper objectMapper;
+    private final boolean enabled;
+    private final boolean gzipEnabled;
+    private final long gzipMinSize;
+    private final Cache<Object, EncodedBody> bodies;
+
+    public JsonResponseCache(
+            ObjectMapper objectMapper,
+            @Value("${app.response-cache.enabled:true}") boolean enabled,
+            @Value("${server.compression.enabled:false}") boolean gzipEnabled,
+            @Value("${server.compression.min-response-size:2KB}") DataSize gzipMinSize,
+            @Value("${app.response-cache.maximum-size:32MB}") DataSize maximumSize) {
+        this.objectMapper = objectMapper;
+        this.enabled = enabled;
+        this.gzipEnabled = gzipEnabled;
+        this.gzipMinSize = gzipMinSize.toBytes();
+        this.bodies = Caffeine.newBuilder()
+                .weakKeys()
+                .maximumWeight(maximumSize.toBytes())
+                .<Object, EncodedBody>weigher((body, encoded) ->
+                        encoded.json().length + (encoded.gzip() != null ? encoded.gzip().length : 0))
+                .build();
+    }
+
+    /**
+     * Builds a 200 response for the body, or a 304 if the client already has it.
+     *
+     * @param body The (cached) response body
+     * @param request The current request, for If-None-Match and Accept-Encoding
+     */
+    public ResponseEntity<?> ok(Object body, HttpServletRequest request) {
+        if (!enabled) {
+            return ResponseEntity.ok(body);
+        }
+
+        EncodedBody encoded = bodies.get(body, this::encode);
+        if (matches(request.getHeader(HttpHeaders.IF_NONE_MATCH), encoded.etag())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(encoded.etag())
+                    .build();
+        }
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .eTag(encoded.etag())
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (encoded.gzip() != null && acceptsGzip(request.getHeader(HttpHeaders.ACCEPT_ENCODING))) {
+            return response.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(encoded.gzip());
+        }
+        return response.body(encoded.json());
+    }
+
+    /**
+     * Encodes a body ahead of the first request for it.
+     */
+    public void preload(Object body) {
+        if (enabled) {
+            bodies.get(body, this::encode);
+        }
+    }
+
+    private EncodedBody encode(Object body) {
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(body);
+            String etag = "W/\"" + Hashing.murmur3_128().hashBytes(json) + "\"";
+            byte[] gzip = gzipEnabled && json.length >= gzipMinSize ? gzip(json) : null;
+            log.debug("Encoded response body of {} bytes", json.length);
+            return new EncodedBody(json, gzip, etag);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Response body could not be serialized", e);
+        }
+    }
+
+    private static byte[] gzip(byte[] json) {
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream(json.length / 4);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(compressed)) {
+            gzip.write(json);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return compressed.toByteArray();
+    }
+
+    private static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        String opaqueTag = etag.substring(2);
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.equals("*") || tag.equals(etag) || tag.equals(opaqueTag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.trim().split(";");
+            if (parts[0].trim().equalsIgnoreCase("gzip")) {
+                return parts.length == 1 || !parts[1].replace(" ", "").matches("q=0(\\.0*)?");
+            }
+        }
+        return false;
+    }
+}
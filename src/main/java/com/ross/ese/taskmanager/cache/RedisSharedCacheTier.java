@@ -0,0 +1,152 @@
+package com.ross.ese.taskmanager.cache;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.data.redis.serializer.StringRedisSerializer;
+
+import java.io.Serializable;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+/**
+ * Shared cache tier backed by Redis. Entries are stored under
+ * "&lt;prefix&gt;&lt;cache&gt;::&lt;key&gt;" with the cache's time to live, and invalidations
+ * are broadcast on a pub/sub channel. Generation counters are plain Redis integers
+ * under "&lt;prefix&gt;generation::&lt;scope&gt;", updated with INCR and without expiry.
+ * Redis failures are logged and treated as misses, so an unavailable Redis degrades
+ * to local caching rather than failing requests.
+ */
+@Slf4j
+public class RedisSharedCacheTier implements SharedCacheTier {
+
+    private static final int CLEAR_BATCH_SIZE = 500;
+
+    private record Envelope(String origin, CacheInvalidation invalidation) implements Serializable {
+    }
+
+    private final RedisTemplate<String, Object> redisTemplate;
+    private final RedisMessageListenerContainer listenerContainer;
+    private final String keyPrefix;
+    private final ChannelTopic channel;
+    private final String nodeId = UUID.randomUUID().toString();
+
+    public RedisSharedCacheTier(RedisTemplate<String, Object> redisTemplate,
+                                RedisMessageListenerContainer listenerContainer,
+                                String keyPrefix,
+                                String channel) {
+        this.redisTemplate = redisTemplate;
+        this.listenerContainer = listenerContainer;
+        this.keyPrefix = keyPrefix;
+        this.channel = new ChannelTopic(channel);
+    }
+
+    @Override
+    public Object get(String cacheName, Object key) {
+        try {
+            return redisTemplate.opsForValue().get(redisKey(cacheName, key));
+        } catch (RuntimeException e) {
+            log.warn("Shared cache read of {}::{} failed: {}", cacheName, key, e.getMessage());
+            return null;
+        }
+    }
+
+    @Override
+    public void put(String cacheName, Object key, Object value, Duration timeToLive) {
+        try {
+            redisTemplate.opsForValue().set(redisKey(cacheName, key), value, timeToLive);
+        } catch (RuntimeException e) {
+            log.warn("Shared cache write of {}::{} failed: {}", cacheName, key, e.getMessage());
+        }
+    }
+
+    @Override
+    public void evict(String cacheName, Object key) {
+        try {
+            redisTemplate.delete(redisKey(cacheName, key));
+        } catch (RuntimeException e) {
+            log.warn("Shared cache eviction of {}::{} failed: {}", cacheName, key, e.getMessage());
+        }
+    }
+
+    @Override
+    public void clear(String cacheName) {
+        ScanOptions options = ScanOptions.scanOptions()
+                .match(keyPrefix + cacheName + "::*")
+                .count(CLEAR_BATCH_SIZE)
+                .build();
+        try (Cursor<String> keys = redisTemplate.scan(options)) {
+            List<String> batch = new ArrayList<>(CLEAR_BATCH_SIZE);
+            while (keys.hasNext()) {
+                batch.add(keys.next());
+                if (batch.size() == CLEAR_BATCH_SIZE) {
+                    redisTemplate.delete(batch);
+                    batch.clear();
+                }
+            }
+            if (!batch.isEmpty()) {
+                redisTemplate.delete(batch);
+            }
+        } catch (RuntimeException e) {
+            log.warn("Shared cache clear of {} failed: {}", cacheName, e.getMessage());
+        }
+    }
+
+    @Override
+    public Long getGeneration(String scope) {
+        byte[] rawKey = StringRedisSerializer.UTF_8.serialize(generationKey(scope));
+        try {
+            // Written by INCR as a plain number, so it is read without the value serializer
+            byte[] value = redisTemplate.execute((RedisCallback<byte[]>) connection -> connection.stringCommands().get(rawKey));
+            return value != null ? Long.valueOf(new String(value, StandardCharsets.US_ASCII)) : 0L;
+        } catch (RuntimeException e) {
+            log.warn("Shared cache generation read of {} failed: {}", scope, e.getMessage());
+            return null;
+        }
+    }
+
+    @Override
+    public Long incrementGeneration(String scope) {
+        try {
+            return redisTemplate.opsForValue().increment(generationKey(scope));
+        } catch (RuntimeException e) {
+            log.warn("Shared cache generation increment of {} failed: {}", scope, e.getMessage());
+            return null;
+        }
+    }
+
+    @Override
+    public void publish(CacheInvalidation invalidation) {
+        try {
+            redisTemplate.convertAndSend(channel.getTopic(), new Envelope(nodeId, invalidation));
+        } catch (RuntimeException e) {
+            log.warn("Publishing cache invalidation {} failed: {}", invalidation, e.getMessage());
+        }
+    }
+
+    @Override
+    public void subscribe(Consumer<CacheInvalidation> listener) {
+        listenerContainer.addMessageListener((message, pattern) -> {
+            Object body = redisTemplate.getValueSerializer().deserialize(message.getBody());
+            if (body instanceof Envelope envelope && !nodeId.equals(envelope.origin())) {
+                listener.accept(envelope.invalidation());
+            }
+        }, channel);
+    }
+
+    private String generationKey(String scope) {
+        return keyPrefix + "generation::" + scope;
+    }
+
+    private String redisKey(String cacheName, Object key) {
+        return keyPrefix + cacheName + "::" + key;
+    }
+}
@@ -0,0 +1,127 @@
+package com.ross.ese.taskmanager.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.cache.Cache;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Decorator that refreshes entries ahead of expiry. A synchronized read
+ * ({@code @Cacheable(sync = true)}) of an entry older than the refresh interval
+ * returns the current value immediately and reloads the entry in the background
+ * through the {@link CacheRefresher}, at most once per key at a time.
+ * <p>
+ * A background result is only stored if the entry was not written in the meantime,
+ * so a refresh never overwrites a newer value (e.g. a patched task list).
+ */
+public class RefreshAheadCache implements Cache {
+
+    private final Cache delegate;
+    private final long refreshAfterNanos;
+    private final CacheRefresher refresher;
+    private final Map<Object, Long> loadedAt;
+    private final Set<Object> refreshing = ConcurrentHashMap.newKeySet();
+
+    /**
+     * @param delegate The cache holding the values
+     * @param refreshAfterWrite Age after which a read triggers a background reload
+     * @param maximumTracked Maximum number of keys whose load time is tracked
+     * @param trackedFor How long load times are tracked; at least the delegate's expiry
+     * @param refresher Reloads the entries
+     */
+    public RefreshAheadCache(Cache delegate, Duration refreshAfterWrite, long maximumTracked, Duration trackedFor,
+                             CacheRefresher refresher) {
+        this.delegate = delegate;
+        this.refreshAfterNanos = refreshAfterWrite.toNanos();
+        this.refresher = refresher;
+        this.loadedAt = Caffeine.newBuilder()
+                .maximumSize(maximumTracked)
+                .expireAfterWrite(trackedFor)
+                .<Object, Long>build()
+                .asMap();
+    }
+
+    @Override
+    public String getName() {
+        return delegate.getName();
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return delegate.getNativeCache();
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        return delegate.get(key);
+    }
+
+    @Override
+    public <T> T get(Object key, Class<T> type) {
+        return delegate.get(key, type);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        ValueWrapper cached = delegate.get(key);
+        if (cached == null) {
+            return delegate.get(key, () -> {
+                T value = valueLoader.call();
+                loadedAt.put(key, System.nanoTime());
+                return value;
+            });
+        }
+        refreshIfStale(key);
+        return (T) cached.get();
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        loadedAt.compute(key, (k, stamp) -> {
+            delegate.put(k, value);
+            return System.nanoTime();
+        });
+    }
+
+    @Override
+    public void evict(Object key) {
+        delegate.evict(key);
+        loadedAt.remove(key);
+    }
+
+    @Override
+    public void clear() {
+        delegate.clear();
+        loadedAt.clear();
+    }
+
+    private void refreshIfStale(Object key) {
+        Long stamp = loadedAt.get(key);
+        if (stamp != null && System.nanoTime() - stamp < refreshAfterNanos) {
+            return;
+        }
+        Callable<?> loader = refresher.loaderFor(getName(), key);
+        if (loader == null || !refreshing.add(key)) {
+            return;
+        }
+        boolean scheduled = refresher.refresh(loader,
+                value -> loadedAt.compute(key, (k, current) -> {
+                    if (!Objects.equals(current, stamp)) {
+                        // Written since the refresh started
+                        return current;
+                    }
+                    delegate.put(k, value);
+                    return System.nanoTime();
+                }),
+                () -> refreshing.remove(key));
+        if (!scheduled) {
+            refreshing.remove(key);
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.ross.ese.taskmanager.cache;
+
+import java.time.Duration;
+import java.util.function.Consumer;
+
+/**
+ * Cache tier shared by every instance of the application, sitting behind the local
+ * near caches, together with the channel used to tell the other instances to drop
+ * their near copies, and the generation counters of the "tasks" cache keys.
+ * Values are stored as given; a stored null is represented by Spring's NullValue.
+ */
+public interface SharedCacheTier {
+
+    /**
+     * @return The stored value, or null if there is none
+     */
+    Object get(String cacheName, Object key);
+
+    void put(String cacheName, Object key, Object value, Duration timeToLive);
+
+    void evict(String cacheName, Object key);
+
+    void clear(String cacheName);
+
+    /**
+     * Reads a {@link TaskCacheGenerations} counter.
+     *
+     * @return The current value, 0 if it was never incremented, or null if the tier is unavailable
+     */
+    Long getGeneration(String scope);
+
+    /**
+     * Atomically increments a {@link TaskCacheGenerations} counter. Counters do not expire.
+     *
+     * @return The new value, or null if the tier is unavailable
+     */
+    Long incrementGeneration(String scope);
+
+    /**
+     * Sends the invalidation to every other node; it is not delivered back to this one.
+     */
+    void publish(CacheInvalidation invalidation);
+
+    /**
+     * Registers a listener for invalidations published by the other nodes.
+     */
+    void subscribe(Consumer<CacheInvalidation> listener);
+}
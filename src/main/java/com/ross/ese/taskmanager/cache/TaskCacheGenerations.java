@@ -0,0 +1,265 @@
+package com.ross.ese.taskmanager.cache;
+
+import com.ross.ese.taskmanager.config.AppCacheProperties;
+import com.ross.ese.taskmanager.model.TaskStatus;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Generation counters for the entries of the "tasks" cache.
+ * Every cache key embeds the current generation of its scope, so a write invalidates
+ * the entries of a scope by bumping its counter: readers then look up a new key and
+ * the old entries are never read again and age out of the bounded cache.
+ * <p>
+ * Scopes:
+ * <ul>
+ *   <li>global - every entry, including single tasks; bumped when many tasks change at once
+ *       (project renamed or deleted)</li>
+ *   <li>all - the list of all tasks; bumped by every task write</li>
+ *   <li>project-&lt;id&gt; and status-&lt;STATUS&gt; - the filtered lists</li>
+ * </ul>
+ * Each list scope has a "/summary" twin for the same list as {@code TaskSummaryResponse}
+ * rows. Invalidating a list bumps both views; {@link #invalidateList(String)} bumps
+ * only the view a key belongs to.
+ * Keys are built from SpEL in {@code @Cacheable}, e.g. {@code key = "@taskCacheGenerations.allKey()"}.
+ * <p>
+ * With a {@link SharedCacheTier}, the generations live in the shared tier and are
+ * bumped there atomically, so a node that starts or restarts picks up the current
+ * values instead of reading lists other nodes cached under old keys. Each node keeps
+ * a local copy for building keys: a bump is broadcast with its new value for the
+ * other nodes to adopt at once, and a copy older than
+ * app.cache.shared.generation-sync-interval is re-read from the shared tier, which
+ * bounds how long a missed broadcast goes unnoticed. While the shared tier is
+ * unreachable, generations are bumped locally only.
+ */
+@Component
+@Slf4j
+public class TaskCacheGenerations {
+
+    private static final String GLOBAL = "global";
+    private static final String ALL = "all";
+    private static final String PROJECT_PREFIX = "project-";
+    private static final String STATUS_PREFIX = "status-";
+    private static final String SUMMARY_SUFFIX = "/summary";
+
+    /**
+     * Local copy of a generation.
+     *
+     * @param value The generation
+     * @param syncedAt When the value was last read from or written to the shared tier, in nanos
+     */
+    private record Generation(long value, long syncedAt) {
+    }
+
+    private final Map<String, Generation> generations = new ConcurrentHashMap<>();
+    private final SharedCacheTier sharedTier;
+    private final long syncIntervalNanos;
+
+    public TaskCacheGenerations() {
+        this.sharedTier = null;
+        this.syncIntervalNanos = Long.MAX_VALUE;
+    }
+
+    @Autowired
+    public TaskCacheGenerations(Optional<SharedCacheTier> sharedTier, AppCacheProperties properties) {
+        this.sharedTier = sharedTier.orElse(null);
+        this.syncIntervalNanos = properties.getShared().getGenerationSyncInterval().toNanos();
+        if (this.sharedTier != null) {
+            this.sharedTier.subscribe(this::onInvalidation);
+        }
+    }
+
+    public String taskKey(Long taskId) {
+        return taskId + "@" + generation(GLOBAL);
+    }
+
+    public String allKey() {
+        return key(ALL);
+    }
+
+    public String projectKey(Long projectId) {
+        return key(projectScope(projectId));
+    }
+
+    public String statusKey(TaskStatus status) {
+        return key(statusScope(status));
+    }
+
+    public String allSummaryKey() {
+        return key(ALL + SUMMARY_SUFFIX);
+    }
+
+    public String projectSummaryKey(Long projectId) {
+        return key(projectScope(projectId) + SUMMARY_SUFFIX);
+    }
+
+    public String statusSummaryKey(TaskStatus status) {
+        return key(statusScope(status) + SUMMARY_SUFFIX);
+    }
+
+    /**
+     * List a cache key was built for: all tasks when both fields are null, otherwise
+     * the tasks of a project or with a status; as summaries or full responses.
+     */
+    public record ListScope(Long projectId, TaskStatus status, boolean summary) {
+    }
+
+    /**
+     * Returns the list a key was built for.
+     *
+     * @return The list, or null for single task keys and keys not built here
+     */
+    public ListScope listScopeOf(Object key) {
+        if (!(key instanceof String string) || string.indexOf('@') < 0) {
+            return null;
+        }
+        String scope = string.substring(0, string.indexOf('@'));
+        boolean summary = scope.endsWith(SUMMARY_SUFFIX);
+        if (summary) {
+            scope = scope.substring(0, scope.length() - SUMMARY_SUFFIX.length());
+        }
+        try {
+            if (ALL.equals(scope)) {
+                return new ListScope(null, null, summary);
+            }
+            if (scope.startsWith(PROJECT_PREFIX)) {
+                return new ListScope(Long.valueOf(scope.substring(PROJECT_PREFIX.length())), null, summary);
+            }
+            if (scope.startsWith(STATUS_PREFIX)) {
+                return new ListScope(null, TaskStatus.valueOf(scope.substring(STATUS_PREFIX.length())), summary);
+            }
+        } catch (IllegalArgumentException e) {
+            log.debug("Not a task list key: {}", key);
+        }
+        return null;
+    }
+
+    /**
+     * Invalidates the lists containing a task that was created, changed or deleted.
+     *
+     * @param projectId The project of the task, may be null
+     * @param status The status of the task, may be null
+     */
+    public void invalidate(Long projectId, TaskStatus status) {
+        invalidateAllTasksList();
+        if (projectId != null) {
+            invalidateProject(projectId);
+        }
+        if (status != null) {
+            invalidateStatus(status);
+        }
+    }
+
+    public void invalidateAllTasksList() {
+        bumpList(ALL);
+    }
+
+    public void invalidateProject(Long projectId) {
+        bumpList(projectScope(projectId));
+    }
+
+    public void invalidateStatus(TaskStatus status) {
+        bumpList(statusScope(status));
+    }
+
+    /**
+     * Invalidates the one list a key was built for, leaving its other view cached.
+     *
+     * @param key A list key built here
+     */
+    public void invalidateList(String key) {
+        bump(key.substring(0, key.indexOf('@')));
+    }
+
+    /**
+     * Invalidates every entry of the "tasks" cache.
+     */
+    public void invalidateAll() {
+        bump(GLOBAL);
+    }
+
+    private String key(String scope) {
+        return scope + "@" + generation(GLOBAL) + "." + generation(scope);
+    }
+
+    private void bumpList(String scope) {
+        bump(scope);
+        bump(scope + SUMMARY_SUFFIX);
+    }
+
+    private long generation(String scope) {
+        Generation generation = generations.get(scope);
+        if (sharedTier == null) {
+            return generation != null ? generation.value() : 0;
+        }
+        long now = System.nanoTime();
+        if (generation != null && now - generation.syncedAt() < syncIntervalNanos) {
+            return generation.value();
+        }
+
+        Long shared = sharedTier.getGeneration(scope);
+        if (shared == null) {
+            // Shared tier unavailable: keep the local value and retry after the interval
+            generations.compute(scope, (key, current) ->
+                    new Generation(current != null ? current.value() : 0, now));
+        } else {
+            // The shared value wins unless this node bumped the scope while it was being read
+            generations.compute(scope, (key, current) ->
+                    current != null && current.syncedAt() - now > 0 ? current : new Generation(shared, now));
+        }
+        return generations.get(scope).value();
+    }
+
+    /**
+     * Bumps the generation now, so the writer's own follow-up reads miss, and again
+     * after commit, so a list cached by a concurrent reader from the pre-commit
+     * state is not served afterwards.
+     */
+    private void bump(String scope) {
+        increment(scope);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    increment(scope);
+                }
+            });
+        }
+        log.debug("Bumped tasks cache generation of scope {}", scope);
+    }
+
+    private void increment(String scope) {
+        Long shared = sharedTier != null ? sharedTier.incrementGeneration(scope) : null;
+        long now = System.nanoTime();
+        Generation generation = generations.compute(scope, (key, current) -> shared != null
+                ? new Generation(shared, now)
+                : new Generation(current != null ? current.value() + 1 : 1, now));
+        if (sharedTier != null) {
+            sharedTier.publish(CacheInvalidation.generation(scope, generation.value()));
+        }
+    }
+
+    private void onInvalidation(CacheInvalidation invalidation) {
+        if (invalidation.kind() == CacheInvalidation.Kind.GENERATION) {
+            long now = System.nanoTime();
+            generations.compute(invalidation.cacheName(), (key, current) -> current == null
+                    ? new Generation(invalidation.generation(), now)
+                    : new Generation(Math.max(current.value(), invalidation.generation()), current.syncedAt()));
+        }
+    }
+
+    private static String projectScope(Long projectId) {
+        return PROJECT_PREFIX + projectId;
+    }
+
+    private static String statusScope(TaskStatus status) {
+        return STATUS_PREFIX + status;
+    }
+}
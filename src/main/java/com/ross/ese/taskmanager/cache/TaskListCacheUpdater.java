@@ -0,0 +1,206 @@
+package com.ross.ese.taskmanager.cache;
+
+import com.google.common.util.concurrent.Striped;
+import com.ross.ese.taskmanager.config.PaginationProperties;
+import com.ross.ese.taskmanager.dto.TaskResponse;
+import com.ross.ese.taskmanager.dto.TaskSummaryResponse;
+import com.ross.ese.taskmanager.model.TaskStatus;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.locks.Lock;
+import java.util.function.UnaryOperator;
+
+/**
+ * Keeps the cached task lists ("all", "project-&lt;id&gt;", "status-&lt;STATUS&gt;", each as full
+ * responses and as summaries) in step with task writes.
+ * <p>
+ * By default a write invalidates the affected lists through {@link TaskCacheGenerations}.
+ * With app.cache.task-list-patching.enabled=true the cached lists are patched instead:
+ * the written task is inserted, replaced or removed in a copy of each affected list,
+ * so list reads stay cache hits under continuous writes. Patches are applied after
+ * commit, under a striped lock per list key so concurrent writers to the same list
+ * do not lose each other's changes. A list that is not cached at that moment is
+ * invalidated instead, so that a reader loading it concurrently cannot store a
+ * result read before the commit. So is a list cut at app.pagination.max-unpaged rows,
+ * whose missing rows a patch cannot account for.
+ */
+@Component
+@Slf4j
+public class TaskListCacheUpdater {
+
+    private static final String CACHE_NAME = "tasks";
+
+    private final CacheManager cacheManager;
+    private final TaskCacheGenerations generations;
+    private final boolean patchingEnabled;
+    private final Striped<Lock> locks;
+    private final int maxUnpaged;
+
+    public TaskListCacheUpdater(
+            CacheManager cacheManager,
+            TaskCacheGenerations generations,
+            PaginationProperties paginationProperties,
+            @Value("${app.cache.task-list-patching.enabled:false}") boolean patchingEnabled,
+            @Value("${app.cache.task-list-patching.lock-stripes:64}") int lockStripes) {
+        this.cacheManager = cacheManager;
+        this.generations = generations;
+        this.patchingEnabled = patchingEnabled;
+        this.locks = Striped.lock(lockStripes);
+        this.maxUnpaged = paginationProperties.getMaxUnpaged();
+    }
+
+    /**
+     * Updates the lists after a task was created or updated.
+     *
+     * @param task The task as saved
+     * @param previousProjectId The project of the task before the update, null on create
+     * @param previousStatus The status of the task before the update, null on create
+     */
+    public void taskSaved(TaskResponse task, Long previousProjectId, TaskStatus previousStatus) {
+        boolean projectChanged = previousProjectId != null && !previousProjectId.equals(task.getProjectId());
+        boolean statusChanged = previousStatus != null && previousStatus != task.getStatus();
+
+        if (!patchingEnabled) {
+            generations.invalidate(task.getProjectId(), task.getStatus());
+            if (projectChanged || statusChanged) {
+                generations.invalidate(previousProjectId, previousStatus);
+            }
+            return;
+        }
+
+        afterCommit(() -> {
+            TaskSummaryResponse summary = summaryOf(task);
+            UnaryOperator<List<Object>> upsert = list -> upsert(list, task);
+            UnaryOperator<List<Object>> upsertSummary = list -> upsert(list, summary);
+            UnaryOperator<List<Object>> remove = list -> remove(list, task.getId());
+
+            patch(generations.allKey(), upsert);
+            patch(generations.allSummaryKey(), upsertSummary);
+            if (task.getProjectId() != null) {
+                patch(generations.projectKey(task.getProjectId()), upsert);
+                patch(generations.projectSummaryKey(task.getProjectId()), upsertSummary);
+            }
+            if (task.getStatus() != null) {
+                patch(generations.statusKey(task.getStatus()), upsert);
+                patch(generations.statusSummaryKey(task.getStatus()), upsertSummary);
+            }
+            if (projectChanged) {
+                patch(generations.projectKey(previousProjectId), remove);
+                patch(generations.projectSummaryKey(previousProjectId), remove);
+            }
+            if (statusChanged) {
+                patch(generations.statusKey(previousStatus), remove);
+                patch(generations.statusSummaryKey(previousStatus), remove);
+            }
+        });
+    }
+
+    /**
+     * Updates the lists after a task was deleted.
+     */
+    public void taskDeleted(Long taskId, Long projectId, TaskStatus status) {
+        if (!patchingEnabled) {
+            generations.invalidate(projectId, status);
+            return;
+        }
+
+        afterCommit(() -> {
+            UnaryOperator<List<Object>> remove = list -> remove(list, taskId);
+
+            patch(generations.allKey(), remove);
+            patch(generations.allSummaryKey(), remove);
+            if (projectId != null) {
+                patch(generations.projectKey(projectId), remove);
+                patch(generations.projectSummaryKey(projectId), remove);
+            }
+            if (status != null) {
+                patch(generations.statusKey(status), remove);
+                patch(generations.statusSummaryKey(status), remove);
+            }
+        });
+    }
+
+    @SuppressWarnings("unchecked")
+    private void patch(String key, UnaryOperator<List<Object>> change) {
+        Cache cache = cacheManager.getCache(CACHE_NAME);
+        if (cache == null) {
+            return;
+        }
+
+        Lock lock = locks.get(key);
+        lock.lock();
+        try {
+            Cache.ValueWrapper cached = cache.get(key);
+            if (cached != null && cached.get() instanceof List<?> list && list.size() < maxUnpaged) {
+                // Copy on write: readers may be serializing the cached list. The evict
+                // tells other nodes sharing the cache to drop their copies of the old list.
+                List<Object> patched = change.apply((List<Object>) list);
+                cache.evict(key);
+                cache.put(key, patched);
+                log.debug("Patched cached task list {}", key);
+            } else {
+                generations.invalidateList(key);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static List<Object> upsert(List<Object> list, Object task) {
+        List<Object> patched = new ArrayList<>(list.size() + 1);
+        boolean replaced = false;
+        for (Object existing : list) {
+            if (Objects.equals(idOf(existing), idOf(task))) {
+                patched.add(task);
+                replaced = true;
+            } else {
+                patched.add(existing);
+            }
+        }
+        if (!replaced) {
+            patched.add(task);
+        }
+        return patched;
+    }
+
+    private static List<Object> remove(List<Object> list, Long taskId) {
+        List<Object> patched = new ArrayList<>(list.size());
+        for (Object existing : list) {
+            if (!Objects.equals(idOf(existing), taskId)) {
+                patched.add(existing);
+            }
+        }
+        return patched;
+    }
+
+    private static Long idOf(Object task) {
+        return task instanceof TaskSummaryResponse summary ? summary.getId() : ((TaskResponse) task).getId();
+    }
+
+    private static TaskSummaryResponse summaryOf(TaskResponse task) {
+        return new TaskSummaryResponse(task.getId(), task.getTitle(), task.getStatus(), task.getPriority(),
+                task.getProjectId(), task.getProjectName());
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
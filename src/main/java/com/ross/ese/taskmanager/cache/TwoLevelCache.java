@@ -0,0 +1,124 @@
+package com.ross.ese.taskmanager.cache;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.cache.support.NullValue;
+import org.springframework.cache.support.SimpleValueWrapper;
+
+import java.time.Duration;
+import java.util.concurrent.Callable;
+
+/**
+ * Cache with a bounded local near cache in front of the {@link SharedCacheTier}.
+ * Reads are served from the near cache, then the shared tier, whose value is copied
+ * into the near cache. Writes and evictions go to both tiers. Evictions are broadcast
+ * so the other nodes drop their near copies and read the new value from the shared
+ * tier; writes are not, so storing a value does not discard the copies other nodes
+ * just read. A caller replacing a value other nodes may hold evicts it first.
+ */
+public class TwoLevelCache implements Cache {
+
+    private final CaffeineCache near;
+    private final SharedCacheTier shared;
+    private final Duration sharedTimeToLive;
+
+    public TwoLevelCache(CaffeineCache near, SharedCacheTier shared, Duration sharedTimeToLive) {
+        this.near = near;
+        this.shared = shared;
+        this.sharedTimeToLive = sharedTimeToLive;
+        shared.subscribe(this::onInvalidation);
+    }
+
+    @Override
+    public String getName() {
+        return near.getName();
+    }
+
+    /**
+     * @return The native Caffeine cache of the near tier
+     */
+    @Override
+    public Object getNativeCache() {
+        return near.getNativeCache();
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        ValueWrapper value = near.get(key);
+        if (value != null) {
+            return value;
+        }
+
+        Object stored = shared.get(getName(), key);
+        if (stored == null) {
+            return null;
+        }
+        Object sharedValue = stored instanceof NullValue ? null : stored;
+        near.put(key, sharedValue);
+        return new SimpleValueWrapper(sharedValue);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Class<T> type) {
+        ValueWrapper value = get(key);
+        if (value == null) {
+            return null;
+        }
+        if (value.get() != null && type != null && !type.isInstance(value.get())) {
+            throw new IllegalStateException("Cached value is not of required type [" + type.getName() + "]: " + value.get());
+        }
+        return (T) value.get();
+    }
+
+    /**
+     * Loads a missing value at most once per key on this node: concurrent callers
+     * wait for the first one, which checks the shared tier before calling the loader.
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        return near.get(key, () -> {
+            Object stored = shared.get(getName(), key);
+            if (stored != null) {
+                return stored instanceof NullValue ? null : (T) stored;
+            }
+            T value = valueLoader.call();
+            shared.put(getName(), key, value != null ? value : NullValue.INSTANCE, sharedTimeToLive);
+            return value;
+        });
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        near.put(key, value);
+        shared.put(getName(), key, value != null ? value : NullValue.INSTANCE, sharedTimeToLive);
+    }
+
+    @Override
+    public void evict(Object key) {
+        near.evict(key);
+        shared.evict(getName(), key);
+        shared.publish(CacheInvalidation.evict(getName(), key));
+    }
+
+    @Override
+    public void clear() {
+        near.clear();
+        shared.clear(getName());
+        shared.publish(CacheInvalidation.clear(getName()));
+    }
+
+    private void onInvalidation(CacheInvalidation invalidation) {
+        if (!getName().equals(invalidation.cacheName())) {
+            return;
+        }
+        switch (invalidation.kind()) {
+            case EVICT -> near.evict(invalidation.key());
+            case CLEAR -> near.clear();
+            default -> {
+                // Generations are handled by TaskCacheGenerations
+            }
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package com.ross.ese.taskmanager.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Configuration properties for the application caches.
+ * This class maps the app.cache properties from application.properties.
+ */
+@Configuration
+@ConfigurationProperties(prefix = "app.cache")
+@Getter
+@Setter
+public class AppCacheProperties {
+
+    /** Settings used by every cache for anything its own spec leaves unset. */
+    private Spec defaults = new Spec(10_000L, Duration.ofMinutes(10), null);
+
+    /** Per-cache settings, keyed by cache name. */
+    private Map<String, Spec> specs = new LinkedHashMap<>();
+
+    private final Shared shared = new Shared();
+
+    /**
+     * Bounds of a single cache. Weight is the number of elements held: a cached
+     * list weighs as much as its size, any other value weighs 1.
+     */
+    @Getter
+    @Setter
+    public static class Spec {
+        private Long maximumWeight;
+        private Duration expireAfterWrite;
+        private Duration expireAfterAccess;
+        /**
+         * Age after which a read reloads the entry in the background while still
+         * serving the current value; no refresh-ahead when unset.
+         */
+        private Duration refreshAfterWrite;
+
+        public Spec() {
+        }
+
+        public Spec(Long maximumWeight, Duration expireAfterWrite, Duration expireAfterAccess) {
+            this.maximumWeight = maximumWeight;
+            this.expireAfterWrite = expireAfterWrite;
+            this.expireAfterAccess = expireAfterAccess;
+        }
+    }
+
+    /**
+     * Shared cache tier behind the local caches, for multi-instance deployments.
+     * When enabled, the local caches become near caches of the shared tier and
+     * evictions are broadcast to the other instances.
+     */
+    @Getter
+    @Setter
+    public static class Shared {
+
+        public enum Type {
+            /** Redis, configured through the spring.data.redis properties. */
+            REDIS,
+            /** In-process stand-in for local runs and tests; not shared between processes. */
+            IN_MEMORY
+        }
+
+        private boolean enabled = false;
+        private Type type = Type.REDIS;
+        private String keyPrefix = "taskmanager:cache:";
+        private String channel = "taskmanager:cache:invalidations";
+        /** Time to live of shared entries for caches without an expiry. */
+        private Duration defaultTimeToLive = Duration.ofMinutes(10);
+        /**
+         * How long a node uses a task cache generation before re-reading it from the
+         * shared tier; bounds how long a missed invalidation message goes unnoticed.
+         */
+        private Duration generationSyncInterval = Duration.ofSeconds(1);
+    }
+
+    /**
+     * Returns the settings of a cache, falling back to the defaults for unset values.
+     */
+    public Spec resolve(String cacheName) {
+        Spec spec = specs.getOrDefault(cacheName, new Spec());
+        Spec resolved = new Spec(
+                spec.getMaximumWeight() != null ? spec.getMaximumWeight() : defaults.getMaximumWeight(),
+                spec.getExpireAfterWrite() != null ? spec.getExpireAfterWrite() : defaults.getExpireAfterWrite(),
+                spec.getExpireAfterAccess() != null ? spec.getExpireAfterAccess() : defaults.getExpireAfterAccess());
+        resolved.setRefreshAfterWrite(
+                spec.getRefreshAfterWrite() != null ? spec.getRefreshAfterWrite() : defaults.getRefreshAfterWrite());
+        return resolved;
+    }
+}
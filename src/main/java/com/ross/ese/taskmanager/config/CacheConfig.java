@@ -1,26 +1,111 @@
 package com.ross.ese.taskmanager.config;
 
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.ross.ese.taskmanager.cache.CacheRefresher;
+import com.ross.ese.taskmanager.cache.RefreshAheadCache;
+import com.ross.ese.taskmanager.cache.SharedCacheTier;
+import com.ross.ese.taskmanager.cache.TwoLevelCache;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.boot.actuate.metrics.cache.CacheMeterBinderProvider;
+import org.springframework.cache.Cache;
 import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.EnableCaching;
-import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.cache.support.SimpleCacheManager;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
 /**
  * Configuration for application caching.
- * Uses in-memory cache for frequently accessed data.
+ * Uses bounded in-memory Caffeine caches for frequently accessed data, optionally
+ * as near caches in front of a shared tier (see {@link SharedCacheConfig}) and
+ * optionally refreshed ahead of expiry.
  */
 @Configuration
 @EnableCaching
 public class CacheConfig {
-    
+
+    public static final List<String> CACHE_NAMES = List.of("tasks", "projects", "users");
+
     /**
-     * Configures the cache manager with named caches
-     * 
+     * Configures the cache manager with named caches, each bounded by weight and
+     * expiry as configured under app.cache and recording hit/miss statistics.
+     * Only the known caches exist, so a typo in a cache name fails instead of
+     * silently creating an unbounded cache.
+     *
+     * @param properties The cache settings
+     * @param sharedTier The shared tier, present when app.cache.shared.enabled=true
+     * @param refresher Reloads entries of caches with a refresh-after-write setting
      * @return The configured cache manager
      */
     @Bean
-    public CacheManager cacheManager() {
-        return new ConcurrentMapCacheManager("tasks", "projects", "users");
+    public CacheManager cacheManager(AppCacheProperties properties, Optional<SharedCacheTier> sharedTier,
+                                     CacheRefresher refresher) {
+        Set<String> cacheNames = new LinkedHashSet<>(CACHE_NAMES);
+        cacheNames.addAll(properties.getSpecs().keySet());
+
+        List<Cache> caches = new ArrayList<>();
+        for (String name : cacheNames) {
+            AppCacheProperties.Spec spec = properties.resolve(name);
+            Duration timeToLive = timeToLive(spec, properties);
+
+            Cache cache = new CaffeineCache(name, caffeine(spec).build());
+            if (sharedTier.isPresent()) {
+                cache = new TwoLevelCache((CaffeineCache) cache, sharedTier.get(), timeToLive);
+            }
+            if (spec.getRefreshAfterWrite() != null) {
+                cache = new RefreshAheadCache(cache, spec.getRefreshAfterWrite(), spec.getMaximumWeight(),
+                        timeToLive, refresher);
+            }
+            caches.add(cache);
+        }
+
+        SimpleCacheManager cacheManager = new SimpleCacheManager();
+        cacheManager.setCaches(caches);
+        cacheManager.initializeCaches();
+        return cacheManager;
+    }
+
+    /**
+     * Publishes the cache.* metrics of every cache backed by Caffeine, including
+     * the near tier of two-level caches and refresh-ahead caches.
+     */
+    @Bean
+    public CacheMeterBinderProvider<Cache> caffeineBackedCacheMeterBinderProvider() {
+        return (cache, tags) -> cache.getNativeCache() instanceof com.github.benmanes.caffeine.cache.Cache<?, ?> nativeCache
+                ? new CaffeineCacheMetrics<>(nativeCache, cache.getName(), tags)
+                : null;
+    }
+
+    private static Caffeine<Object, Object> caffeine(AppCacheProperties.Spec spec) {
+        Caffeine<Object, Object> builder = Caffeine.newBuilder()
+                .maximumWeight(spec.getMaximumWeight())
+                .weigher((key, value) -> value instanceof Collection<?> list ? Math.max(1, list.size()) : 1)
+                .recordStats();
+        if (spec.getExpireAfterWrite() != null) {
+            builder.expireAfterWrite(spec.getExpireAfterWrite());
+        }
+        if (spec.getExpireAfterAccess() != null) {
+            builder.expireAfterAccess(spec.getExpireAfterAccess());
+        }
+        return builder;
+    }
+
+    private static Duration timeToLive(AppCacheProperties.Spec spec, AppCacheProperties properties) {
+        if (spec.getExpireAfterWrite() != null) {
+            return spec.getExpireAfterWrite();
+        }
+        if (spec.getExpireAfterAccess() != null) {
+            return spec.getExpireAfterAccess();
+        }
+        return properties.getShared().getDefaultTimeToLive();
     }
 }
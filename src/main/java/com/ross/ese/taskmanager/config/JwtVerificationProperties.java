@@ -0,0 +1,57 @@
+package com.ross.ese.taskmanager.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Configuration properties for bearer token verification.
+ * This class maps the app.auth.jwt properties from application.properties.
+ */
+@Configuration
+@ConfigurationProperties(prefix = "app.auth.jwt")
+@Getter
+@Setter
+public class JwtVerificationProperties {
+
+    /**
+     * How bearer tokens are verified.
+     */
+    public enum Mode {
+        /** Every token is checked against the Supabase /auth/v1/user endpoint. */
+        REMOTE,
+        /** Tokens are verified in-process from their signature and claims. */
+        LOCAL
+    }
+
+    // The only place the default is set; override with app.auth.jwt.mode (APP_AUTH_JWT_MODE)
+    private Mode mode = Mode.LOCAL;
+
+    /**
+     * In LOCAL mode, call Supabase when a token cannot be verified locally
+     * (e.g. the signing key is unavailable). Tokens that are definitely
+     * invalid (bad signature, expired, wrong issuer) are never retried remotely.
+     */
+    private boolean fallbackToRemote = false;
+
+    /** Shared secret for HS256 tokens; HS256 is disabled when shorter than 32 bytes. */
+    private String hmacSecret;
+
+    /** Expected "iss" claim; defaults to the Supabase Auth URL. */
+    private String issuer;
+
+    /** Expected "aud" claim; not checked when empty. */
+    private String audience;
+
+    /** JWKS document holding the RS256/ES256 public keys; defaults to the Supabase Auth JWKS endpoint. */
+    private String jwksUri;
+
+    /** How long fetched JWKS keys are used before they are refreshed. */
+    private Duration jwksRefreshInterval = Duration.ofMinutes(5);
+
+    /** Allowed clock difference when checking "exp" and "nbf". */
+    private Duration clockSkew = Duration.ofSeconds(30);
+}
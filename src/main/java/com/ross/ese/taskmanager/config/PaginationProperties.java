@@ -0,0 +1,55 @@
+package com.ross.ese.taskmanager.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.domain.Limit;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * Configuration properties for paginated list endpoints.
+ * This class maps the app.pagination properties from application.properties.
+ */
+@Configuration
+@ConfigurationProperties(prefix = "app.pagination")
+@Getter
+@Setter
+public class PaginationProperties {
+
+    /** Page size used when the request does not give a limit. */
+    private int defaultLimit = 50;
+
+    /** Largest page size a request may ask for; larger limits are capped. */
+    private int maxLimit = 500;
+
+    /**
+     * Most rows a list request without after or limit returns, as the first rows in
+     * id order; such lists are also what the list caches hold.
+     */
+    private int maxUnpaged = 10_000;
+
+    /**
+     * Returns the page size for a requested limit.
+     *
+     * @param requested The limit from the request, may be null
+     * @throws ResponseStatusException (400) if the limit is not positive
+     */
+    public int resolveLimit(Integer requested) {
+        if (requested == null) {
+            return defaultLimit;
+        }
+        if (requested < 1) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "limit must be at least 1");
+        }
+        return Math.min(requested, maxLimit);
+    }
+
+    /**
+     * @return The limit of the queries behind lists requested without after or limit
+     */
+    public Limit unpagedLimit() {
+        return Limit.of(maxUnpaged);
+    }
+}
@@ -0,0 +1,12 @@
+package com.ross.ese.taskmanager.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Enables the scheduled background jobs (@Scheduled methods).
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
@@ -0,0 +1,65 @@
+package com.ross.ese.taskmanager.config;
+
+import com.ross.ese.taskmanager.cache.InMemorySharedCacheTier;
+import com.ross.ese.taskmanager.cache.RedisSharedCacheTier;
+import com.ross.ese.taskmanager.cache.SharedCacheTier;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.data.redis.serializer.JdkSerializationRedisSerializer;
+import org.springframework.data.redis.serializer.StringRedisSerializer;
+
+/**
+ * Configuration of the shared cache tier used by {@link CacheConfig} when
+ * app.cache.shared.enabled=true.
+ * <p>
+ * Hibernate's second-level and query caches are turned off in that mode: their regions
+ * are local to each instance, so a project being deleted or a revoked role would only
+ * be seen on the other instances once the cached entry expires.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.cache.shared.enabled", havingValue = "true")
+public class SharedCacheConfig {
+
+    @Bean
+    public HibernatePropertiesCustomizer localSecondLevelCacheDisabler() {
+        return properties -> {
+            properties.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, false);
+            properties.put(AvailableSettings.USE_QUERY_CACHE, false);
+        };
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "app.cache.shared.type", havingValue = "in-memory")
+    public SharedCacheTier inMemorySharedCacheTier() {
+        return new InMemorySharedCacheTier();
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "app.cache.shared.type", havingValue = "redis", matchIfMissing = true)
+    public RedisMessageListenerContainer sharedCacheListenerContainer(RedisConnectionFactory connectionFactory) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        return container;
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "app.cache.shared.type", havingValue = "redis", matchIfMissing = true)
+    public SharedCacheTier redisSharedCacheTier(RedisConnectionFactory connectionFactory,
+                                                RedisMessageListenerContainer sharedCacheListenerContainer,
+                                                AppCacheProperties properties) {
+        RedisTemplate<String, Object> redisTemplate = new RedisTemplate<>();
+        redisTemplate.setConnectionFactory(connectionFactory);
+        redisTemplate.setKeySerializer(StringRedisSerializer.UTF_8);
+        redisTemplate.setValueSerializer(new JdkSerializationRedisSerializer(getClass().getClassLoader()));
+        redisTemplate.afterPropertiesSet();
+
+        return new RedisSharedCacheTier(redisTemplate, sharedCacheListenerContainer,
+                properties.getShared().getKeyPrefix(), properties.getShared().getChannel());
+    }
+}
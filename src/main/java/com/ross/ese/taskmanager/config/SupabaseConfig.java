@@ -1,14 +1,34 @@
 package com.ross.ese.taskmanager.config;
 
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.micrometer.tagged.TaggedCircuitBreakerMetrics;
+import io.github.resilience4j.reactor.circuitbreaker.operator.CircuitBreakerOperator;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.netty.channel.ChannelOption;
+import io.netty.handler.timeout.ReadTimeoutHandler;
+import io.netty.handler.timeout.WriteTimeoutHandler;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
 import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.util.concurrent.TimeUnit;
 
 /**
  * Configuration for Supabase client integration.
+ * The auth client uses a dedicated, bounded connection pool with connect/response/read
+ * timeouts, and a circuit breaker so that calls fail fast while Supabase is degraded
+ * instead of holding request threads. Pool usage is published as
+ * reactor.netty.connection.provider.* metrics, breaker state as resilience4j.circuitbreaker.*.
  */
 @Configuration
 @RequiredArgsConstructor
@@ -16,14 +36,71 @@ public class SupabaseConfig {
 
     private final SupabaseProperties supabaseProperties;
 
+    @Bean(destroyMethod = "dispose")
+    public ConnectionProvider supabaseConnectionProvider() {
+        SupabaseProperties.Client client = supabaseProperties.getClient();
+        return ConnectionProvider.builder("supabase")
+                .maxConnections(client.getMaxConnections())
+                .pendingAcquireMaxCount(client.getPendingAcquireMaxCount())
+                .pendingAcquireTimeout(client.getPendingAcquireTimeout())
+                .maxIdleTime(client.getMaxIdleTime())
+                .maxLifeTime(client.getMaxLifeTime())
+                .evictInBackground(client.getEvictionInterval())
+                .metrics(true)
+                .build();
+    }
+
     @Bean
-    public WebClient supabaseAuthClient() {
-        return WebClient.builder()
+    public CircuitBreaker supabaseCircuitBreaker(MeterRegistry meterRegistry) {
+        SupabaseProperties.CircuitBreaker settings = supabaseProperties.getClient().getCircuitBreaker();
+        CircuitBreakerConfig config = CircuitBreakerConfig.custom()
+                .failureRateThreshold(settings.getFailureRateThreshold())
+                .slowCallRateThreshold(settings.getSlowCallRateThreshold())
+                .slowCallDurationThreshold(settings.getSlowCallDurationThreshold())
+                .slidingWindowSize(settings.getSlidingWindowSize())
+                .minimumNumberOfCalls(settings.getMinimumNumberOfCalls())
+                .waitDurationInOpenState(settings.getWaitDurationInOpenState())
+                .permittedNumberOfCallsInHalfOpenState(settings.getPermittedNumberOfCallsInHalfOpenState())
+                // 4xx answers (bad credentials, invalid token) are normal; only server errors count
+                .recordResult(result -> result instanceof ClientResponse response
+                        && response.statusCode().is5xxServerError())
+                .build();
+
+        CircuitBreakerRegistry registry = CircuitBreakerRegistry.of(config);
+        TaggedCircuitBreakerMetrics.ofCircuitBreakerRegistry(registry).bindTo(meterRegistry);
+        return registry.circuitBreaker("supabase");
+    }
+
+    @Bean
+    public WebClient supabaseAuthClient(ConnectionProvider supabaseConnectionProvider,
+                                        CircuitBreaker supabaseCircuitBreaker) {
+        SupabaseProperties.Client client = supabaseProperties.getClient();
+        long readWriteTimeoutMillis = client.getReadWriteTimeout().toMillis();
+
+        HttpClient httpClient = HttpClient.create(supabaseConnectionProvider)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) client.getConnectTimeout().toMillis())
+                .responseTimeout(client.getResponseTimeout())
+                .keepAlive(client.isKeepAlive())
+                .doOnConnected(connection -> connection
+                        .addHandlerLast(new ReadTimeoutHandler(readWriteTimeoutMillis, TimeUnit.MILLISECONDS))
+                        .addHandlerLast(new WriteTimeoutHandler(readWriteTimeoutMillis, TimeUnit.MILLISECONDS)));
+
+        WebClient.Builder builder = WebClient.builder()
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
                 .baseUrl(supabaseProperties.getUrl())
                 .defaultHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
                 .defaultHeader(HttpHeaders.ACCEPT, MediaType.APPLICATION_JSON_VALUE)
                 .defaultHeader("apikey", supabaseProperties.getKey())
-                .defaultHeader("Authorization", "Bearer " + supabaseProperties.getKey())
-                .build();
+                .defaultHeader("Authorization", "Bearer " + supabaseProperties.getKey());
+
+        if (client.getCircuitBreaker().isEnabled()) {
+            builder.filter(circuitBreakerFilter(supabaseCircuitBreaker));
+        }
+        return builder.build();
+    }
+
+    private static ExchangeFilterFunction circuitBreakerFilter(CircuitBreaker circuitBreaker) {
+        return (request, next) -> next.exchange(request)
+                .transformDeferred(CircuitBreakerOperator.of(circuitBreaker));
     }
-}
\ No newline at end of file
+}
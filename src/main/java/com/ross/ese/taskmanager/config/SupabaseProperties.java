@@ -5,6 +5,8 @@ import org.springframework.context.annotation.Configuration;
 import lombok.Getter;
 import lombok.Setter;
 
+import java.time.Duration;
+
 /**
  * Configuration properties for Supabase integration.
  * This class maps the custom supabase properties from application.properties.
@@ -16,4 +18,46 @@ import lombok.Setter;
 public class SupabaseProperties {
     private String url;
     private String key;
-}
\ No newline at end of file
+    private final Client client = new Client();
+
+    /**
+     * Connection pool and timeout settings for the Supabase HTTP client.
+     */
+    @Getter
+    @Setter
+    public static class Client {
+        private int maxConnections = 50;
+        /** Requests allowed to wait for a pooled connection before failing fast. */
+        private int pendingAcquireMaxCount = 100;
+        private Duration pendingAcquireTimeout = Duration.ofSeconds(2);
+        private Duration maxIdleTime = Duration.ofSeconds(30);
+        private Duration maxLifeTime = Duration.ofMinutes(5);
+        /** How often idle and expired connections are closed in the background. */
+        private Duration evictionInterval = Duration.ofSeconds(30);
+        private boolean keepAlive = true;
+        private Duration connectTimeout = Duration.ofSeconds(2);
+        /** Maximum wait for the response headers of a call. */
+        private Duration responseTimeout = Duration.ofSeconds(5);
+        /** Maximum inactivity while reading or writing a call's body. */
+        private Duration readWriteTimeout = Duration.ofSeconds(5);
+        private final CircuitBreaker circuitBreaker = new CircuitBreaker();
+    }
+
+    /**
+     * Circuit breaker settings; calls fail fast while Supabase is erroring or slow.
+     */
+    @Getter
+    @Setter
+    public static class CircuitBreaker {
+        private boolean enabled = true;
+        /** Percentage of failed calls (5xx, timeouts, connection errors) that opens the circuit. */
+        private float failureRateThreshold = 50;
+        /** Percentage of slow calls that opens the circuit. */
+        private float slowCallRateThreshold = 80;
+        private Duration slowCallDurationThreshold = Duration.ofSeconds(2);
+        private int slidingWindowSize = 20;
+        private int minimumNumberOfCalls = 10;
+        private Duration waitDurationInOpenState = Duration.ofSeconds(30);
+        private int permittedNumberOfCallsInHalfOpenState = 3;
+    }
+}
@@ -0,0 +1,57 @@
+package com.ross.ese.taskmanager.config;
+
+import com.ross.ese.taskmanager.model.Task;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.dialect.Dialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Moves the task id sequence past the existing task ids at startup.
+ * <p>
+ * Task ids used to be IDENTITY columns. On a database created before the switch to
+ * the pooled sequence, the sequence created by schema update starts at 1 and would
+ * hand out ids that are already taken. This runs before the web server starts and
+ * restarts the sequence above the highest id when needed; on an aligned database it
+ * only consumes one sequence value.
+ */
+@Component
+@Slf4j
+public class TaskIdSequenceAligner implements SmartInitializingSingleton {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final EntityManagerFactory entityManagerFactory;
+    private final TransactionTemplate transactionTemplate;
+
+    public TaskIdSequenceAligner(JdbcTemplate jdbcTemplate,
+                                 EntityManagerFactory entityManagerFactory,
+                                 PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.entityManagerFactory = entityManagerFactory;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        Dialect dialect = entityManagerFactory.unwrap(SessionFactoryImplementor.class).getJdbcServices().getDialect();
+        transactionTemplate.executeWithoutResult(status -> {
+            Long maxId = jdbcTemplate.queryForObject("SELECT MAX(id) FROM tasks", Long.class);
+            if (maxId == null) {
+                return;
+            }
+            Long next = jdbcTemplate.queryForObject(
+                    dialect.getSequenceSupport().getSequenceNextValString(Task.ID_SEQUENCE), Long.class);
+            // The pooled optimizer hands out the ids up to the value it reads from the sequence
+            if (next == null || next - Task.ID_ALLOCATION_SIZE < maxId) {
+                long restart = maxId + Task.ID_ALLOCATION_SIZE + 1;
+                jdbcTemplate.execute("ALTER SEQUENCE " + Task.ID_SEQUENCE + " RESTART WITH " + restart);
+                log.info("Restarted sequence {} at {}, above the highest task id {}", Task.ID_SEQUENCE, restart, maxId);
+            }
+        });
+    }
+}
@@ -10,12 +10,15 @@ import jakarta.validation.Valid;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+
 import java.util.UUID;
 
 /**
  * REST controller for authentication operations such as signup and signin.
  * This controller integrates with Supabase authentication through the service
- * layer.
+ * layer. Endpoints return {@link Mono} so that Spring MVC handles them as async
+ * requests and no servlet thread is held while waiting for Supabase.
  */
 @RestController
 @RequestMapping("/api/auth")
@@ -30,96 +33,89 @@ public class AuthController {
     }
 
     /**
-     * Register a new user
+     * Register a new user.
+     * The request thread is released while Supabase is called.
      * 
      * @param signupRequest Contains username, email, and password
      * @return JWT token if successful, error message if failed
      */
     @PostMapping("/signup")
-    public ResponseEntity<?> registerUser(@Valid @RequestBody SignupRequest signupRequest) {
-        try {
-            String result = authService.signUp(
-                    signupRequest.getEmail(),
-                    signupRequest.getPassword(),
-                    signupRequest.getUsername());
-
-            if (result == null) {
-                return ResponseEntity.status(HttpStatus.BAD_REQUEST)
-                        .body(new MessageResponse("Error: Registration failed"));
-            }
-
-            // if we get "registered" instead of a token, email confirmation is required)
-            if (result.equals("registered")) {
-                return ResponseEntity.ok(new MessageResponse(
-                        "Registration successful! Please check your email to confirm your account."));
-            }
-
-            // already have a token, no email confirmation required
-            return ResponseEntity.ok(new JwtResponse(
-                    result,
-                    signupRequest.getUsername(),
-                    signupRequest.getEmail()));
-        } catch (Exception e) {
-            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
-                    .body(new MessageResponse("Error: " + e.getMessage()));
-        }
+    public Mono<ResponseEntity<?>> registerUser(@Valid @RequestBody SignupRequest signupRequest) {
+        return authService.signUpAsync(
+                        signupRequest.getEmail(),
+                        signupRequest.getPassword(),
+                        signupRequest.getUsername())
+                .<ResponseEntity<?>>map(result -> {
+                    // if we get "registered" instead of a token, email confirmation is required)
+                    if (result.equals("registered")) {
+                        return ResponseEntity.ok(new MessageResponse(
+                                "Registration successful! Please check your email to confirm your account."));
+                    }
+
+                    // already have a token, no email confirmation required
+                    return ResponseEntity.ok(new JwtResponse(
+                            result,
+                            signupRequest.getUsername(),
+                            signupRequest.getEmail()));
+                })
+                .defaultIfEmpty(ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                        .body(new MessageResponse("Error: Registration failed")))
+                .onErrorResume(e -> Mono.just(ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                        .body(new MessageResponse("Error: " + e.getMessage()))));
     }
 
     /**
-     * Authenticate an existing user
+     * Authenticate an existing user.
+     * The request thread is released while Supabase is called.
      * 
      * @param loginRequest Contains email and password
      * @return JWT token if successful, error message if failed
      */
     @PostMapping("/signin")
-    public ResponseEntity<?> authenticateUser(@Valid @RequestBody LoginRequest loginRequest) {
-        try {
-            String token = authService.signIn(loginRequest.getEmail(), loginRequest.getPassword());
-
-            if (token != null) {
-                return ResponseEntity.ok(new JwtResponse(token, null, loginRequest.getEmail()));
-            }
-
-            return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
-                    .body(new MessageResponse("Error: Invalid credentials"));
-
-        } catch (RuntimeException e) {
-            // Check for email confirmation error
-            if (e.getMessage() != null && e.getMessage().contains("email_not_confirmed")) {
-                return ResponseEntity.status(HttpStatus.FORBIDDEN)
-                        .body(new MessageResponse(
-                                "Please check your email and confirm your account before logging in"));
-            }
+    public Mono<ResponseEntity<?>> authenticateUser(@Valid @RequestBody LoginRequest loginRequest) {
+        return authService.signInAsync(loginRequest.getEmail(), loginRequest.getPassword())
+                .<ResponseEntity<?>>map(token -> ResponseEntity.ok(new JwtResponse(token, null, loginRequest.getEmail())))
+                .defaultIfEmpty(ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                        .body(new MessageResponse("Error: Invalid credentials")))
+                .onErrorResume(RuntimeException.class, e -> Mono.just(signInFailure(loginRequest, e)));
+    }
 
-            // Use configuration-based development bypass
-            if (appConfig.isDevMode()) {
-                return ResponseEntity.ok(new JwtResponse(
-                        "dev-login-" + UUID.randomUUID().toString(),
-                        null,
-                        loginRequest.getEmail()));
-            }
+    private ResponseEntity<?> signInFailure(LoginRequest loginRequest, RuntimeException e) {
+        // Check for email confirmation error
+        if (e.getMessage() != null && e.getMessage().contains("email_not_confirmed")) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN)
+                    .body(new MessageResponse(
+                            "Please check your email and confirm your account before logging in"));
+        }
 
-            return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
-                    .body(new MessageResponse("Error: " + e.getMessage()));
+        // Use configuration-based development bypass
+        if (appConfig.isDevMode()) {
+            return ResponseEntity.ok(new JwtResponse(
+                    "dev-login-" + UUID.randomUUID().toString(),
+                    null,
+                    loginRequest.getEmail()));
         }
+
+        return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                .body(new MessageResponse("Error: " + e.getMessage()));
     }
 
     /**
-     * Verify if a token is valid
+     * Verify if a token is valid.
+     * The request thread is released while Supabase is called.
      * 
      * @param token The JWT token to verify
      * @return Status indicating if the token is valid
      */
     @GetMapping("/verify")
-    public ResponseEntity<?> verifyToken(@RequestHeader("Authorization") String token) {
+    public Mono<ResponseEntity<?>> verifyToken(@RequestHeader("Authorization") String token) {
         if (token == null || !token.startsWith("Bearer ")) {
-            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
-                    .body(new MessageResponse("Invalid token format"));
+            return Mono.just(ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(new MessageResponse("Invalid token format")));
         }
 
         String tokenValue = token.substring(7);
-        boolean isValid = authService.verifyToken(tokenValue);
-
-        return ResponseEntity.ok(new MessageResponse(isValid ? "Token is valid" : "Token is invalid"));
+        return authService.verifyTokenAsync(tokenValue)
+                .map(isValid -> ResponseEntity.ok(new MessageResponse(isValid ? "Token is valid" : "Token is invalid")));
     }
 }
\ No newline at end of file
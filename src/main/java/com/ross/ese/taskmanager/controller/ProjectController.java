@@ -1,18 +1,27 @@
 package com.ross.ese.taskmanager.controller;
 
+import com.ross.ese.taskmanager.cache.JsonResponseCache;
 import com.ross.ese.taskmanager.dto.ProjectCreateRequest;
+import com.ross.ese.taskmanager.dto.ProjectDeletionJobResponse;
 import com.ross.ese.taskmanager.dto.ProjectResponse;
 import com.ross.ese.taskmanager.dto.ProjectUpdateRequest;
 import com.ross.ese.taskmanager.service.ProjectService;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
+import java.net.URI;
 
 @RestController
 @RequestMapping("/api/projects")
@@ -21,16 +30,44 @@ import java.util.List;
 public class ProjectController {
     
     private final ProjectService projectService;
+    private final JsonResponseCache jsonResponseCache;
+    private final UnpagedListLinks unpagedListLinks;
+
+    static final String FIELDS = "Comma separated fields to return, e.g. id,name,taskCount; only these are "
+            + "selected from the database.";
     
     @GetMapping
-    @Operation(summary = "Get all projects")
-    public ResponseEntity<List<ProjectResponse>> getAllProjects() {
-        return ResponseEntity.ok(projectService.getAllProjects());
+    @Operation(summary = "Get all projects", description = TaskController.PAGINATION)
+    @ApiResponse(responseCode = "200", content = @Content(array = @ArraySchema(schema = @Schema(implementation = ProjectResponse.class))))
+    public ResponseEntity<?> getAllProjects(
+            @Parameter(description = TaskController.AFTER) @RequestParam(required = false) Long after,
+            @Parameter(description = TaskController.LIMIT) @RequestParam(required = false) Integer limit,
+            @Parameter(description = FIELDS) @RequestParam(required = false) String fields,
+            HttpServletRequest request,
+            HttpServletResponse response) {
+        boolean paged = after != null || limit != null;
+        if (fields != null) {
+            return ResponseEntity.ok(paged
+                    ? projectService.getProjectFieldsPage(fields, after, limit)
+                    : unpagedListLinks.linkNext(projectService.getProjectFields(fields), TaskController.ROW_ID, request, response));
+        }
+        if (paged) {
+            return ResponseEntity.ok(projectService.getProjectsPage(after, limit));
+        }
+        return jsonResponseCache.ok(
+                unpagedListLinks.linkNext(projectService.getAllProjects(), ProjectResponse::getId, request, response),
+                request);
     }
     
     @GetMapping("/{id}")
     @Operation(summary = "Get project by ID")
-    public ResponseEntity<ProjectResponse> getProjectById(@PathVariable Long id) {
+    @ApiResponse(responseCode = "200", content = @Content(schema = @Schema(implementation = ProjectResponse.class)))
+    public ResponseEntity<?> getProjectById(
+            @PathVariable Long id,
+            @Parameter(description = FIELDS) @RequestParam(required = false) String fields) {
+        if (fields != null) {
+            return ResponseEntity.ok(projectService.getProjectFieldsById(id, fields));
+        }
         return ResponseEntity.ok(projectService.getProjectById(id));
     }
     
@@ -50,9 +87,27 @@ public class ProjectController {
     }
     
     @DeleteMapping("/{id}")
-    @Operation(summary = "Delete project")
-    public ResponseEntity<Void> deleteProject(@PathVariable Long id) {
+    @Operation(summary = "Delete project", description = "With async=true the project is hidden at once and "
+            + "deleted in the background: returns 202 with the deletion job, whose progress is at the Location.")
+    @ApiResponse(responseCode = "204", description = "Deleted")
+    @ApiResponse(responseCode = "202", description = "Deletion job created",
+            content = @Content(schema = @Schema(implementation = ProjectDeletionJobResponse.class)))
+    public ResponseEntity<?> deleteProject(
+            @PathVariable Long id,
+            @Parameter(description = "Delete in the background") @RequestParam(defaultValue = "false") boolean async) {
+        if (async) {
+            ProjectDeletionJobResponse job = projectService.deleteProjectAsync(id);
+            return ResponseEntity.accepted()
+                    .location(URI.create("/api/projects/deletion-jobs/" + job.getId()))
+                    .body(job);
+        }
         projectService.deleteProject(id);
         return ResponseEntity.noContent().build();
     }
+
+    @GetMapping("/deletion-jobs/{jobId}")
+    @Operation(summary = "Get the status and progress of a project deletion job")
+    public ResponseEntity<ProjectDeletionJobResponse> getDeletionJob(@PathVariable Long jobId) {
+        return ResponseEntity.ok(projectService.getDeletionJob(jobId));
+    }
 }
@@ -1,19 +1,40 @@
 package com.ross.ese.taskmanager.controller;
 
+import com.ross.ese.taskmanager.cache.JsonResponseCache;
+import com.ross.ese.taskmanager.dto.ExportFormat;
+import com.ross.ese.taskmanager.dto.ListView;
+import com.ross.ese.taskmanager.dto.TaskBatchCreateRequest;
+import com.ross.ese.taskmanager.dto.TaskBatchDeleteRequest;
+import com.ross.ese.taskmanager.dto.TaskBatchUpdateRequest;
 import com.ross.ese.taskmanager.dto.TaskCreateRequest;
+import com.ross.ese.taskmanager.dto.TaskImportResult;
 import com.ross.ese.taskmanager.dto.TaskResponse;
+import com.ross.ese.taskmanager.dto.TaskSummaryResponse;
 import com.ross.ese.taskmanager.dto.TaskUpdateRequest;
 import com.ross.ese.taskmanager.model.TaskStatus;
+import com.ross.ese.taskmanager.service.ProjectService;
 import com.ross.ese.taskmanager.service.TaskService;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
 
 @RestController
 @RequestMapping("/api/tasks")
@@ -22,16 +43,60 @@ import java.util.List;
 public class TaskController {
     
     private final TaskService taskService;
+    private final ProjectService projectService;
+    private final JsonResponseCache jsonResponseCache;
+    private final UnpagedListLinks unpagedListLinks;
+
+    static final String PAGINATION = "With after or limit, returns one page in id order as a CursorPageResponse; "
+            + "pass its nextCursor as after for the next page. Without either, returns an array of the first "
+            + "app.pagination.max-unpaged rows (10000 by default) in id order; if the list was cut there, a Link "
+            + "header (rel=\"next\") points at the page that follows.";
+    static final String AFTER = "Id of the last item of the previous page";
+    static final String LIMIT = "Page size (default and maximum in app.pagination)";
+    static final String VIEW = "summary (default): TaskSummaryResponse rows without the description; "
+            + "full: TaskResponse rows";
+    static final String FIELDS = "Comma separated fields to return, e.g. id,title,status; only these are "
+            + "selected from the database. Takes precedence over view.";
+    // Id of a sparse fieldset row; absent unless the id was requested
+    static final Function<Map<String, Object>, Object> ROW_ID = row -> row.get("id");
     
     @GetMapping
-    @Operation(summary = "Get all tasks")
-    public ResponseEntity<List<TaskResponse>> getAllTasks() {
-        return ResponseEntity.ok(taskService.getAllTasks());
+    @Operation(summary = "Get all tasks", description = PAGINATION)
+    @ApiResponse(responseCode = "200", content = @Content(array = @ArraySchema(schema = @Schema(implementation = TaskSummaryResponse.class))))
+    public ResponseEntity<?> getAllTasks(
+            @Parameter(description = AFTER) @RequestParam(required = false) Long after,
+            @Parameter(description = LIMIT) @RequestParam(required = false) Integer limit,
+            @Parameter(description = VIEW) @RequestParam(defaultValue = "summary") String view,
+            @Parameter(description = FIELDS) @RequestParam(required = false) String fields,
+            HttpServletRequest request,
+            HttpServletResponse response) {
+        boolean paged = after != null || limit != null;
+        if (fields != null) {
+            return ResponseEntity.ok(paged
+                    ? taskService.getTaskFieldsPage(fields, null, null, after, limit)
+                    : unpagedListLinks.linkNext(taskService.getTaskFields(fields, null, null), ROW_ID, request, response));
+        }
+        boolean full = ListView.of(view) == ListView.FULL;
+        if (paged) {
+            return ResponseEntity.ok(full
+                    ? taskService.getTasksPage(after, limit)
+                    : taskService.getTaskSummariesPage(after, limit));
+        }
+        return jsonResponseCache.ok(full
+                ? unpagedListLinks.linkNext(taskService.getAllTasks(), TaskResponse::getId, request, response)
+                : unpagedListLinks.linkNext(taskService.getAllTaskSummaries(), TaskSummaryResponse::getId, request, response),
+                request);
     }
     
     @GetMapping("/{id}")
     @Operation(summary = "Get task by ID")
-    public ResponseEntity<TaskResponse> getTaskById(@PathVariable Long id) {
+    @ApiResponse(responseCode = "200", content = @Content(schema = @Schema(implementation = TaskResponse.class)))
+    public ResponseEntity<?> getTaskById(
+            @PathVariable Long id,
+            @Parameter(description = FIELDS) @RequestParam(required = false) String fields) {
+        if (fields != null) {
+            return ResponseEntity.ok(taskService.getTaskFieldsById(id, fields));
+        }
         return ResponseEntity.ok(taskService.getTaskById(id));
     }
     
@@ -57,15 +122,117 @@ public class TaskController {
         return ResponseEntity.noContent().build();
     }
     
+    @PostMapping("/batch")
+    @Operation(summary = "Create tasks", description = "Creates all tasks in one transaction, or none of them")
+    public ResponseEntity<List<TaskResponse>> createTasks(@Valid @RequestBody TaskBatchCreateRequest request) {
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .body(taskService.createTasks(request.getTasks()));
+    }
+    
+    @PatchMapping("/batch")
+    @Operation(summary = "Update tasks", description = "Updates all tasks in one transaction, or none of them "
+            + "(404 if any task does not exist). Only the fields given are changed.")
+    public ResponseEntity<List<TaskResponse>> updateTasks(@Valid @RequestBody TaskBatchUpdateRequest request) {
+        return ResponseEntity.ok(taskService.updateTasks(request.getTasks()));
+    }
+    
+    @DeleteMapping("/batch")
+    @Operation(summary = "Delete tasks", description = "Deletes all tasks in one transaction, or none of them "
+            + "(404 if any task does not exist)")
+    public ResponseEntity<Void> deleteTasks(@Valid @RequestBody TaskBatchDeleteRequest request) {
+        taskService.deleteTasks(request.getIds());
+        return ResponseEntity.noContent().build();
+    }
+    
     @GetMapping("/project/{projectId}")
-    @Operation(summary = "Get tasks by project")
-    public ResponseEntity<List<TaskResponse>> getTasksByProject(@PathVariable Long projectId) {
-        return ResponseEntity.ok(taskService.getTasksByProject(projectId));
+    @Operation(summary = "Get tasks by project", description = PAGINATION)
+    @ApiResponse(responseCode = "200", content = @Content(array = @ArraySchema(schema = @Schema(implementation = TaskSummaryResponse.class))))
+    public ResponseEntity<?> getTasksByProject(
+            @PathVariable Long projectId,
+            @Parameter(description = AFTER) @RequestParam(required = false) Long after,
+            @Parameter(description = LIMIT) @RequestParam(required = false) Integer limit,
+            @Parameter(description = VIEW) @RequestParam(defaultValue = "summary") String view,
+            @Parameter(description = FIELDS) @RequestParam(required = false) String fields,
+            HttpServletRequest request,
+            HttpServletResponse response) {
+        boolean paged = after != null || limit != null;
+        if (fields != null) {
+            return ResponseEntity.ok(paged
+                    ? taskService.getTaskFieldsPage(fields, projectId, null, after, limit)
+                    : unpagedListLinks.linkNext(taskService.getTaskFields(fields, projectId, null), ROW_ID, request, response));
+        }
+        boolean full = ListView.of(view) == ListView.FULL;
+        if (paged) {
+            return ResponseEntity.ok(full
+                    ? taskService.getTasksByProjectPage(projectId, after, limit)
+                    : taskService.getTaskSummariesByProjectPage(projectId, after, limit));
+        }
+        return jsonResponseCache.ok(full
+                ? unpagedListLinks.linkNext(taskService.getTasksByProject(projectId), TaskResponse::getId, request, response)
+                : unpagedListLinks.linkNext(taskService.getTaskSummariesByProject(projectId), TaskSummaryResponse::getId, request, response),
+                request);
+    }
+    
+    @GetMapping("/project/{projectId}/export")
+    @Operation(summary = "Export the tasks of a project", description = "Streams every task of the project in id "
+            + "order as it is read from the database, without building the list in memory or caching it")
+    @ApiResponse(responseCode = "200", content = {
+            @Content(mediaType = "application/x-ndjson", schema = @Schema(implementation = TaskResponse.class)),
+            @Content(mediaType = "text/csv")})
+    public void exportTasksByProject(
+            @PathVariable Long projectId,
+            @Parameter(description = "ndjson (default): one TaskResponse per line; csv: with a header row")
+            @RequestParam(defaultValue = "ndjson") String format,
+            HttpServletResponse response) throws IOException {
+        ExportFormat exportFormat = ExportFormat.of(format);
+        // 404 while the response can still carry an error
+        projectService.getProjectById(projectId);
+        response.setContentType(exportFormat.getMediaType() + ";charset=UTF-8");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                .filename("project-" + projectId + "-tasks." + exportFormat.getFileExtension())
+                .build()
+                .toString());
+        taskService.exportTasksByProject(projectId, exportFormat, response.getOutputStream());
+    }
+    
+    @PostMapping("/import")
+    @Operation(summary = "Import tasks", description = "Reads the request body as it arrives and creates a task per "
+            + "valid row, committed in batches. Rows are validated like Create new task; rows that fail, or name a "
+            + "project that does not exist, are skipped and reported in the result without stopping the import.")
+    public ResponseEntity<TaskImportResult> importTasks(
+            @Parameter(description = "ndjson (default): one TaskCreateRequest per line; csv: with a header row "
+                    + "naming the TaskCreateRequest fields. Other fields, e.g. of an export, are ignored.")
+            @RequestParam(defaultValue = "ndjson") String format,
+            HttpServletRequest request) throws IOException {
+        return ResponseEntity.ok(taskService.importTasks(ExportFormat.of(format), request.getInputStream()));
     }
     
     @GetMapping("/status/{status}")
-    @Operation(summary = "Get tasks by status")
-    public ResponseEntity<List<TaskResponse>> getTasksByStatus(@PathVariable TaskStatus status) {
-        return ResponseEntity.ok(taskService.getTasksByStatus(status));
+    @Operation(summary = "Get tasks by status", description = PAGINATION)
+    @ApiResponse(responseCode = "200", content = @Content(array = @ArraySchema(schema = @Schema(implementation = TaskSummaryResponse.class))))
+    public ResponseEntity<?> getTasksByStatus(
+            @PathVariable TaskStatus status,
+            @Parameter(description = AFTER) @RequestParam(required = false) Long after,
+            @Parameter(description = LIMIT) @RequestParam(required = false) Integer limit,
+            @Parameter(description = VIEW) @RequestParam(defaultValue = "summary") String view,
+            @Parameter(description = FIELDS) @RequestParam(required = false) String fields,
+            HttpServletRequest request,
+            HttpServletResponse response) {
+        boolean paged = after != null || limit != null;
+        if (fields != null) {
+            return ResponseEntity.ok(paged
+                    ? taskService.getTaskFieldsPage(fields, null, status, after, limit)
+                    : unpagedListLinks.linkNext(taskService.getTaskFields(fields, null, status), ROW_ID, request, response));
+        }
+        boolean full = ListView.of(view) == ListView.FULL;
+        if (paged) {
+            return ResponseEntity.ok(full
+                    ? taskService.getTasksByStatusPage(status, after, limit)
+                    : taskService.getTaskSummariesByStatusPage(status, after, limit));
+        }
+        return jsonResponseCache.ok(full
+                ? unpagedListLinks.linkNext(taskService.getTasksByStatus(status), TaskResponse::getId, request, response)
+                : unpagedListLinks.linkNext(taskService.getTaskSummariesByStatus(status), TaskSummaryResponse::getId, request, response),
+                request);
     }
 }
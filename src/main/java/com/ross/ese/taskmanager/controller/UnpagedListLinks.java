@@ -0,0 +1,47 @@
+package com.ross.ese.taskmanager.controller;
+
+import com.ross.ese.taskmanager.config.PaginationProperties;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Lists requested without after or limit stay JSON arrays but stop at
+ * app.pagination.max-unpaged rows. When a list was cut there, this adds a
+ * Link header (rel="next") to the paginated request for the rows that follow.
+ */
+@Component
+@RequiredArgsConstructor
+class UnpagedListLinks {
+
+    private final PaginationProperties paginationProperties;
+
+    /**
+     * Adds the Link header if the list was cut.
+     *
+     * @param rows The list as returned, in id order
+     * @param id Reads the id of a row; may return null, e.g. for fields without the id
+     * @return The rows
+     */
+    <T> List<T> linkNext(List<T> rows, Function<T, Object> id, HttpServletRequest request,
+                         HttpServletResponse response) {
+        if (rows.isEmpty() || rows.size() < paginationProperties.getMaxUnpaged()) {
+            return rows;
+        }
+        Object lastId = id.apply(rows.get(rows.size() - 1));
+        if (lastId != null) {
+            String next = ServletUriComponentsBuilder.fromRequest(request)
+                    .replaceQueryParam("after", lastId)
+                    .replaceQueryParam("limit", paginationProperties.getMaxLimit())
+                    .toUriString();
+            response.setHeader(HttpHeaders.LINK, "<" + next + ">; rel=\"next\"");
+        }
+        return rows;
+    }
+}
@@ -0,0 +1,39 @@
+package com.ross.ese.taskmanager.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * A DTO for one page of a list ordered by id.
+ * Pass nextCursor as the after parameter to get the following page;
+ * it is null on the last page.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class CursorPageResponse<T> {
+    private List<T> items;
+    private Long nextCursor;
+
+    /**
+     * Builds a page from rows fetched with one row more than the page size,
+     * the extra row only telling whether there is a next page.
+     *
+     * @param rows Rows ordered by id, at most limit + 1
+     * @param limit The page size
+     * @param id Returns the id of a row
+     * @param mapper Converts a row to an item
+     */
+    public static <E, T> CursorPageResponse<T> of(List<E> rows, int limit, Function<E, Long> id,
+                                                   Function<E, T> mapper) {
+        boolean hasNext = rows.size() > limit;
+        List<E> page = hasNext ? rows.subList(0, limit) : rows;
+        return new CursorPageResponse<>(
+                page.stream().map(mapper).toList(),
+                hasNext ? id.apply(page.get(page.size() - 1)) : null);
+    }
+}
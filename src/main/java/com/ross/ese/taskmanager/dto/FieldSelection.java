@@ -0,0 +1,60 @@
+package com.ross.ese.taskmanager.dto;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The fields a client asked for with the fields request parameter (sparse fieldset),
+ * in the order they were given.
+ */
+public record FieldSelection(List<String> fields) {
+
+    /**
+     * Parses a comma separated list of field names.
+     *
+     * @param value The fields parameter, e.g. "id,title,status"
+     * @param allowed The fields the resource has
+     * @throws ResponseStatusException (400) if no field or an unknown field is given
+     */
+    public static FieldSelection parse(String value, List<String> allowed) {
+        Set<String> fields = new LinkedHashSet<>();
+        for (String field : value.split(",")) {
+            String name = field.trim();
+            if (name.isEmpty()) {
+                continue;
+            }
+            if (!allowed.contains(name)) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                        "Unknown field: " + name + ", allowed fields are " + String.join(",", allowed));
+            }
+            fields.add(name);
+        }
+        if (fields.isEmpty()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "fields must name at least one field");
+        }
+        return new FieldSelection(List.copyOf(fields));
+    }
+
+    public boolean includes(String field) {
+        return fields.contains(field);
+    }
+
+    /**
+     * Returns the requested values of a selected row. The id is always selected, as
+     * the cursor of paginated lists, but only returned when it was requested.
+     */
+    public Map<String, Object> values(Map<String, Object> row) {
+        if (includes("id")) {
+            return row;
+        }
+        Map<String, Object> values = new LinkedHashMap<>(row);
+        values.remove("id");
+        return values;
+    }
+}
@@ -0,0 +1,28 @@
+package com.ross.ese.taskmanager.dto;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.Locale;
+
+/**
+ * Representation of the tasks in a list response: {@link TaskSummaryResponse} rows
+ * by default, or full {@link TaskResponse} rows.
+ */
+public enum ListView {
+    SUMMARY,
+    FULL;
+
+    /**
+     * Parses the view request parameter, ignoring case.
+     *
+     * @throws ResponseStatusException (400) if the view is unknown
+     */
+    public static ListView of(String value) {
+        try {
+            return valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "view must be summary or full");
+        }
+    }
+}
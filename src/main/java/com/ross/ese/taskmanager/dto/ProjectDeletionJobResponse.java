@@ -0,0 +1,27 @@
+package com.ross.ese.taskmanager.dto;
+
+import com.ross.ese.taskmanager.model.DeletionJobStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * A DTO for the state and progress of a project deletion job.
+ * tasksTotal is the task count of the project when the deletion was requested.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ProjectDeletionJobResponse {
+    private Long id;
+    private Long projectId;
+    private DeletionJobStatus status;
+    private long tasksTotal;
+    private long tasksDeleted;
+    private LocalDateTime createdAt;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+    private String error;
+}
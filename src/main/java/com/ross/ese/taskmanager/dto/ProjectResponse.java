@@ -1,18 +1,35 @@
 package com.ross.ese.taskmanager.dto;
 
+import com.ross.ese.taskmanager.model.ProjectTaskCounts;
+import com.ross.ese.taskmanager.model.TaskStatus;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.io.Serializable;
 import java.time.LocalDateTime;
+import java.util.Map;
 
 @Data
 @AllArgsConstructor
 @NoArgsConstructor
-public class ProjectResponse {
+public class ProjectResponse implements Serializable {
     private Long id;
     private String name;
     private String description;
     private LocalDateTime createdAt;
     private Integer taskCount;
+    private Map<TaskStatus, Integer> statusCounts;
+
+    // Projects without counters yet (not reconciled) are reported with zero tasks
+    public ProjectResponse(Long id, String name, String description, LocalDateTime createdAt,
+                           ProjectTaskCounts counts) {
+        ProjectTaskCounts taskCounts = counts != null ? counts : new ProjectTaskCounts(id);
+        this.id = id;
+        this.name = name;
+        this.description = description;
+        this.createdAt = createdAt;
+        this.taskCount = taskCounts.getTotal();
+        this.statusCounts = taskCounts.byStatus();
+    }
 }
\ No newline at end of file
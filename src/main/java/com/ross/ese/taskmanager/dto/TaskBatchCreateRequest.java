@@ -0,0 +1,17 @@
+package com.ross.ese.taskmanager.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class TaskBatchCreateRequest {
+    public static final int MAX_TASKS = 1000;
+
+    @NotEmpty(message = "Tasks cannot be empty")
+    @Size(max = MAX_TASKS, message = "At most " + MAX_TASKS + " tasks per batch")
+    private List<@Valid TaskCreateRequest> tasks;
+}
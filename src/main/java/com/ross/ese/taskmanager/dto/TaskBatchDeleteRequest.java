@@ -0,0 +1,15 @@
+package com.ross.ese.taskmanager.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class TaskBatchDeleteRequest {
+    @NotEmpty(message = "Ids cannot be empty")
+    @Size(max = TaskBatchCreateRequest.MAX_TASKS, message = "At most " + TaskBatchCreateRequest.MAX_TASKS + " tasks per batch")
+    private List<@NotNull Long> ids;
+}
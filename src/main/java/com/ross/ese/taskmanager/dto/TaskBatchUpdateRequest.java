@@ -0,0 +1,27 @@
+package com.ross.ese.taskmanager.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+
+import java.util.List;
+
+@Data
+public class TaskBatchUpdateRequest {
+    @NotEmpty(message = "Tasks cannot be empty")
+    @Size(max = TaskBatchCreateRequest.MAX_TASKS, message = "At most " + TaskBatchCreateRequest.MAX_TASKS + " tasks per batch")
+    private List<@Valid Item> tasks;
+
+    /**
+     * The changes to one task: the fields of {@link TaskUpdateRequest} and the task's id.
+     */
+    @Data
+    @EqualsAndHashCode(callSuper = true)
+    public static class Item extends TaskUpdateRequest {
+        @NotNull(message = "Task id cannot be empty")
+        private Long id;
+    }
+}
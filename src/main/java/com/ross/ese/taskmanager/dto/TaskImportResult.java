@@ -0,0 +1,30 @@
+package com.ross.ese.taskmanager.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Outcome of a task import: rows read, imported and rejected, with the errors of the
+ * first rejected rows (up to app.task-import.max-reported-errors).
+ */
+@Data
+@NoArgsConstructor
+public class TaskImportResult {
+    private long rowsRead;
+    private long imported;
+    private long failed;
+    private List<RowError> errors = new ArrayList<>();
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class RowError {
+        // 1-based number of the record in the upload, not counting the CSV header
+        private long row;
+        private String message;
+    }
+}
@@ -6,6 +6,8 @@ import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.io.Serializable;
+
 /**
  * A DTO for task lists
  * to reduce payload size when returning multiple tasks.
@@ -13,7 +15,7 @@ import lombok.NoArgsConstructor;
 @Data
 @AllArgsConstructor
 @NoArgsConstructor
-public class TaskSummaryResponse {
+public class TaskSummaryResponse implements Serializable {
     private Long id;
     private String title;
     private TaskStatus status;
@@ -0,0 +1,22 @@
+package com.ross.ese.taskmanager.dto;
+
+import com.ross.ese.taskmanager.model.ERole;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.util.Set;
+
+/**
+ * Cacheable view of a local user and its roles, used to build the authenticated principal.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class UserAccount implements Serializable {
+    private Long id;
+    private String username;
+    private String email;
+    private Set<ERole> roles;
+}
@@ -0,0 +1,11 @@
+package com.ross.ese.taskmanager.model;
+
+/**
+ * Enumeration of the states of a project deletion job.
+ */
+public enum DeletionJobStatus {
+    PENDING,
+    RUNNING,
+    COMPLETED,
+    FAILED
+}
@@ -0,0 +1,33 @@
+package com.ross.ese.taskmanager.model;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * Entity holding the lease of a scheduled job that must run on one node at a time.
+ * The node that acquires the lease runs the job; the others skip it until the lease expires.
+ */
+@Entity
+@Table(name = "job_leases")
+@Getter
+@Setter
+@NoArgsConstructor
+public class JobLease {
+    @Id
+    @Column(length = 64)
+    private String name;
+
+    // Node holding the lease, and until when
+    @Column(length = 64)
+    private String owner;
+
+    private LocalDateTime expiresAt;
+
+    public JobLease(String name) {
+        this.name = name;
+    }
+}
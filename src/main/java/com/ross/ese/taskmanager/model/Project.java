@@ -6,6 +6,9 @@ import jakarta.validation.constraints.Size;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.ColumnDefault;
 
 import java.time.LocalDateTime;
 
@@ -14,6 +17,8 @@ import java.time.LocalDateTime;
  */
 @Entity
 @Table(name = "projects")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "project")
 @Getter
 @Setter
 @NoArgsConstructor
@@ -30,6 +35,11 @@ public class Project {
     private String description;
 
     private LocalDateTime createdAt;
+
+    // Set while an asynchronous deletion job purges the project; such projects are hidden from reads
+    @Column(nullable = false)
+    @ColumnDefault("false")
+    private boolean deleting;
     
     @ManyToOne
     @JoinColumn(name = "owner_id")
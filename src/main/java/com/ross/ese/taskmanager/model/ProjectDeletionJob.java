@@ -0,0 +1,59 @@
+package com.ross.ese.taskmanager.model;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * Entity tracking the asynchronous deletion of a project and its tasks.
+ * Kept in the database so the progress can be read from any node and unfinished
+ * jobs are resumed after a restart. A job runs on the node holding its lease.
+ */
+@Entity
+@Table(name = "project_deletion_jobs", indexes = {
+    @Index(name = "idx_project_deletion_jobs_status", columnList = "status")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+public class ProjectDeletionJob {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private Long projectId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private DeletionJobStatus status = DeletionJobStatus.PENDING;
+
+    // Task count of the project when the job was created
+    private long tasksTotal;
+
+    private long tasksDeleted;
+
+    private LocalDateTime createdAt;
+
+    private LocalDateTime startedAt;
+
+    private LocalDateTime finishedAt;
+
+    @Column(length = 500)
+    private String error;
+
+    // Worker node holding the job's lease, and when it last renewed it
+    @Column(length = 64)
+    private String owner;
+
+    private LocalDateTime heartbeatAt;
+
+    public ProjectDeletionJob(Long projectId, long tasksTotal) {
+        this.projectId = projectId;
+        this.tasksTotal = tasksTotal;
+        this.createdAt = LocalDateTime.now();
+    }
+}
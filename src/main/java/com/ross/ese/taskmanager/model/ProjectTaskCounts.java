@@ -0,0 +1,67 @@
+package com.ross.ese.taskmanager.model;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Entity holding the denormalized task counters of a project, total and per status.
+ * The counters are kept in their own table rather than on {@link Project} so that
+ * the atomic counter updates made by every task write do not invalidate the cached
+ * projects. They are maintained by the task service and repaired by
+ * ProjectTaskCountsReconciler.
+ */
+@Entity
+@Table(name = "project_task_counts")
+@Getter
+@Setter
+@NoArgsConstructor
+public class ProjectTaskCounts {
+    @Id
+    @Column(name = "project_id")
+    private Long projectId;
+
+    private int total;
+
+    private int todo;
+
+    private int inProgress;
+
+    private int review;
+
+    private int done;
+
+    public ProjectTaskCounts(Long projectId) {
+        this.projectId = projectId;
+    }
+
+    public int get(TaskStatus status) {
+        return switch (status) {
+            case TODO -> todo;
+            case IN_PROGRESS -> inProgress;
+            case REVIEW -> review;
+            case DONE -> done;
+        };
+    }
+
+    public void set(TaskStatus status, int count) {
+        switch (status) {
+            case TODO -> todo = count;
+            case IN_PROGRESS -> inProgress = count;
+            case REVIEW -> review = count;
+            case DONE -> done = count;
+        }
+    }
+
+    public Map<TaskStatus, Integer> byStatus() {
+        Map<TaskStatus, Integer> counts = new EnumMap<>(TaskStatus.class);
+        for (TaskStatus status : TaskStatus.values()) {
+            counts.put(status, get(status));
+        }
+        return counts;
+    }
+}
@@ -4,13 +4,21 @@ import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.Immutable;
 
 /**
  * Entity representing a role in the system.
  * Roles are used for authorisation and access control.
+ * The table only ever holds the {@link ERole} values, so rows are never updated and
+ * are cached read-only.
  */
 @Entity
+@Immutable
 @Table(name = "roles")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_ONLY, region = "role")
 @Getter
 @Setter
 @NoArgsConstructor
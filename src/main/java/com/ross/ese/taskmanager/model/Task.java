@@ -13,13 +13,22 @@ import java.time.LocalDateTime;
  * Entity representing a task in the system.
  */
 @Entity
-@Table(name = "tasks")
+@Table(name = "tasks", indexes = {
+    // Keyset pagination of the filtered task lists
+    @Index(name = "idx_tasks_project_id_id", columnList = "project_id, id"),
+    @Index(name = "idx_tasks_status_id", columnList = "status, id")
+})
 @Getter
 @Setter
 @NoArgsConstructor
 public class Task {
+    public static final String ID_SEQUENCE = "tasks_seq";
+    public static final int ID_ALLOCATION_SIZE = 50;
+
+    // A pooled sequence rather than IDENTITY, so inserts get their ids up front and can be JDBC-batched
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = ID_SEQUENCE)
+    @SequenceGenerator(name = ID_SEQUENCE, sequenceName = ID_SEQUENCE, allocationSize = ID_ALLOCATION_SIZE)
     private Long id;
 
     @NotBlank
@@ -39,15 +48,15 @@ public class Task {
 
     private LocalDateTime createdAt;
     
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "project_id")
     private Project project;
     
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "assignee_id")
     private User assignee;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "creator_id")
     private User creator;
     
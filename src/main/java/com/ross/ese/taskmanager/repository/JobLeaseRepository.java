@@ -0,0 +1,44 @@
+package com.ross.ese.taskmanager.repository;
+
+import com.ross.ese.taskmanager.model.JobLease;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+/**
+ * Repository interface for accessing the leases of scheduled jobs.
+ */
+@Repository
+public interface JobLeaseRepository extends JpaRepository<JobLease, String> {
+    /**
+     * Create the lease row of a job unless it exists. Two nodes creating it at the same
+     * time may still collide on the primary key.
+     * 
+     * @param name The job's name
+     * @return The number of rows inserted
+     */
+    @Transactional
+    @Modifying
+    @Query(value = "INSERT INTO job_leases (name) SELECT :name "
+            + "WHERE NOT EXISTS (SELECT 1 FROM job_leases WHERE name = :name)", nativeQuery = true)
+    int insertIfMissing(String name);
+
+    /**
+     * Acquire or extend the lease of a job, unless another node holds it
+     * 
+     * @param name The job's name
+     * @param owner The node acquiring the lease
+     * @param now The current time; leases expired before it are taken over
+     * @param expiresAt Until when the lease is held
+     * @return 1 if the lease was acquired, 0 if another node holds it
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE JobLease l SET l.owner = :owner, l.expiresAt = :expiresAt WHERE l.name = :name "
+            + "AND (l.owner = :owner OR l.expiresAt IS NULL OR l.expiresAt < :now)")
+    int acquire(String name, String owner, LocalDateTime now, LocalDateTime expiresAt);
+}
@@ -0,0 +1,75 @@
+package com.ross.ese.taskmanager.repository;
+
+import com.ross.ese.taskmanager.model.DeletionJobStatus;
+import com.ross.ese.taskmanager.model.ProjectDeletionJob;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Repository interface for accessing project deletion jobs.
+ */
+@Repository
+public interface ProjectDeletionJobRepository extends JpaRepository<ProjectDeletionJob, Long> {
+    /**
+     * Find the jobs in the given states whose lease has expired: no worker renewed it
+     * since the given time, or none has claimed the job since it was created then
+     * 
+     * @param statuses The states to filter by
+     * @param expiredBefore Leases not renewed since this time have expired
+     * @return Jobs in id order
+     */
+    @Query("SELECT j FROM ProjectDeletionJob j WHERE j.status IN :statuses "
+            + "AND COALESCE(j.heartbeatAt, j.createdAt) < :expiredBefore ORDER BY j.id")
+    List<ProjectDeletionJob> findExpired(Collection<DeletionJobStatus> statuses, LocalDateTime expiredBefore);
+
+    /**
+     * Find the job of a project in one of the given states
+     * 
+     * @param projectId The project's ID
+     * @param statuses The states to filter by
+     * @return Optional containing the most recent such job
+     */
+    Optional<ProjectDeletionJob> findFirstByProjectIdAndStatusInOrderByIdDesc(Long projectId,
+                                                                            Collection<DeletionJobStatus> statuses);
+
+    /**
+     * Atomically claim a job for a worker: succeeds only if the job is in one of the
+     * given states and was never claimed, or its lease has expired
+     * 
+     * @param id The job's ID
+     * @param owner The claiming worker
+     * @param now The time of the claim, which starts the lease
+     * @param expiredBefore Leases not renewed since this time have expired
+     * @param statuses The states a job can be claimed in
+     * @return 1 if the job was claimed, 0 otherwise
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE ProjectDeletionJob j SET j.owner = :owner, j.heartbeatAt = :now, "
+            + "j.status = com.ross.ese.taskmanager.model.DeletionJobStatus.RUNNING, "
+            + "j.startedAt = COALESCE(j.startedAt, :now) "
+            + "WHERE j.id = :id AND j.status IN :statuses "
+            + "AND (j.heartbeatAt IS NULL OR j.heartbeatAt < :expiredBefore)")
+    int claim(Long id, String owner, LocalDateTime now, LocalDateTime expiredBefore,
+              Collection<DeletionJobStatus> statuses);
+
+    /**
+     * Atomically renew the lease of a job and add deleted tasks to its progress,
+     * if the worker still holds the lease
+     * 
+     * @return 1 if the lease was renewed, 0 if the job is owned by another worker
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE ProjectDeletionJob j SET j.tasksDeleted = j.tasksDeleted + :deleted, j.heartbeatAt = :now "
+            + "WHERE j.id = :id AND j.owner = :owner")
+    int renewLease(Long id, String owner, long deleted, LocalDateTime now);
+}
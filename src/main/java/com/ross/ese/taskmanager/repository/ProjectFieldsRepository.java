@@ -0,0 +1,35 @@
+package com.ross.ese.taskmanager.repository;
+
+import com.ross.ese.taskmanager.dto.FieldSelection;
+import org.springframework.data.domain.Limit;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Queries selecting only the requested project fields (sparse fieldsets).
+ */
+public interface ProjectFieldsRepository {
+    // The ProjectResponse fields, in the order they are serialized
+    List<String> FIELDS = List.of("id", "name", "description", "createdAt", "taskCount", "statusCounts");
+
+    /**
+     * Find projects selecting only the given fields
+     *
+     * @param selection The fields to select
+     * @param after Only projects with a greater id, may be null
+     * @param limit The maximum number of projects
+     * @return Field values by name per project in id order; the id is always included
+     */
+    List<Map<String, Object>> findFields(FieldSelection selection, Long after, Limit limit);
+
+    /**
+     * Find a project selecting only the given fields
+     *
+     * @param id The project's ID
+     * @param selection The fields to select
+     * @return Field values by name; the id is always included
+     */
+    Optional<Map<String, Object>> findFieldsById(Long id, FieldSelection selection);
+}
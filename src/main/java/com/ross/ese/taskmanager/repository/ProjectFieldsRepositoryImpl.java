@@ -0,0 +1,99 @@
+package com.ross.ese.taskmanager.repository;
+
+import com.ross.ese.taskmanager.dto.FieldSelection;
+import com.ross.ese.taskmanager.model.TaskStatus;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Limit;
+
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Builds the select list from the requested fields, so unrequested columns are not
+ * read and the task counters are only joined when a count is asked for.
+ */
+@RequiredArgsConstructor
+class ProjectFieldsRepositoryImpl implements ProjectFieldsRepository {
+
+    private static final Map<String, String> EXPRESSIONS = Map.of(
+            "name", "p.name",
+            "description", "p.description",
+            "createdAt", "p.createdAt",
+            // Projects without counters yet are reported with zero tasks, as in ProjectResponse
+            "taskCount", "COALESCE(c.total, 0)");
+
+    private static final Map<TaskStatus, String> STATUS_COUNTS = Map.of(
+            TaskStatus.TODO, "c.todo",
+            TaskStatus.IN_PROGRESS, "c.inProgress",
+            TaskStatus.REVIEW, "c.review",
+            TaskStatus.DONE, "c.done");
+
+    private final EntityManager entityManager;
+
+    @Override
+    public List<Map<String, Object>> findFields(FieldSelection selection, Long after, Limit limit) {
+        TypedQuery<Tuple> query = entityManager.createQuery(
+                jpql(selection, after != null ? "p.id > :after" : null), Tuple.class);
+        if (after != null) {
+            query.setParameter("after", after);
+        }
+        if (limit.isLimited()) {
+            query.setMaxResults(limit.max());
+        }
+        return query.getResultList().stream().map(tuple -> toMap(tuple, selection)).toList();
+    }
+
+    @Override
+    public Optional<Map<String, Object>> findFieldsById(Long id, FieldSelection selection) {
+        return entityManager.createQuery(jpql(selection, "p.id = :id"), Tuple.class)
+                .setParameter("id", id)
+                .getResultStream()
+                .findFirst()
+                .map(tuple -> toMap(tuple, selection));
+    }
+
+    private static String jpql(FieldSelection selection, String condition) {
+        StringBuilder jpql = new StringBuilder("SELECT p.id AS id");
+        for (String field : selection.fields()) {
+            if (EXPRESSIONS.containsKey(field)) {
+                jpql.append(", ").append(EXPRESSIONS.get(field)).append(" AS ").append(field);
+            }
+        }
+        if (selection.includes("statusCounts")) {
+            STATUS_COUNTS.forEach((status, expression) -> jpql.append(", ").append(expression).append(" AS ").append(status));
+        }
+        jpql.append(" FROM Project p");
+        if (selection.includes("taskCount") || selection.includes("statusCounts")) {
+            jpql.append(" LEFT JOIN ProjectTaskCounts c ON c.projectId = p.id");
+        }
+        jpql.append(" WHERE p.deleting = false");
+        if (condition != null) {
+            jpql.append(" AND ").append(condition);
+        }
+        return jpql.append(" ORDER BY p.id").toString();
+    }
+
+    private static Map<String, Object> toMap(Tuple tuple, FieldSelection selection) {
+        Map<String, Object> values = new LinkedHashMap<>();
+        values.put("id", tuple.get("id"));
+        for (String field : selection.fields()) {
+            if (EXPRESSIONS.containsKey(field)) {
+                values.put(field, tuple.get(field));
+            } else if (field.equals("statusCounts")) {
+                Map<TaskStatus, Integer> counts = new EnumMap<>(TaskStatus.class);
+                for (TaskStatus status : TaskStatus.values()) {
+                    Integer count = tuple.get(status.name(), Integer.class);
+                    counts.put(status, count != null ? count : 0);
+                }
+                values.put(field, counts);
+            }
+        }
+        return values;
+    }
+}
@@ -1,13 +1,72 @@
 package com.ross.ese.taskmanager.repository;
 
+import com.ross.ese.taskmanager.dto.ProjectResponse;
 import com.ross.ese.taskmanager.model.Project;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+import java.util.Optional;
+
 /**
  * Repository interface for accessing Project entities.
  */
 @Repository
-public interface ProjectRepository extends JpaRepository<Project, Long> {
-    // Using only built-in methods from JpaRepository
+public interface ProjectRepository extends JpaRepository<Project, Long>, ProjectFieldsRepository {
+    // Projects joined with their task counters, selected as ProjectResponse rows; projects being deleted are hidden
+    String WITH_TASK_COUNTS = "SELECT new com.ross.ese.taskmanager.dto.ProjectResponse("
+            + "p.id, p.name, p.description, p.createdAt, c) "
+            + "FROM Project p LEFT JOIN ProjectTaskCounts c ON c.projectId = p.id "
+            + "WHERE p.deleting = false";
+
+    /**
+     * Find a project unless it is being deleted
+     *
+     * @param id The project's ID
+     * @return The project, read through the second-level cache when it is on (single instance only)
+     */
+    default Optional<Project> findActiveById(Long id) {
+        return findById(id).filter(project -> !project.isDeleting());
+    }
+
+    /**
+     * Find a project and lock it until the end of the transaction, bypassing the second-level cache
+     *
+     * @param id The project's ID
+     * @return The project, also if it is being deleted
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT p FROM Project p WHERE p.id = :id")
+    Optional<Project> findForUpdate(Long id);
+
+    /**
+     * Find all projects with their task counts in a single query
+     *
+     * @param limit The maximum number of projects
+     * @return Projects in id order
+     */
+    @Query(WITH_TASK_COUNTS + " ORDER BY p.id")
+    List<ProjectResponse> findAllWithTaskCounts(Limit limit);
+
+    /**
+     * Find the next page of projects in id order (keyset pagination) with their task counts
+     *
+     * @param after The last id of the previous page
+     * @param limit The maximum number of projects
+     * @return Projects with a greater id
+     */
+    @Query(WITH_TASK_COUNTS + " AND p.id > :after ORDER BY p.id")
+    List<ProjectResponse> findPageWithTaskCounts(Long after, Limit limit);
+
+    /**
+     * Find the IDs of all projects
+     *
+     * @return Project IDs
+     */
+    @Query("SELECT p.id FROM Project p")
+    List<Long> findAllIds();
 }
\ No newline at end of file
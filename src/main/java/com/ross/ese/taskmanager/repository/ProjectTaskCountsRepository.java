@@ -0,0 +1,72 @@
+package com.ross.ese.taskmanager.repository;
+
+import com.ross.ese.taskmanager.model.ProjectTaskCounts;
+import com.ross.ese.taskmanager.model.TaskStatus;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Optional;
+
+/**
+ * Repository interface for accessing the task counters of projects.
+ */
+@Repository
+public interface ProjectTaskCountsRepository extends JpaRepository<ProjectTaskCounts, Long> {
+    /**
+     * Atomically add to the counters of a project
+     * 
+     * @return The number of rows updated, 0 if the project has no counters yet
+     */
+    @Transactional
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE ProjectTaskCounts c SET c.total = c.total + :total, c.todo = c.todo + :todo, "
+            + "c.inProgress = c.inProgress + :inProgress, c.review = c.review + :review, c.done = c.done + :done "
+            + "WHERE c.projectId = :projectId")
+    int add(Long projectId, int total, int todo, int inProgress, int review, int done);
+
+    /**
+     * Atomically add a task to, or (with a negative delta) remove one from, the counters of a project
+     * 
+     * @param projectId The project's ID
+     * @param status The status of the task
+     * @param delta 1 for an added task, -1 for a removed one
+     * @return The number of rows updated, 0 if the project has no counters yet
+     */
+    default int add(Long projectId, TaskStatus status, int delta) {
+        return add(projectId, delta,
+                status == TaskStatus.TODO ? delta : 0,
+                status == TaskStatus.IN_PROGRESS ? delta : 0,
+                status == TaskStatus.REVIEW ? delta : 0,
+                status == TaskStatus.DONE ? delta : 0);
+    }
+
+    /**
+     * Create zeroed counters for a project that exists and has none. Two callers creating
+     * them at the same time may still collide on the primary key.
+     * 
+     * @param projectId The project's ID
+     * @return The number of rows inserted
+     */
+    @Transactional
+    @Modifying
+    @Query(value = "INSERT INTO project_task_counts (project_id, total, todo, in_progress, review, done) "
+            + "SELECT p.id, 0, 0, 0, 0, 0 FROM projects p WHERE p.id = :projectId "
+            + "AND NOT EXISTS (SELECT 1 FROM project_task_counts c WHERE c.project_id = :projectId)",
+            nativeQuery = true)
+    int insertIfMissing(Long projectId);
+
+    /**
+     * Find the counters of a project and lock them until the end of the transaction
+     * 
+     * @param projectId The project's ID
+     * @return Optional containing the counters if they exist
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT c FROM ProjectTaskCounts c WHERE c.projectId = :projectId")
+    Optional<ProjectTaskCounts> findForUpdate(Long projectId);
+}
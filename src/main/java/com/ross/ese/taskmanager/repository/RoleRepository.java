@@ -2,7 +2,10 @@ package com.ross.ese.taskmanager.repository;
 
 import com.ross.ese.taskmanager.model.ERole;
 import com.ross.ese.taskmanager.model.Role;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import java.util.Optional;
@@ -17,5 +20,6 @@ public interface RoleRepository extends JpaRepository<Role, Integer> {
      * @param name The role name to search for
      * @return Optional containing the role if found
      */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<Role> findByName(ERole name);
 }
\ No newline at end of file
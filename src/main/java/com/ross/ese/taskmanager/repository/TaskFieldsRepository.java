@@ -0,0 +1,40 @@
+package com.ross.ese.taskmanager.repository;
+
+import com.ross.ese.taskmanager.dto.FieldSelection;
+import com.ross.ese.taskmanager.model.TaskStatus;
+import org.springframework.data.domain.Limit;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Queries selecting only the requested task fields (sparse fieldsets).
+ */
+public interface TaskFieldsRepository {
+    // The TaskResponse fields, in the order they are serialized
+    List<String> FIELDS = List.of("id", "title", "description", "status", "priority", "dueDate", "createdAt",
+            "projectId", "projectName");
+
+    /**
+     * Find tasks selecting only the given fields
+     * 
+     * @param selection The fields to select
+     * @param projectId Only tasks of this project, may be null
+     * @param status Only tasks with this status, may be null
+     * @param after Only tasks with a greater id, may be null
+     * @param limit The maximum number of tasks
+     * @return Field values by name per task in id order; the id is always included
+     */
+    List<Map<String, Object>> findFields(FieldSelection selection, Long projectId, TaskStatus status,
+                                         Long after, Limit limit);
+
+    /**
+     * Find a task selecting only the given fields
+     * 
+     * @param id The task's ID
+     * @param selection The fields to select
+     * @return Field values by name; the id is always included
+     */
+    Optional<Map<String, Object>> findFieldsById(Long id, FieldSelection selection);
+}
@@ -0,0 +1,101 @@
+package com.ross.ese.taskmanager.repository;
+
+import com.ross.ese.taskmanager.dto.FieldSelection;
+import com.ross.ese.taskmanager.model.TaskStatus;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Limit;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Builds the select list from the requested fields, so unrequested columns are not
+ * read and the project is only joined when its name or id is asked for. Tasks of a
+ * project being deleted are left out, as in the other task queries.
+ */
+@RequiredArgsConstructor
+class TaskFieldsRepositoryImpl implements TaskFieldsRepository {
+
+    private static final Map<String, String> EXPRESSIONS = Map.of(
+            "id", "t.id",
+            "title", "t.title",
+            "description", "t.description",
+            "status", "t.status",
+            "priority", "t.priority",
+            "dueDate", "t.dueDate",
+            "createdAt", "t.createdAt",
+            "projectId", "p.id",
+            "projectName", "p.name");
+
+    // Reads the project's flag through the primary key without joining it
+    private static final String VISIBLE =
+            "NOT EXISTS (SELECT d.id FROM Project d WHERE d.id = t.project.id AND d.deleting = true)";
+
+    private final EntityManager entityManager;
+
+    @Override
+    public List<Map<String, Object>> findFields(FieldSelection selection, Long projectId, TaskStatus status,
+                                                Long after, Limit limit) {
+        List<String> conditions = new ArrayList<>(List.of(VISIBLE));
+        if (projectId != null) {
+            conditions.add("t.project.id = :projectId");
+        }
+        if (status != null) {
+            conditions.add("t.status = :status");
+        }
+        if (after != null) {
+            conditions.add("t.id > :after");
+        }
+
+        TypedQuery<Tuple> query = entityManager.createQuery(jpql(selection, conditions), Tuple.class);
+        if (projectId != null) {
+            query.setParameter("projectId", projectId);
+        }
+        if (status != null) {
+            query.setParameter("status", status);
+        }
+        if (after != null) {
+            query.setParameter("after", after);
+        }
+        if (limit.isLimited()) {
+            query.setMaxResults(limit.max());
+        }
+        return query.getResultList().stream().map(TaskFieldsRepositoryImpl::toMap).toList();
+    }
+
+    @Override
+    public Optional<Map<String, Object>> findFieldsById(Long id, FieldSelection selection) {
+        return entityManager.createQuery(jpql(selection, List.of("t.id = :id", VISIBLE)), Tuple.class)
+                .setParameter("id", id)
+                .getResultStream()
+                .findFirst()
+                .map(TaskFieldsRepositoryImpl::toMap);
+    }
+
+    private static String jpql(FieldSelection selection, List<String> conditions) {
+        StringBuilder jpql = new StringBuilder("SELECT t.id AS id");
+        for (String field : selection.fields()) {
+            if (!field.equals("id")) {
+                jpql.append(", ").append(EXPRESSIONS.get(field)).append(" AS ").append(field);
+            }
+        }
+        jpql.append(" FROM Task t");
+        if (selection.includes("projectId") || selection.includes("projectName")) {
+            jpql.append(" LEFT JOIN t.project p");
+        }
+        jpql.append(" WHERE ").append(String.join(" AND ", conditions));
+        return jpql.append(" ORDER BY t.id").toString();
+    }
+
+    private static Map<String, Object> toMap(Tuple tuple) {
+        Map<String, Object> values = new LinkedHashMap<>();
+        tuple.getElements().forEach(element -> values.put(element.getAlias(), tuple.get(element)));
+        return values;
+    }
+}
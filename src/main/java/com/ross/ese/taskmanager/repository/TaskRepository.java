@@ -1,17 +1,35 @@
 package com.ross.ese.taskmanager.repository;
 
+import com.ross.ese.taskmanager.dto.TaskResponse;
+import com.ross.ese.taskmanager.dto.TaskSummaryResponse;
 import com.ross.ese.taskmanager.model.Task;
 import com.ross.ese.taskmanager.model.TaskStatus;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.stream.Stream;
 
 /**
  * Repository interface for accessing Task entities.
  */
 @Repository
-public interface TaskRepository extends JpaRepository<Task, Long> {
+public interface TaskRepository extends JpaRepository<Task, Long>, TaskFieldsRepository {
+    // Tasks of a project being deleted are hidden like the project itself
+    String VISIBLE = " WHERE (p.id IS NULL OR p.deleting = false)";
+    // Selects exactly the TaskResponse columns, joining only the project for its name
+    String TASK_RESPONSE = "SELECT new com.ross.ese.taskmanager.dto.TaskResponse("
+            + "t.id, t.title, t.description, t.status, t.priority, t.dueDate, t.createdAt, p.id, p.name) "
+            + "FROM Task t LEFT JOIN t.project p" + VISIBLE;
+    // Selects the TaskSummaryResponse columns only; the description column is never read
+    String TASK_SUMMARY = "SELECT new com.ross.ese.taskmanager.dto.TaskSummaryResponse("
+            + "t.id, t.title, t.status, t.priority, p.id, p.name) "
+            + "FROM Task t LEFT JOIN t.project p" + VISIBLE;
+
     /**
      * Find tasks assigned to a specific user
      * 
@@ -36,6 +54,163 @@ public interface TaskRepository extends JpaRepository<Task, Long> {
      */
     List<Task> findByStatus(TaskStatus status);
 
+    /**
+     * Find all tasks as responses
+     * 
+     * @param limit The maximum number of tasks
+     * @return The first tasks in id order
+     */
+    @Query(TASK_RESPONSE + " ORDER BY t.id")
+    List<TaskResponse> findAllResponses(Limit limit);
+
+    /**
+     * Find the tasks of a project as responses
+     * 
+     * @param projectId The project's ID
+     * @param limit The maximum number of tasks
+     * @return Tasks in the specified project in id order
+     */
+    @Query(TASK_RESPONSE + " AND p.id = :projectId ORDER BY t.id")
+    List<TaskResponse> findResponsesByProjectId(Long projectId, Limit limit);
+
+    /**
+     * Stream the tasks of a project as responses. Rows are read from an open cursor in
+     * batches of hibernate.jdbc.fetch_size (PostgreSQL only uses a cursor because the
+     * connections do not auto-commit), and no entities are loaded into the persistence
+     * context, so memory does not grow with the number of tasks.
+     * The stream must be consumed and closed within the surrounding transaction.
+     * 
+     * @param projectId The project's ID
+     * @return Tasks in the specified project in id order
+     */
+    @Query(TASK_RESPONSE + " AND p.id = :projectId ORDER BY t.id")
+    Stream<TaskResponse> streamResponsesByProjectId(Long projectId);
+
+    /**
+     * Find the tasks with a status as responses
+     * 
+     * @param status The status to filter by
+     * @param limit The maximum number of tasks
+     * @return Tasks with the specified status in id order
+     */
+    @Query(TASK_RESPONSE + " AND t.status = :status ORDER BY t.id")
+    List<TaskResponse> findResponsesByStatus(TaskStatus status, Limit limit);
+
+    /**
+     * Find the next page of tasks in id order (keyset pagination)
+     * 
+     * @param after The last id of the previous page
+     * @param limit The maximum number of tasks
+     * @return Tasks with a greater id
+     */
+    @Query(TASK_RESPONSE + " AND t.id > :after ORDER BY t.id")
+    List<TaskResponse> findResponsePage(Long after, Limit limit);
+
+    /**
+     * Find the next page of tasks of a project in id order (keyset pagination)
+     * 
+     * @param projectId The project's ID
+     * @param after The last id of the previous page
+     * @param limit The maximum number of tasks
+     * @return Tasks of the project with a greater id
+     */
+    @Query(TASK_RESPONSE + " AND p.id = :projectId AND t.id > :after ORDER BY t.id")
+    List<TaskResponse> findResponsePageByProjectId(Long projectId, Long after, Limit limit);
+
+    /**
+     * Find the next page of tasks with a status in id order (keyset pagination)
+     * 
+     * @param status The status to filter by
+     * @param after The last id of the previous page
+     * @param limit The maximum number of tasks
+     * @return Tasks with the status and a greater id
+     */
+    @Query(TASK_RESPONSE + " AND t.status = :status AND t.id > :after ORDER BY t.id")
+    List<TaskResponse> findResponsePageByStatus(TaskStatus status, Long after, Limit limit);
+
+    /**
+     * Find all tasks as summaries
+     * 
+     * @param limit The maximum number of tasks
+     * @return The first tasks in id order
+     */
+    @Query(TASK_SUMMARY + " ORDER BY t.id")
+    List<TaskSummaryResponse> findAllSummaries(Limit limit);
+
+    /**
+     * Find the tasks of a project as summaries
+     * 
+     * @param projectId The project's ID
+     * @param limit The maximum number of tasks
+     * @return Tasks in the specified project in id order
+     */
+    @Query(TASK_SUMMARY + " AND p.id = :projectId ORDER BY t.id")
+    List<TaskSummaryResponse> findSummariesByProjectId(Long projectId, Limit limit);
+
+    /**
+     * Find the tasks with a status as summaries
+     * 
+     * @param status The status to filter by
+     * @param limit The maximum number of tasks
+     * @return Tasks with the specified status in id order
+     */
+    @Query(TASK_SUMMARY + " AND t.status = :status ORDER BY t.id")
+    List<TaskSummaryResponse> findSummariesByStatus(TaskStatus status, Limit limit);
+
+    /**
+     * Find the next page of task summaries in id order (keyset pagination)
+     * 
+     * @param after The last id of the previous page
+     * @param limit The maximum number of tasks
+     * @return Tasks with a greater id
+     */
+    @Query(TASK_SUMMARY + " AND t.id > :after ORDER BY t.id")
+    List<TaskSummaryResponse> findSummaryPage(Long after, Limit limit);
+
+    /**
+     * Find the next page of task summaries of a project in id order (keyset pagination)
+     * 
+     * @param projectId The project's ID
+     * @param after The last id of the previous page
+     * @param limit The maximum number of tasks
+     * @return Tasks of the project with a greater id
+     */
+    @Query(TASK_SUMMARY + " AND p.id = :projectId AND t.id > :after ORDER BY t.id")
+    List<TaskSummaryResponse> findSummaryPageByProjectId(Long projectId, Long after, Limit limit);
+
+    /**
+     * Find the next page of task summaries with a status in id order (keyset pagination)
+     * 
+     * @param status The status to filter by
+     * @param after The last id of the previous page
+     * @param limit The maximum number of tasks
+     * @return Tasks with the status and a greater id
+     */
+    @Query(TASK_SUMMARY + " AND t.status = :status AND t.id > :after ORDER BY t.id")
+    List<TaskSummaryResponse> findSummaryPageByStatus(TaskStatus status, Long after, Limit limit);
+
+    /**
+     * Find the IDs of the tasks of a project
+     * 
+     * @param projectId The project's ID
+     * @param limit The maximum number of IDs
+     * @return Task IDs in ascending order
+     */
+    @Query("SELECT t.id FROM Task t WHERE t.project.id = :projectId ORDER BY t.id")
+    List<Long> findIdsByProjectId(Long projectId, Limit limit);
+
+    /**
+     * Delete the tasks of a project up to an ID in one statement
+     * 
+     * @param projectId The project's ID
+     * @param maxId The greatest ID to delete
+     * @return The number of tasks deleted
+     */
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM Task t WHERE t.project.id = :projectId AND t.id <= :maxId")
+    int deleteByProjectIdUpTo(Long projectId, Long maxId);
+
     /**
      * Count tasks belonging to a specific project
      * 
@@ -43,4 +218,41 @@ public interface TaskRepository extends JpaRepository<Task, Long> {
      * @return The number of tasks in the specified project
      */
     Integer countByProjectId(Long projectId);
+
+    /**
+     * Find the projects with the most tasks
+     * 
+     * @param limit The maximum number of projects
+     * @return IDs of the projects, largest first
+     */
+    @Query("SELECT t.project.id FROM Task t WHERE t.project IS NOT NULL GROUP BY t.project.id ORDER BY COUNT(t) DESC")
+    List<Long> findMostActiveProjectIds(Limit limit);
+
+    /**
+     * Number of tasks of a project with a given status
+     */
+    interface StatusCount {
+        Long getProjectId();
+        TaskStatus getStatus();
+        long getCount();
+    }
+
+    /**
+     * Count the tasks of every project by status
+     * 
+     * @return One row per project and status that has tasks
+     */
+    @Query("SELECT t.project.id AS projectId, t.status AS status, COUNT(t) AS count FROM Task t "
+            + "WHERE t.project IS NOT NULL GROUP BY t.project.id, t.status")
+    List<StatusCount> countByProjectAndStatus();
+
+    /**
+     * Count the tasks of a project by status
+     * 
+     * @param projectId The project's ID
+     * @return One row per status that has tasks
+     */
+    @Query("SELECT t.project.id AS projectId, t.status AS status, COUNT(t) AS count FROM Task t "
+            + "WHERE t.project.id = :projectId GROUP BY t.project.id, t.status")
+    List<StatusCount> countByStatusForProject(Long projectId);
 }
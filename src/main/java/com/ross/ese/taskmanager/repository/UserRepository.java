@@ -17,6 +17,13 @@ public interface UserRepository extends JpaRepository<User, Long> {
      * @return Optional containing the user if found
      */
     Optional<User> findByUsername(String username);
+
+    /**
+     * Find a user by email
+     * @param email The email to search for
+     * @return Optional containing the user if found
+     */
+    Optional<User> findByEmail(String email);
     
     /**
      * Check if a username already exists
@@ -0,0 +1,24 @@
+package com.ross.ese.taskmanager.security;
+
+import com.ross.ese.taskmanager.model.ERole;
+
+import java.security.Principal;
+import java.util.Set;
+
+/**
+ * Principal of an authenticated request, built from the access token claims.
+ *
+ * @param subject The token subject (Supabase user id)
+ * @param email The user's email, if present in the token
+ * @param username The username, falling back to the email or subject
+ * @param userId The id of the matching local user, or null if there is none
+ * @param roles The roles granted to the user
+ */
+public record AuthenticatedUser(String subject, String email, String username, Long userId, Set<ERole> roles)
+        implements Principal {
+
+    @Override
+    public String getName() {
+        return username;
+    }
+}
@@ -1,7 +1,12 @@
 package com.ross.ese.taskmanager.security;
 
+import com.nimbusds.jwt.JWTParser;
+import com.ross.ese.taskmanager.dto.UserAccount;
+import com.ross.ese.taskmanager.model.ERole;
 import com.ross.ese.taskmanager.service.SupabaseAuthService;
 import com.ross.ese.taskmanager.config.ApplicationConfig;
+import com.ross.ese.taskmanager.config.JwtVerificationProperties;
+import com.ross.ese.taskmanager.service.UserService;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -10,72 +15,171 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.lang.NonNull;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.oauth2.jwt.BadJwtException;
+import org.springframework.security.oauth2.jwt.JwtException;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
-import java.util.ArrayList;
+import java.text.ParseException;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 @Component
 @RequiredArgsConstructor
 @Slf4j
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
+    private static final Map<ERole, GrantedAuthority> ROLE_AUTHORITIES = new EnumMap<>(ERole.class);
+
+    static {
+        for (ERole role : ERole.values()) {
+            ROLE_AUTHORITIES.put(role, new SimpleGrantedAuthority(role.name()));
+        }
+    }
+
     private final SupabaseAuthService supabaseAuthService;
     private final ApplicationConfig appConfig;
-    
+    private final SupabaseJwtVerifier jwtVerifier;
+    private final JwtVerificationProperties jwtProperties;
+    private final UserService userService;
+
+    // Immutable authority lists shared by every request with the same set of roles
+    private final Map<Set<ERole>, List<GrantedAuthority>> authoritiesByRoles = new ConcurrentHashMap<>();
+
     @Override
     protected void doFilterInternal(
             @NonNull HttpServletRequest request,
-            @NonNull HttpServletResponse response, 
+            @NonNull HttpServletResponse response,
             @NonNull FilterChain filterChain)
             throws ServletException, IOException {
-            
+
         String authHeader = request.getHeader("Authorization");
-        
+
         if (authHeader != null && authHeader.startsWith("Bearer ")) {
             String token = authHeader.substring(7);
-            
-            log.debug("Processing token: {}", token.substring(0, Math.min(token.length(), 10)) + "...");
-            
+
+            if (log.isDebugEnabled()) {
+                log.debug("Processing token: {}", token.substring(0, Math.min(token.length(), 10)) + "...");
+            }
+
             // Check if it's a development token
-            boolean authenticated = false;
             if (appConfig.isDevMode() && token.startsWith("dev-login-")) {
                 log.debug("Authenticating with development token");
-                authenticated = true;
-                
-                // Set authentication in context
-                List<SimpleGrantedAuthority> authorities = new ArrayList<>();
-                authorities.add(new SimpleGrantedAuthority("ROLE_USER"));
-                
-                UsernamePasswordAuthenticationToken authentication = 
-                    new UsernamePasswordAuthenticationToken(
-                        "dev-user@example.com",
-                        null,
-                        authorities
-                    );
-                
-                SecurityContextHolder.getContext().setAuthentication(authentication);
+                authenticate(new AuthenticatedUser(
+                        "dev-user", "dev-user@example.com", "dev-user@example.com", null, EnumSet.of(ERole.ROLE_USER)));
             } else {
                 // Regular token verification
-                log.debug("Verifying token with Supabase");
-                authenticated = supabaseAuthService.verifyToken(token);
-                if (authenticated) {
-                    UsernamePasswordAuthenticationToken authentication = 
-                        new UsernamePasswordAuthenticationToken(
-                            "user",
-                            null,
-                            null
-                        );
-                    
-                    SecurityContextHolder.getContext().setAuthentication(authentication);
+                Map<String, Object> claims = verifyToken(token);
+                if (claims != null) {
+                    authenticate(toAuthenticatedUser(claims));
                 }
             }
         }
-        
+
         filterChain.doFilter(request, response);
     }
-}
\ No newline at end of file
+
+    private void authenticate(AuthenticatedUser user) {
+        UsernamePasswordAuthenticationToken authentication =
+                UsernamePasswordAuthenticationToken.authenticated(user, null, authorities(user.roles()));
+        SecurityContextHolder.getContext().setAuthentication(authentication);
+    }
+
+    /**
+     * Verifies the token locally or with Supabase depending on the configured mode.
+     * In local mode Supabase is only called when the token could not be checked
+     * and fallback is enabled.
+     *
+     * @return The token claims if the token is valid, null otherwise
+     */
+    private Map<String, Object> verifyToken(String token) {
+        if (jwtProperties.getMode() == JwtVerificationProperties.Mode.REMOTE) {
+            log.debug("Verifying token with Supabase");
+            return verifyWithSupabase(token);
+        }
+
+        try {
+            Map<String, Object> claims = jwtVerifier.verify(token).getClaims();
+            log.debug("Token verified locally");
+            return claims;
+        } catch (BadJwtException e) {
+            log.debug("Token rejected: {}", e.getMessage());
+            return null;
+        } catch (JwtException e) {
+            if (jwtProperties.isFallbackToRemote()) {
+                log.debug("Local verification unavailable ({}), verifying token with Supabase", e.getMessage());
+                return verifyWithSupabase(token);
+            }
+            log.warn("Token could not be verified locally: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    private Map<String, Object> verifyWithSupabase(String token) {
+        if (!supabaseAuthService.verifyToken(token)) {
+            return null;
+        }
+        // Supabase has vouched for the token, so its claims can be read without re-checking the signature
+        try {
+            return JWTParser.parse(token).getJWTClaimsSet().getClaims();
+        } catch (ParseException e) {
+            log.warn("Verified token claims could not be read: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Builds the principal from the token claims. Roles come from the token's
+     * app_metadata.roles claim and from the local user with the token's email,
+     * looked up through the "users" cache; every authenticated user has ROLE_USER.
+     * The user_metadata claims are editable by the user, so they never select
+     * the local account.
+     */
+    private AuthenticatedUser toAuthenticatedUser(Map<String, Object> claims) {
+        String subject = stringClaim(claims.get("sub"));
+        String email = stringClaim(claims.get("email"));
+
+        Set<ERole> roles = EnumSet.of(ERole.ROLE_USER);
+        if (nestedClaim(claims, "app_metadata", "roles") instanceof Collection<?> claimedRoles) {
+            for (Object role : claimedRoles) {
+                for (ERole candidate : ERole.values()) {
+                    if (candidate.name().equals(role)) {
+                        roles.add(candidate);
+                    }
+                }
+            }
+        }
+
+        UserAccount account = email != null ? userService.findAccountByEmail(email).orElse(null) : null;
+        if (account != null) {
+            roles.addAll(account.getRoles());
+            return new AuthenticatedUser(subject, email, account.getUsername(), account.getId(), roles);
+        }
+
+        String username = email != null ? email : (subject != null ? subject : "user");
+        return new AuthenticatedUser(subject, email, username, null, roles);
+    }
+
+    private List<GrantedAuthority> authorities(Set<ERole> roles) {
+        return authoritiesByRoles.computeIfAbsent(EnumSet.copyOf(roles), key -> key.stream()
+                .map(ROLE_AUTHORITIES::get)
+                .toList());
+    }
+
+    private static Object nestedClaim(Map<String, Object> claims, String parent, String name) {
+        return claims.get(parent) instanceof Map<?, ?> nested ? nested.get(name) : null;
+    }
+
+    private static String stringClaim(Object value) {
+        return value instanceof String string && !string.isEmpty() ? string : null;
+    }
+}
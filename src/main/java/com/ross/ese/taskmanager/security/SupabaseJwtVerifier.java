@@ -0,0 +1,186 @@
+package com.ross.ese.taskmanager.security;
+
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.KeySourceException;
+import com.nimbusds.jose.jwk.JWKMatcher;
+import com.nimbusds.jose.jwk.JWKSelector;
+import com.nimbusds.jose.jwk.source.JWKSource;
+import com.nimbusds.jose.jwk.source.JWKSourceBuilder;
+import com.nimbusds.jose.proc.JWSKeySelector;
+import com.nimbusds.jose.proc.JWSVerificationKeySelector;
+import com.nimbusds.jose.proc.SecurityContext;
+import com.nimbusds.jwt.proc.DefaultJWTProcessor;
+import com.ross.ese.taskmanager.config.JwtVerificationProperties;
+import com.ross.ese.taskmanager.config.SupabaseProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.oauth2.core.DelegatingOAuth2TokenValidator;
+import org.springframework.security.oauth2.core.OAuth2TokenValidator;
+import org.springframework.security.oauth2.jwt.BadJwtException;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtClaimNames;
+import org.springframework.security.oauth2.jwt.JwtClaimValidator;
+import org.springframework.security.oauth2.jwt.JwtException;
+import org.springframework.security.oauth2.jwt.JwtIssuerValidator;
+import org.springframework.security.oauth2.jwt.JwtTimestampValidator;
+import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import javax.crypto.SecretKey;
+import javax.crypto.spec.SecretKeySpec;
+import java.net.MalformedURLException;
+import java.net.URI;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.security.Key;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Verifies Supabase access tokens in-process, without a round-trip to Supabase Auth.
+ * HS256 tokens are checked against the project JWT secret; RS256/ES256 tokens are
+ * checked against the keys published in the project's JWKS document, which are
+ * cached and refreshed in the background.
+ */
+@Component
+@Slf4j
+public class SupabaseJwtVerifier {
+
+    private static final int MIN_HMAC_SECRET_BYTES = 32;
+
+    private final NimbusJwtDecoder jwtDecoder;
+
+    public SupabaseJwtVerifier(JwtVerificationProperties properties, SupabaseProperties supabaseProperties) {
+        String authUrl = supabaseProperties.getUrl() + "/auth/v1";
+        String issuer = StringUtils.hasText(properties.getIssuer()) ? properties.getIssuer() : authUrl;
+        String jwksUri = StringUtils.hasText(properties.getJwksUri())
+                ? properties.getJwksUri()
+                : authUrl + "/.well-known/jwks.json";
+
+        SecretKey hmacKey = hmacKey(properties);
+        JWKSource<SecurityContext> jwkSource = jwkSource(jwksUri, properties);
+        if (properties.getMode() == JwtVerificationProperties.Mode.LOCAL && !properties.isFallbackToRemote()) {
+            requireKeyMaterial(hmacKey, jwkSource, jwksUri);
+        }
+
+        DefaultJWTProcessor<SecurityContext> processor = new DefaultJWTProcessor<>();
+        processor.setJWSKeySelector(new SupabaseKeySelector(hmacKey, jwkSource == null ? null
+                : new JWSVerificationKeySelector<>(Set.of(JWSAlgorithm.RS256, JWSAlgorithm.ES256), jwkSource)));
+        // Claims are validated by the Spring validators below
+        processor.setJWTClaimsSetVerifier((claims, context) -> { });
+
+        this.jwtDecoder = new NimbusJwtDecoder(processor);
+        this.jwtDecoder.setJwtValidator(validator(issuer, properties));
+    }
+
+    /**
+     * Verifies the token signature, expiry, issuer and audience.
+     *
+     * @param token The raw bearer token
+     * @return The decoded token
+     * @throws BadJwtException if the token is malformed or invalid
+     * @throws JwtException if the token could not be verified, e.g. because the signing key is unavailable
+     */
+    public Jwt verify(String token) {
+        return jwtDecoder.decode(token);
+    }
+
+    private static SecretKey hmacKey(JwtVerificationProperties properties) {
+        String secret = properties.getHmacSecret();
+        if (secret == null || secret.getBytes(StandardCharsets.UTF_8).length < MIN_HMAC_SECRET_BYTES) {
+            log.warn("No usable HMAC secret configured, HS256 tokens cannot be verified locally");
+            return null;
+        }
+        return new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), "HmacSHA256");
+    }
+
+    private static JWKSource<SecurityContext> jwkSource(String jwksUri, JwtVerificationProperties properties) {
+        URL jwksUrl;
+        try {
+            jwksUrl = URI.create(jwksUri).toURL();
+        } catch (IllegalArgumentException | MalformedURLException e) {
+            log.warn("Invalid JWKS URI '{}', RS256/ES256 tokens cannot be verified locally", jwksUri);
+            return null;
+        }
+
+        long timeToLive = properties.getJwksRefreshInterval().toMillis();
+        return JWKSourceBuilder.<SecurityContext>create(jwksUrl)
+                .cache(timeToLive, JWKSourceBuilder.DEFAULT_CACHE_REFRESH_TIMEOUT)
+                .refreshAheadCache(Math.min(JWKSourceBuilder.DEFAULT_REFRESH_AHEAD_TIME, timeToLive / 2), true)
+                .retrying(true)
+                .build();
+    }
+
+    /**
+     * Without remote fallback, local mode can only accept tokens if it has a key to
+     * check them with. Fails startup when there is neither an HMAC secret nor a
+     * JWKS document with keys, instead of rejecting every request with a 401.
+     */
+    private static void requireKeyMaterial(SecretKey hmacKey, JWKSource<SecurityContext> jwkSource, String jwksUri) {
+        if (hmacKey != null) {
+            return;
+        }
+        String message = "Local token verification has no keys: set app.auth.jwt.hmac-secret (JWT_SECRET), "
+                + "make the JWKS at " + jwksUri + " reachable, or set app.auth.jwt.mode=remote";
+        if (jwkSource == null) {
+            throw new IllegalStateException(message);
+        }
+        try {
+            if (jwkSource.get(new JWKSelector(new JWKMatcher.Builder().build()), null).isEmpty()) {
+                throw new IllegalStateException(message);
+            }
+        } catch (KeySourceException e) {
+            throw new IllegalStateException(message, e);
+        }
+    }
+
+    private static OAuth2TokenValidator<Jwt> validator(String issuer, JwtVerificationProperties properties) {
+        List<OAuth2TokenValidator<Jwt>> validators = new ArrayList<>();
+        validators.add(new JwtClaimValidator<Instant>(JwtClaimNames.EXP, Objects::nonNull));
+        validators.add(new JwtTimestampValidator(properties.getClockSkew()));
+        validators.add(new JwtIssuerValidator(issuer));
+
+        if (StringUtils.hasText(properties.getAudience())) {
+            String audience = properties.getAudience();
+            validators.add(new JwtClaimValidator<Collection<String>>(JwtClaimNames.AUD,
+                    aud -> aud != null && aud.contains(audience)));
+        }
+        return new DelegatingOAuth2TokenValidator<>(validators);
+    }
+
+    /**
+     * Picks the verification key from the token's algorithm: the shared secret
+     * for HS256, otherwise the matching key from the JWKS document.
+     * A missing key source is reported as a {@link KeySourceException} so that it
+     * surfaces as "could not verify" rather than "invalid token".
+     */
+    private static final class SupabaseKeySelector implements JWSKeySelector<SecurityContext> {
+
+        private final SecretKey hmacKey;
+        private final JWSKeySelector<SecurityContext> jwksKeySelector;
+
+        SupabaseKeySelector(SecretKey hmacKey, JWSKeySelector<SecurityContext> jwksKeySelector) {
+            this.hmacKey = hmacKey;
+            this.jwksKeySelector = jwksKeySelector;
+        }
+
+        @Override
+        public List<? extends Key> selectJWSKeys(JWSHeader header, SecurityContext context) throws KeySourceException {
+            if (JWSAlgorithm.HS256.equals(header.getAlgorithm())) {
+                if (hmacKey == null) {
+                    throw new KeySourceException("No HMAC secret configured for HS256 tokens");
+                }
+                return List.of(hmacKey);
+            }
+            if (jwksKeySelector == null) {
+                throw new KeySourceException("No JWKS configured for " + header.getAlgorithm() + " tokens");
+            }
+            return jwksKeySelector.selectJWSKeys(header, context);
+        }
+    }
+}
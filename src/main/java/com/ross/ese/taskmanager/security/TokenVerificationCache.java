@@ -0,0 +1,184 @@
+package com.ross.ese.taskmanager.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.google.common.hash.Hashing;
+import com.nimbusds.jwt.JWTParser;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.text.ParseException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Bounded cache of remote token verification results, keyed by a SHA-256 hash of the token.
+ * Valid tokens are cached until their "exp" claim (capped by a maximum lifetime);
+ * rejected tokens are cached briefly so that a client retrying a bad token does not
+ * hit Supabase on every request.
+ * Concurrent verifications of the same token share a single call: the first caller
+ * verifies, the others wait for its result. If that call fails or is cancelled, the
+ * waiters retry once, again sharing a single call, rather than treating the token as
+ * invalid; without an answer from the retry the token is treated as invalid.
+ * Hit, miss and eviction counts are published as the "token-verification" cache metrics,
+ * and calls answered by another caller's in-flight verification as "token.verification.coalesced".
+ */
+@Component
+@Slf4j
+public class TokenVerificationCache {
+
+    private record Verification(boolean valid, Duration timeToLive) {
+    }
+
+    private final Cache<String, Verification> cache;
+    private final Map<String, CompletableFuture<Boolean>> inFlight = new ConcurrentHashMap<>();
+    private final Counter coalescedCounter;
+    private final boolean enabled;
+    private final Duration maxTimeToLive;
+    private final Duration negativeTimeToLive;
+
+    public TokenVerificationCache(
+            @Value("${app.auth.token-cache.enabled:true}") boolean enabled,
+            @Value("${app.auth.token-cache.maximum-size:10000}") long maximumSize,
+            @Value("${app.auth.token-cache.max-ttl:5m}") Duration maxTimeToLive,
+            @Value("${app.auth.token-cache.negative-ttl:30s}") Duration negativeTimeToLive,
+            MeterRegistry meterRegistry) {
+        this.enabled = enabled;
+        this.maxTimeToLive = maxTimeToLive;
+        this.negativeTimeToLive = negativeTimeToLive;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfter(new Expiry<String, Verification>() {
+                    @Override
+                    public long expireAfterCreate(String key, Verification value, long currentTime) {
+                        return value.timeToLive().toNanos();
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String key, Verification value, long currentTime,
+                                                  long currentDuration) {
+                        return value.timeToLive().toNanos();
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, Verification value, long currentTime,
+                                                long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "token-verification");
+        this.coalescedCounter = Counter.builder("token.verification.coalesced")
+                .description("Token verifications answered by a concurrent in-flight verification")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Returns the cached result for the token, or verifies it and caches the outcome.
+     *
+     * @param token The raw bearer token
+     * @param verifier Performs the actual verification; completes empty when no answer
+     *                 could be obtained (e.g. Supabase unreachable), which is never cached
+     * @return true if the token is valid, false otherwise
+     */
+    public Mono<Boolean> verify(String token, Function<String, Mono<Boolean>> verifier) {
+        return Mono.defer(() -> {
+            String key = Hashing.sha256().hashString(token, StandardCharsets.UTF_8).toString();
+
+            if (enabled) {
+                Verification cached = cache.getIfPresent(key);
+                if (cached != null) {
+                    return Mono.just(cached.valid());
+                }
+            }
+
+            return join(key, token, verifier, true);
+        });
+    }
+
+    // Verifies the token, or waits for the verification of the same token already in flight
+    private Mono<Boolean> join(String key, String token, Function<String, Mono<Boolean>> verifier, boolean retry) {
+        // The cache is checked again inside the atomic step: a verification that completes
+        // between the lookup in verify and this point has already cached its result. A call
+        // that has completed but is not removed yet is replaced, so a retry never joins it.
+        CompletableFuture<Boolean> created = new CompletableFuture<>();
+        CompletableFuture<Boolean> call = inFlight.compute(key, (k, current) -> {
+            if (current != null && !current.isDone()) {
+                return current;
+            }
+            return enabled && cache.getIfPresent(k) != null ? null : created;
+        });
+        if (call == null) {
+            Verification cached = cache.getIfPresent(key);
+            if (cached != null) {
+                return Mono.just(cached.valid());
+            }
+            return lead(key, token, created, verifier);
+        }
+        if (call != created) {
+            coalescedCounter.increment();
+            Mono<Boolean> answer = Mono.fromFuture(call, true).onErrorResume(e -> Mono.empty());
+            if (retry) {
+                // A leader that failed or was cancelled gives no answer; the waiters share one retry
+                answer = answer.switchIfEmpty(Mono.defer(() -> join(key, token, verifier, false)));
+            }
+            return answer.defaultIfEmpty(false);
+        }
+        return lead(key, token, call, verifier);
+    }
+
+    private Mono<Boolean> lead(String key, String token, CompletableFuture<Boolean> call,
+                               Function<String, Mono<Boolean>> verifier) {
+        return verifier.apply(token)
+                .doOnSuccess(valid -> {
+                    if (enabled && valid != null) {
+                        store(key, token, valid);
+                    }
+                    call.complete(valid);
+                })
+                .doOnError(call::completeExceptionally)
+                .doFinally(signal -> {
+                    // Removed only after the result is cached, so later callers find it there;
+                    // a cancelled call releases its waiters with "no answer"
+                    inFlight.remove(key, call);
+                    call.complete(null);
+                })
+                .map(Boolean.TRUE::equals)
+                .defaultIfEmpty(false);
+    }
+
+    private void store(String key, String token, boolean valid) {
+        Duration timeToLive = valid ? positiveTimeToLive(token) : negativeTimeToLive;
+        if (!timeToLive.isNegative() && !timeToLive.isZero()) {
+            cache.put(key, new Verification(valid, timeToLive));
+        }
+    }
+
+    private Duration positiveTimeToLive(String token) {
+        try {
+            Date expiresAt = JWTParser.parse(token).getJWTClaimsSet().getExpirationTime();
+            if (expiresAt == null) {
+                return maxTimeToLive;
+            }
+            Duration untilExpiry = Duration.between(Instant.now(), expiresAt.toInstant());
+            return untilExpiry.compareTo(maxTimeToLive) < 0 ? untilExpiry : maxTimeToLive;
+        } catch (ParseException e) {
+            log.debug("Token claims could not be read, not caching verification result");
+            return Duration.ZERO;
+        }
+    }
+}
@@ -1,15 +1,24 @@
 package com.ross.ese.taskmanager.service;
 
+import com.ross.ese.taskmanager.dto.CursorPageResponse;
 import com.ross.ese.taskmanager.dto.ProjectCreateRequest;
+import com.ross.ese.taskmanager.dto.ProjectDeletionJobResponse;
 import com.ross.ese.taskmanager.dto.ProjectResponse;
 import com.ross.ese.taskmanager.dto.ProjectUpdateRequest;
 
 import java.util.List;
+import java.util.Map;
 
 public interface ProjectService {
     List<ProjectResponse> getAllProjects();
+    CursorPageResponse<ProjectResponse> getProjectsPage(Long after, Integer limit);
     ProjectResponse getProjectById(Long id);
     ProjectResponse createProject(ProjectCreateRequest request);
     ProjectResponse updateProject(Long id, ProjectUpdateRequest request);
     void deleteProject(Long id);
+    ProjectDeletionJobResponse deleteProjectAsync(Long id);
+    ProjectDeletionJobResponse getDeletionJob(Long jobId);
+    Map<String, Object> getProjectFieldsById(Long id, String fields);
+    List<Map<String, Object>> getProjectFields(String fields);
+    CursorPageResponse<Map<String, Object>> getProjectFieldsPage(String fields, Long after, Integer limit);
 }
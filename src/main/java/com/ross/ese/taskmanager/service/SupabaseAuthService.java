@@ -1,5 +1,7 @@
 package com.ross.ese.taskmanager.service;
 
+import reactor.core.publisher.Mono;
+
 public interface SupabaseAuthService {
     /**
      * Registers a new user with Supabase Auth
@@ -27,4 +29,31 @@ public interface SupabaseAuthService {
      * @return true if valid, false otherwise
      */
     boolean verifyToken(String token);
-}
\ No newline at end of file
+
+    /**
+     * Registers a new user with Supabase Auth without blocking the calling thread
+     *
+     * @param email User's email
+     * @param password User's password
+     * @param username User's username
+     * @return JWT token if successful ("registered" if email confirmation is required), empty otherwise
+     */
+    Mono<String> signUpAsync(String email, String password, String username);
+
+    /**
+     * Authenticates a user with Supabase Auth without blocking the calling thread
+     *
+     * @param email User's email
+     * @param password User's password
+     * @return JWT token if successful, empty otherwise
+     */
+    Mono<String> signInAsync(String email, String password);
+
+    /**
+     * Verifies if a JWT token is valid without blocking the calling thread
+     *
+     * @param token JWT token to verify
+     * @return true if valid, false otherwise
+     */
+    Mono<Boolean> verifyTokenAsync(String token);
+}
@@ -1,11 +1,20 @@
 package com.ross.ese.taskmanager.service;
 
+import com.ross.ese.taskmanager.dto.CursorPageResponse;
+import com.ross.ese.taskmanager.dto.ExportFormat;
+import com.ross.ese.taskmanager.dto.TaskBatchUpdateRequest;
 import com.ross.ese.taskmanager.dto.TaskCreateRequest;
+import com.ross.ese.taskmanager.dto.TaskImportResult;
 import com.ross.ese.taskmanager.dto.TaskResponse;
+import com.ross.ese.taskmanager.dto.TaskSummaryResponse;
 import com.ross.ese.taskmanager.dto.TaskUpdateRequest;
 import com.ross.ese.taskmanager.model.TaskStatus;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.util.List;
+import java.util.Map;
 
 public interface TaskService {
     List<TaskResponse> getAllTasks();
@@ -13,6 +22,24 @@ public interface TaskService {
     TaskResponse createTask(TaskCreateRequest request);
     TaskResponse updateTask(Long id, TaskUpdateRequest request);
     void deleteTask(Long id);
+    List<TaskResponse> createTasks(List<TaskCreateRequest> requests);
+    List<TaskResponse> updateTasks(List<TaskBatchUpdateRequest.Item> requests);
+    void deleteTasks(List<Long> ids);
     List<TaskResponse> getTasksByProject(Long projectId);
     List<TaskResponse> getTasksByStatus(TaskStatus status);
+    CursorPageResponse<TaskResponse> getTasksPage(Long after, Integer limit);
+    CursorPageResponse<TaskResponse> getTasksByProjectPage(Long projectId, Long after, Integer limit);
+    CursorPageResponse<TaskResponse> getTasksByStatusPage(TaskStatus status, Long after, Integer limit);
+    List<TaskSummaryResponse> getAllTaskSummaries();
+    List<TaskSummaryResponse> getTaskSummariesByProject(Long projectId);
+    List<TaskSummaryResponse> getTaskSummariesByStatus(TaskStatus status);
+    CursorPageResponse<TaskSummaryResponse> getTaskSummariesPage(Long after, Integer limit);
+    CursorPageResponse<TaskSummaryResponse> getTaskSummariesByProjectPage(Long projectId, Long after, Integer limit);
+    CursorPageResponse<TaskSummaryResponse> getTaskSummariesByStatusPage(TaskStatus status, Long after, Integer limit);
+    Map<String, Object> getTaskFieldsById(Long id, String fields);
+    List<Map<String, Object>> getTaskFields(String fields, Long projectId, TaskStatus status);
+    CursorPageResponse<Map<String, Object>> getTaskFieldsPage(String fields, Long projectId, TaskStatus status,
+                                                              Long after, Integer limit);
+    long exportTasksByProject(Long projectId, ExportFormat format, OutputStream out) throws IOException;
+    TaskImportResult importTasks(ExportFormat format, InputStream in) throws IOException;
 }
\ No newline at end of file
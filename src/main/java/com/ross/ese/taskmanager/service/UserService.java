@@ -0,0 +1,16 @@
+package com.ross.ese.taskmanager.service;
+
+import com.ross.ese.taskmanager.dto.UserAccount;
+
+import java.util.Optional;
+
+public interface UserService {
+    /**
+     * Looks up a local user and its roles by email. The email is the identifier
+     * Supabase has verified, unlike the user-editable metadata username.
+     *
+     * @param email The email to search for
+     * @return The user account, or empty if there is no local user with that email
+     */
+    Optional<UserAccount> findAccountByEmail(String email);
+}
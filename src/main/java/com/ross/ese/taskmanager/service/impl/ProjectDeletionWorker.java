@@ -0,0 +1,200 @@
+package com.ross.ese.taskmanager.service.impl;
+
+import com.ross.ese.taskmanager.model.DeletionJobStatus;
+import com.ross.ese.taskmanager.model.ProjectDeletionJob;
+import com.ross.ese.taskmanager.repository.ProjectDeletionJobRepository;
+import com.ross.ese.taskmanager.repository.ProjectRepository;
+import com.ross.ese.taskmanager.repository.ProjectTaskCountsRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs project deletion jobs in the background.
+ * <p>
+ * The project was already marked as deleting (and is hidden from reads) when its job
+ * was created. The worker purges the tasks with {@link ProjectTaskPurger}, one chunk
+ * per transaction, adding each chunk to the job's progress in the same transaction,
+ * then deletes the project and its counters and completes the job.
+ * <p>
+ * A job runs on one node at a time: the worker claims it with a conditional update
+ * that succeeds only for a job that was never claimed or whose lease has expired, and
+ * renews the lease in the transaction of every chunk. A chunk, and the final delete
+ * of the project, only commit while the worker still holds the lease.
+ * <p>
+ * Jobs whose lease expired, because their node stopped or a restart interrupted them,
+ * are picked up again every app.project-delete.resume-interval; the lease lasts
+ * app.project-delete.lease. Purging is idempotent, so a job resumed after a partial
+ * run continues where it stopped.
+ */
+@Component
+@Slf4j
+public class ProjectDeletionWorker implements DisposableBean {
+
+    private static final Set<DeletionJobStatus> UNFINISHED = EnumSet.of(DeletionJobStatus.PENDING, DeletionJobStatus.RUNNING);
+
+    private final ProjectDeletionJobRepository jobRepository;
+    private final ProjectRepository projectRepository;
+    private final ProjectTaskCountsRepository projectTaskCountsRepository;
+    private final ProjectTaskPurger projectTaskPurger;
+    private final TransactionTemplate transactionTemplate;
+    private final ExecutorService executor;
+    private final Duration lease;
+    private final String owner = UUID.randomUUID().toString();
+    private final Set<Long> inProgress = ConcurrentHashMap.newKeySet();
+
+    public ProjectDeletionWorker(ProjectDeletionJobRepository jobRepository,
+                                 ProjectRepository projectRepository,
+                                 ProjectTaskCountsRepository projectTaskCountsRepository,
+                                 ProjectTaskPurger projectTaskPurger,
+                                 PlatformTransactionManager transactionManager,
+                                 @Value("${app.project-delete.worker-threads:1}") int threads,
+                                 @Value("${app.project-delete.lease:PT2M}") Duration lease) {
+        this.jobRepository = jobRepository;
+        this.projectRepository = projectRepository;
+        this.projectTaskCountsRepository = projectTaskCountsRepository;
+        this.projectTaskPurger = projectTaskPurger;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.lease = lease;
+
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "project-deletion-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Starts a job once the current transaction, which created it, has committed.
+     */
+    public void submit(Long jobId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    start(jobId);
+                }
+            });
+        } else {
+            start(jobId);
+        }
+    }
+
+    /**
+     * Resubmits the unfinished jobs whose lease has expired.
+     */
+    @Scheduled(fixedDelayString = "${app.project-delete.resume-interval:PT1M}",
+            initialDelayString = "${app.project-delete.resume-interval:PT1M}")
+    public void resumeUnfinished() {
+        for (ProjectDeletionJob job : jobRepository.findExpired(UNFINISHED, LocalDateTime.now().minus(lease))) {
+            if (!inProgress.contains(job.getId())) {
+                log.info("Resuming deletion job {} of project id: {}", job.getId(), job.getProjectId());
+                start(job.getId());
+            }
+        }
+    }
+
+    private void start(Long jobId) {
+        if (inProgress.add(jobId)) {
+            executor.execute(() -> {
+                try {
+                    run(jobId);
+                } finally {
+                    inProgress.remove(jobId);
+                }
+            });
+        }
+    }
+
+    void run(Long jobId) {
+        LocalDateTime now = LocalDateTime.now();
+        if (jobRepository.claim(jobId, owner, now, now.minus(lease), UNFINISHED) == 0) {
+            log.debug("Deletion job {} is finished or running on another node", jobId);
+            return;
+        }
+        Long projectId = jobRepository.findById(jobId).map(ProjectDeletionJob::getProjectId).orElse(null);
+        if (projectId == null) {
+            return;
+        }
+
+        try {
+            int deleted;
+            do {
+                deleted = purgeChunk(jobId, projectId);
+            } while (deleted > 0);
+
+            boolean completed = deleted == 0 && Boolean.TRUE.equals(transactionTemplate.execute(status -> {
+                // Tasks added to the project after the last chunk, usually none
+                long purged = projectTaskPurger.purge(projectId);
+                if (jobRepository.renewLease(jobId, owner, purged, LocalDateTime.now()) == 0) {
+                    status.setRollbackOnly();
+                    return false;
+                }
+                projectRepository.deleteById(projectId);
+                projectTaskCountsRepository.deleteById(projectId);
+                finish(jobId, DeletionJobStatus.COMPLETED, null);
+                return true;
+            }));
+            if (completed) {
+                log.info("Deletion job {} of project id: {} completed", jobId, projectId);
+            } else {
+                log.warn("Deletion job {} of project id: {} was taken over by another node", jobId, projectId);
+            }
+        } catch (RuntimeException e) {
+            log.error("Deletion job {} of project id: {} failed: {}", jobId, projectId, e.getMessage(), e);
+            transactionTemplate.executeWithoutResult(status -> finish(jobId, DeletionJobStatus.FAILED,
+                    String.valueOf(e.getMessage())));
+        }
+    }
+
+    /**
+     * Deletes the next chunk. The chunk, its progress and the renewed lease commit
+     * together; the chunk is rolled back if another node has taken the job over.
+     *
+     * @return The number of tasks deleted, or -1 if the lease was lost
+     */
+    private int purgeChunk(Long jobId, Long projectId) {
+        Integer deleted = transactionTemplate.execute(status -> {
+            int chunk = projectTaskPurger.purgeChunk(projectId);
+            if (jobRepository.renewLease(jobId, owner, chunk, LocalDateTime.now()) == 0) {
+                status.setRollbackOnly();
+                return -1;
+            }
+            return chunk;
+        });
+        return deleted != null ? deleted : 0;
+    }
+
+    // Only the worker holding the lease records the outcome
+    private void finish(Long jobId, DeletionJobStatus status, String error) {
+        jobRepository.findById(jobId)
+                .filter(job -> owner.equals(job.getOwner()))
+                .ifPresent(job -> {
+                    job.setStatus(status);
+                    job.setFinishedAt(LocalDateTime.now());
+                    job.setError(error != null && error.length() > 500 ? error.substring(0, 500) : error);
+                });
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+}
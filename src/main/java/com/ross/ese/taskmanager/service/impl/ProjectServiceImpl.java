@@ -1,26 +1,47 @@
 package com.ross.ese.taskmanager.service.impl;
 
+import com.ross.ese.taskmanager.cache.CacheRefresher;
+import com.ross.ese.taskmanager.cache.TaskCacheGenerations;
+import com.ross.ese.taskmanager.config.PaginationProperties;
+import com.ross.ese.taskmanager.dto.CursorPageResponse;
+import com.ross.ese.taskmanager.dto.FieldSelection;
 import com.ross.ese.taskmanager.dto.ProjectCreateRequest;
+import com.ross.ese.taskmanager.dto.ProjectDeletionJobResponse;
 import com.ross.ese.taskmanager.dto.ProjectResponse;
 import com.ross.ese.taskmanager.dto.ProjectUpdateRequest;
+import com.ross.ese.taskmanager.model.DeletionJobStatus;
 import com.ross.ese.taskmanager.model.Project;
-import com.ross.ese.taskmanager.model.Task;
+import com.ross.ese.taskmanager.model.ProjectDeletionJob;
+import com.ross.ese.taskmanager.model.ProjectTaskCounts;
+import com.ross.ese.taskmanager.model.TaskStatus;
+import com.ross.ese.taskmanager.repository.ProjectDeletionJobRepository;
+import com.ross.ese.taskmanager.repository.ProjectFieldsRepository;
 import com.ross.ese.taskmanager.repository.ProjectRepository;
-import com.ross.ese.taskmanager.repository.TaskRepository;
+import com.ross.ese.taskmanager.repository.ProjectTaskCountsRepository;
 import com.ross.ese.taskmanager.service.ProjectService;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.cache.annotation.Caching;
+import org.springframework.data.domain.Limit;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.server.ResponseStatusException;
 
 import java.time.LocalDateTime;
+import java.util.EnumSet;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
 
 @Service
 @RequiredArgsConstructor
@@ -29,22 +50,77 @@ import java.util.stream.Collectors;
 public class ProjectServiceImpl implements ProjectService {
     
     private final ProjectRepository projectRepository;
-    private final TaskRepository taskRepository;
+    private final ProjectTaskCountsRepository projectTaskCountsRepository;
+    private final TaskCacheGenerations taskCacheGenerations;
+    private final CacheRefresher cacheRefresher;
+    private final PaginationProperties paginationProperties;
+    private final ProjectTaskPurger projectTaskPurger;
+    private final ProjectDeletionJobRepository projectDeletionJobRepository;
+    private final ProjectDeletionWorker projectDeletionWorker;
+    private final PlatformTransactionManager transactionManager;
+
+    @PostConstruct
+    void registerCacheReloaders() {
+        // Only the project list is refreshed ahead; single projects are cheap to reload on expiry
+        cacheRefresher.register("projects", key -> "all".equals(key) ? this::loadAllProjects : null);
+    }
     
     @Override
-    @Cacheable(value = "projects", key = "'all'")
+    @Cacheable(value = "projects", key = "'all'", sync = true)
     public List<ProjectResponse> getAllProjects() {
         log.debug("Fetching all projects");
-        return projectRepository.findAll().stream()
-                .map(this::convertToProjectResponse)
-                .collect(Collectors.toList());
+        return loadAllProjects();
+    }
+    
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageResponse<ProjectResponse> getProjectsPage(Long after, Integer limit) {
+        int pageSize = paginationProperties.resolveLimit(limit);
+        log.debug("Fetching {} projects after id: {}", pageSize, after);
+        List<ProjectResponse> rows = projectRepository.findPageWithTaskCounts(
+                after != null ? after : 0L, Limit.of(pageSize + 1));
+        return CursorPageResponse.of(rows, pageSize, ProjectResponse::getId, Function.identity());
+    }
+    
+    // Sparse fieldsets select only the requested columns and are not cached
+    @Override
+    @Transactional(readOnly = true)
+    public Map<String, Object> getProjectFieldsById(Long id, String fields) {
+        FieldSelection selection = FieldSelection.parse(fields, ProjectFieldsRepository.FIELDS);
+        log.debug("Fetching fields {} of project with id: {}", selection.fields(), id);
+        return projectRepository.findFieldsById(id, selection)
+                .map(selection::values)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND,
+                    "Project not found with id: " + id));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<Map<String, Object>> getProjectFields(String fields) {
+        FieldSelection selection = FieldSelection.parse(fields, ProjectFieldsRepository.FIELDS);
+        log.debug("Fetching fields {} of all projects", selection.fields());
+        return projectRepository.findFields(selection, null, paginationProperties.unpagedLimit()).stream()
+                .map(selection::values)
+                .toList();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageResponse<Map<String, Object>> getProjectFieldsPage(String fields, Long after, Integer limit) {
+        FieldSelection selection = FieldSelection.parse(fields, ProjectFieldsRepository.FIELDS);
+        int pageSize = paginationProperties.resolveLimit(limit);
+        log.debug("Fetching fields {} of {} projects after id: {}", selection.fields(), pageSize, after);
+        List<Map<String, Object>> rows = projectRepository.findFields(
+                selection, after != null ? after : 0L, Limit.of(pageSize + 1));
+        return CursorPageResponse.of(rows, pageSize, row -> (Long) row.get("id"),
+                selection::values);
     }
     
     @Override
-    @Cacheable(value = "projects", key = "#id")
+    @Cacheable(value = "projects", key = "#id", sync = true)
     public ProjectResponse getProjectById(Long id) {
         log.debug("Fetching project with id: {}", id);
-        return projectRepository.findById(id)
+        return projectRepository.findActiveById(id)
                 .map(this::convertToProjectResponse)
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, 
                     "Project not found with id: " + id));
@@ -60,8 +136,9 @@ public class ProjectServiceImpl implements ProjectService {
         project.setCreatedAt(LocalDateTime.now());
         
         Project savedProject = projectRepository.save(project);
+        ProjectTaskCounts counts = projectTaskCountsRepository.save(new ProjectTaskCounts(savedProject.getId()));
         log.info("Project created successfully with id: {}", savedProject.getId());
-        return convertToProjectResponse(savedProject);
+        return convertToProjectResponse(savedProject, counts);
     }
     
     @Override
@@ -71,12 +148,14 @@ public class ProjectServiceImpl implements ProjectService {
     })
     public ProjectResponse updateProject(Long id, ProjectUpdateRequest request) {
         log.debug("Updating project with id: {}", id);
-        Project existingProject = projectRepository.findById(id)
+        Project existingProject = projectRepository.findActiveById(id)
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, 
                     "Project not found with id: " + id));
         
-        if (request.getName() != null) {
+        if (request.getName() != null && !request.getName().equals(existingProject.getName())) {
             existingProject.setName(request.getName());
+            // Cached tasks carry the project name
+            taskCacheGenerations.invalidateAll();
         }
         if (request.getDescription() != null) {
             existingProject.setDescription(request.getDescription());
@@ -87,39 +166,137 @@ public class ProjectServiceImpl implements ProjectService {
         return convertToProjectResponse(updatedProject);
     }
     
+    // Not atomic: the project is hidden first, then its tasks are deleted in chunks, each
+    // committed on its own. If a chunk fails the project stays hidden with part of its tasks,
+    // and deleting it with async=true finishes the deletion.
     @Override
-    @Transactional
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     @Caching(evict = {
+        @CacheEvict(value = "projects", key = "#id", beforeInvocation = true),
+        @CacheEvict(value = "projects", key = "'all'", beforeInvocation = true),
         @CacheEvict(value = "projects", key = "#id"),
-        @CacheEvict(value = "projects", key = "'all'"),
-        @CacheEvict(value = "tasks", key = "'all'"),
-        @CacheEvict(value = "tasks", key = "'project-' + #id")
+        @CacheEvict(value = "projects", key = "'all'")
     })
     public void deleteProject(Long id) {
         log.debug("Deleting project with id: {}", id);
-        Project project = projectRepository.findById(id)
-                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, 
-                    "Project not found with id: " + id));
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.executeWithoutResult(status -> {
+            Project project = projectRepository.findForUpdate(id)
+                    .filter(found -> !found.isDeleting())
+                    .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, 
+                        "Project not found with id: " + id));
+            // Hidden from reads from now on, also if the purge below fails
+            project.setDeleting(true);
+            projectRepository.save(project);
+        });
+        invalidateTaskLists(id);
         
         // Delete all tasks associated with the project before deleting it
-        List<Task> projectTasks = taskRepository.findByProjectId(id);
-        if (!projectTasks.isEmpty()) {
-            log.info("Deleting {} tasks associated with project id: {}", projectTasks.size(), id);
-            taskRepository.deleteAll(projectTasks);
-        }
+        projectTaskPurger.purge(id);
         
-        projectRepository.delete(project);
+        transactionTemplate.executeWithoutResult(status -> {
+            // Tasks added to the project while the chunks were deleted, usually none
+            projectTaskPurger.purge(id);
+            projectRepository.deleteById(id);
+            projectTaskCountsRepository.deleteById(id);
+        });
         log.info("Project deleted successfully with id: {}", id);
     }
+
+    @Override
+    @Caching(evict = {
+        @CacheEvict(value = "projects", key = "#id"),
+        @CacheEvict(value = "projects", key = "'all'")
+    })
+    public ProjectDeletionJobResponse deleteProjectAsync(Long id) {
+        log.debug("Scheduling deletion of project with id: {}", id);
+        // Locked, so concurrent requests for the project see each other's flag and job
+        Project project = projectRepository.findForUpdate(id)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, 
+                    "Project not found with id: " + id));
+        if (project.isDeleting()) {
+            // Already scheduled: the same job is returned
+            Optional<ProjectDeletionJob> scheduled = projectDeletionJobRepository.findFirstByProjectIdAndStatusInOrderByIdDesc(
+                    id, EnumSet.of(DeletionJobStatus.PENDING, DeletionJobStatus.RUNNING));
+            if (scheduled.isPresent()) {
+                return convertToJobResponse(scheduled.get());
+            }
+            // Left hidden by a deletion that failed: a new job finishes it
+            log.info("Resuming the deletion of project id: {}", id);
+        } else {
+            // Hidden from reads from now on
+            project.setDeleting(true);
+            projectRepository.save(project);
+            invalidateTaskLists(id);
+        }
+        long tasks = projectTaskCountsRepository.findById(id).map(ProjectTaskCounts::getTotal).orElse(0);
+        ProjectDeletionJob job = projectDeletionJobRepository.save(new ProjectDeletionJob(id, tasks));
+        projectDeletionWorker.submit(job.getId());
+        log.info("Deletion job {} created for project id: {} with {} tasks", job.getId(), id, tasks);
+        return convertToJobResponse(job);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public ProjectDeletionJobResponse getDeletionJob(Long jobId) {
+        return projectDeletionJobRepository.findById(jobId)
+                .map(this::convertToJobResponse)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, 
+                    "Deletion job not found with id: " + jobId));
+    }
     
+    // Cached task lists still hold the tasks of a project that was just hidden; again
+    // after commit, so a list read by a concurrent request before the commit is not kept
+    private void invalidateTaskLists(Long projectId) {
+        Runnable invalidate = () -> {
+            taskCacheGenerations.invalidateAllTasksList();
+            taskCacheGenerations.invalidateProject(projectId);
+            for (TaskStatus status : TaskStatus.values()) {
+                taskCacheGenerations.invalidateStatus(status);
+            }
+        };
+        invalidate.run();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    invalidate.run();
+                }
+            });
+        }
+    }
+
+    // One query joining the maintained task counters instead of counting tasks per project
+    private List<ProjectResponse> loadAllProjects() {
+        return projectRepository.findAllWithTaskCounts(paginationProperties.unpagedLimit());
+    }
+
     private ProjectResponse convertToProjectResponse(Project project) {
-        Integer taskCount = taskRepository.countByProjectId(project.getId());
+        return convertToProjectResponse(project,
+                projectTaskCountsRepository.findById(project.getId()).orElse(null));
+    }
+
+    private ProjectDeletionJobResponse convertToJobResponse(ProjectDeletionJob job) {
+        return new ProjectDeletionJobResponse(
+                job.getId(),
+                job.getProjectId(),
+                job.getStatus(),
+                job.getTasksTotal(),
+                job.getTasksDeleted(),
+                job.getCreatedAt(),
+                job.getStartedAt(),
+                job.getFinishedAt(),
+                job.getError()
+        );
+    }
+
+    private ProjectResponse convertToProjectResponse(Project project, ProjectTaskCounts counts) {
         return new ProjectResponse(
                 project.getId(),
                 project.getName(),
                 project.getDescription(),
                 project.getCreatedAt(),
-                taskCount != null ? taskCount : 0
+                counts
         );
     }
 }
@@ -0,0 +1,190 @@
+package com.ross.ese.taskmanager.service.impl;
+
+import com.ross.ese.taskmanager.model.ProjectTaskCounts;
+import com.ross.ese.taskmanager.model.TaskStatus;
+import com.ross.ese.taskmanager.repository.JobLeaseRepository;
+import com.ross.ese.taskmanager.repository.ProjectRepository;
+import com.ross.ese.taskmanager.repository.ProjectTaskCountsRepository;
+import com.ross.ese.taskmanager.repository.TaskRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Repairs drift between the denormalized project task counters and the tasks table,
+ * e.g. after tasks were changed outside the application or for projects created
+ * before the counters existed.
+ * <p>
+ * Counts all tasks by project and status in one query, then fixes each project whose
+ * counters differ in its own short transaction: a missing counter row is created
+ * first, then the row is locked and the project's tasks are counted again, so a task
+ * write racing with the repair is neither lost nor counted twice.
+ * <p>
+ * Runs on one node at a time: a run first acquires the "project-task-counts" lease for
+ * app.project-counts.lease, and is skipped while another node holds it.
+ * <p>
+ * Also runs once at startup, before the cache warm-up and before the instance reports
+ * ready, so projects that existed before the counters were introduced do not report
+ * zero tasks until the first scheduled run.
+ */
+@Component
+@Slf4j
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class ProjectTaskCountsReconciler implements ApplicationRunner {
+
+    private static final String LEASE = "project-task-counts";
+
+    private final ProjectRepository projectRepository;
+    private final TaskRepository taskRepository;
+    private final ProjectTaskCountsRepository projectTaskCountsRepository;
+    private final JobLeaseRepository jobLeaseRepository;
+    private final CacheManager cacheManager;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean onStartup;
+    private final Duration lease;
+    private final String owner = UUID.randomUUID().toString();
+
+    public ProjectTaskCountsReconciler(ProjectRepository projectRepository,
+                                       TaskRepository taskRepository,
+                                       ProjectTaskCountsRepository projectTaskCountsRepository,
+                                       JobLeaseRepository jobLeaseRepository,
+                                       CacheManager cacheManager,
+                                       PlatformTransactionManager transactionManager,
+                                       @Value("${app.project-counts.reconcile-on-startup:true}") boolean onStartup,
+                                       @Value("${app.project-counts.lease:PT10M}") Duration lease) {
+        this.projectRepository = projectRepository;
+        this.taskRepository = taskRepository;
+        this.projectTaskCountsRepository = projectTaskCountsRepository;
+        this.jobLeaseRepository = jobLeaseRepository;
+        this.cacheManager = cacheManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.onStartup = onStartup;
+        this.lease = lease;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (onStartup) {
+            long start = System.nanoTime();
+            int repaired = reconcile();
+            log.info("Task counters checked at startup in {} ms, {} repaired",
+                    (System.nanoTime() - start) / 1_000_000, repaired);
+        }
+    }
+
+    /**
+     * Compares every project's counters with its tasks and repairs the ones that differ.
+     *
+     * @return The number of projects whose counters were repaired, 0 if another node runs the repair
+     */
+    @Scheduled(cron = "${app.project-counts.reconcile-cron:0 */15 * * * *}")
+    public int reconcile() {
+        if (!acquireLease()) {
+            log.debug("Task counters are being reconciled on another node");
+            return 0;
+        }
+        Map<Long, ProjectTaskCounts> actual = new HashMap<>();
+        for (TaskRepository.StatusCount count : taskRepository.countByProjectAndStatus()) {
+            add(actual.computeIfAbsent(count.getProjectId(), ProjectTaskCounts::new), count);
+        }
+        Map<Long, ProjectTaskCounts> stored = projectTaskCountsRepository.findAll().stream()
+                .collect(Collectors.toMap(ProjectTaskCounts::getProjectId, Function.identity()));
+
+        Set<Long> drifted = new LinkedHashSet<>();
+        for (Long projectId : projectRepository.findAllIds()) {
+            ProjectTaskCounts expected = actual.getOrDefault(projectId, new ProjectTaskCounts(projectId));
+            if (!sameCounts(expected, stored.remove(projectId))) {
+                drifted.add(projectId);
+            }
+        }
+        // Counters left over from deleted projects
+        drifted.addAll(stored.keySet());
+
+        drifted.forEach(this::repair);
+        if (!drifted.isEmpty()) {
+            log.info("Repaired task counters of {} projects", drifted.size());
+            Cache projects = cacheManager.getCache("projects");
+            if (projects != null) {
+                projects.clear();
+            }
+        }
+        return drifted.size();
+    }
+
+    private boolean acquireLease() {
+        try {
+            jobLeaseRepository.insertIfMissing(LEASE);
+        } catch (DataIntegrityViolationException e) {
+            // Created by another node meanwhile
+        }
+        LocalDateTime now = LocalDateTime.now();
+        return jobLeaseRepository.acquire(LEASE, owner, now, now.plus(lease)) == 1;
+    }
+
+    private void repair(Long projectId) {
+        try {
+            // Committed on its own, so task writes update the row from now on and wait for its lock below
+            projectTaskCountsRepository.insertIfMissing(projectId);
+        } catch (DataIntegrityViolationException e) {
+            // Created by a concurrent repair
+        }
+        transactionTemplate.executeWithoutResult(status -> recount(projectId));
+    }
+
+    private void recount(Long projectId) {
+        ProjectTaskCounts counts = projectTaskCountsRepository.findForUpdate(projectId).orElse(null);
+        if (!projectRepository.existsById(projectId)) {
+            if (counts != null) {
+                projectTaskCountsRepository.delete(counts);
+            }
+            return;
+        }
+
+        ProjectTaskCounts recounted = new ProjectTaskCounts(projectId);
+        taskRepository.countByStatusForProject(projectId).forEach(count -> add(recounted, count));
+        log.debug("Task counters of project {}: stored {}, counted {}", projectId,
+                counts != null ? counts.getTotal() : null, recounted.getTotal());
+        if (counts == null) {
+            projectTaskCountsRepository.save(recounted);
+            return;
+        }
+        counts.setTotal(recounted.getTotal());
+        for (TaskStatus status : TaskStatus.values()) {
+            counts.set(status, recounted.get(status));
+        }
+    }
+
+    private static void add(ProjectTaskCounts counts, TaskRepository.StatusCount count) {
+        int value = Math.toIntExact(count.getCount());
+        counts.setTotal(counts.getTotal() + value);
+        if (count.getStatus() != null) {
+            counts.set(count.getStatus(), counts.get(count.getStatus()) + value);
+        }
+    }
+
+    private static boolean sameCounts(ProjectTaskCounts expected, ProjectTaskCounts stored) {
+        return stored != null
+                && expected.getTotal() == stored.getTotal()
+                && expected.byStatus().equals(stored.byStatus());
+    }
+}
@@ -0,0 +1,121 @@
+package com.ross.ese.taskmanager.service.impl;
+
+import com.ross.ese.taskmanager.cache.TaskCacheGenerations;
+import com.ross.ese.taskmanager.model.TaskStatus;
+import com.ross.ese.taskmanager.repository.TaskRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+/**
+ * Deletes the tasks of a project with set-based statements instead of loading and
+ * deleting every Task entity.
+ * <p>
+ * Tasks are deleted in chunks of app.project-delete.chunk-size: the ids of a chunk are
+ * read through the (project_id, id) index, then the chunk is deleted with one
+ * DELETE ... WHERE project_id = ? AND id &lt;= &lt;last id of the chunk&gt; statement. Each
+ * chunk runs in its own transaction when called outside one, so the row locks of a
+ * very large project are held for one chunk at a time.
+ * <p>
+ * Only the cache entries of the deleted tasks are evicted (their single task entries,
+ * the all tasks list, the project's lists and the status lists), so the cached tasks of
+ * other projects stay warm.
+ */
+@Component
+@Slf4j
+public class ProjectTaskPurger {
+
+    private final TaskRepository taskRepository;
+    private final TaskCacheGenerations taskCacheGenerations;
+    private final CacheManager cacheManager;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+
+    public ProjectTaskPurger(TaskRepository taskRepository,
+                             TaskCacheGenerations taskCacheGenerations,
+                             CacheManager cacheManager,
+                             PlatformTransactionManager transactionManager,
+                             @Value("${app.project-delete.chunk-size:5000}") int chunkSize) {
+        this.taskRepository = taskRepository;
+        this.taskCacheGenerations = taskCacheGenerations;
+        this.cacheManager = cacheManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Deletes all tasks of a project, one chunk per transaction (or all in the current
+     * transaction, if there is one).
+     *
+     * @return The number of tasks deleted
+     */
+    public long purge(Long projectId) {
+        long deleted = 0;
+        int chunk;
+        do {
+            chunk = purgeChunk(projectId);
+            deleted += chunk;
+        } while (chunk == chunkSize);
+        if (deleted > 0) {
+            log.info("Deleted {} tasks of project id: {}", deleted, projectId);
+        }
+        return deleted;
+    }
+
+    /**
+     * Deletes the next chunk of tasks of a project, joining the current transaction
+     * if there is one.
+     *
+     * @return The number of tasks deleted; less than the chunk size once none are left
+     */
+    public int purgeChunk(Long projectId) {
+        Integer deleted = transactionTemplate.execute(status -> {
+            List<Long> taskIds = taskRepository.findIdsByProjectId(projectId, Limit.of(chunkSize));
+            if (taskIds.isEmpty()) {
+                return 0;
+            }
+            int rows = taskRepository.deleteByProjectIdUpTo(projectId, taskIds.get(taskIds.size() - 1));
+            if (rows != taskIds.size()) {
+                // A task moved into the project meanwhile and was deleted without being evicted
+                taskCacheGenerations.invalidateAll();
+            }
+            evict(projectId, taskIds);
+            return rows;
+        });
+        log.debug("Deleted a chunk of {} tasks of project id: {}", deleted, projectId);
+        return deleted != null ? deleted : 0;
+    }
+
+    private void evict(Long projectId, List<Long> taskIds) {
+        taskCacheGenerations.invalidateAllTasksList();
+        taskCacheGenerations.invalidateProject(projectId);
+        for (TaskStatus status : TaskStatus.values()) {
+            taskCacheGenerations.invalidateStatus(status);
+        }
+
+        Cache tasks = cacheManager.getCache("tasks");
+        if (tasks == null) {
+            return;
+        }
+        // Again after commit, so a task read by a concurrent request before the commit is not kept
+        Runnable evictTasks = () -> taskIds.forEach(id -> tasks.evict(taskCacheGenerations.taskKey(id)));
+        evictTasks.run();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evictTasks.run();
+                }
+            });
+        }
+    }
+}
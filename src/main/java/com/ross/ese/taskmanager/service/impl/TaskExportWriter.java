@@ -0,0 +1,71 @@
+package com.ross.ese.taskmanager.service.impl;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.ross.ese.taskmanager.dto.ExportFormat;
+import com.ross.ese.taskmanager.dto.TaskResponse;
+
+import java.io.BufferedWriter;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+/**
+ * Writes exported tasks one row at a time, so that only the current row is held in
+ * memory. CSV follows RFC 4180: fields containing a separator, quote or line break
+ * are quoted, with quotes doubled.
+ */
+class TaskExportWriter implements Flushable {
+
+    static final List<String> CSV_COLUMNS = List.of(
+            "id", "title", "description", "status", "priority", "dueDate", "createdAt", "projectId", "projectName");
+
+    private final ExportFormat format;
+    private final Writer writer;
+    private final ObjectWriter json;
+
+    TaskExportWriter(ExportFormat format, OutputStream out, ObjectMapper objectMapper) throws IOException {
+        this.format = format;
+        this.writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        // Each row is written to the shared writer, which must stay open
+        this.json = objectMapper.writer().without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        if (format == ExportFormat.CSV) {
+            writer.write(String.join(",", CSV_COLUMNS));
+            writer.write("\r\n");
+        }
+    }
+
+    void write(TaskResponse task) throws IOException {
+        if (format == ExportFormat.NDJSON) {
+            json.writeValue(writer, task);
+            writer.write('\n');
+            return;
+        }
+        writer.write(Arrays.stream(new Object[]{task.getId(), task.getTitle(), task.getDescription(), task.getStatus(),
+                        task.getPriority(), task.getDueDate(), task.getCreatedAt(), task.getProjectId(), task.getProjectName()})
+                .map(TaskExportWriter::csvField)
+                .collect(Collectors.joining(",")));
+        writer.write("\r\n");
+    }
+
+    @Override
+    public void flush() throws IOException {
+        writer.flush();
+    }
+
+    private static String csvField(Object value) {
+        String field = Objects.toString(value, "");
+        if (field.indexOf(',') < 0 && field.indexOf('"') < 0 && field.indexOf('\n') < 0 && field.indexOf('\r') < 0) {
+            return field;
+        }
+        return '"' + field.replace("\"", "\"\"") + '"';
+    }
+}
@@ -0,0 +1,151 @@
+package com.ross.ese.taskmanager.service.impl;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.ross.ese.taskmanager.dto.ExportFormat;
+import com.ross.ese.taskmanager.dto.TaskCreateRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reads an import upload one record at a time, so that only the current record is
+ * held in memory. Records map to {@link TaskCreateRequest} by field or column name;
+ * other fields and columns, e.g. those of an export, are ignored. CSV follows
+ * RFC 4180 and needs a header row; quoted fields may contain line breaks.
+ */
+class TaskImportReader {
+
+    // Guards against an unterminated quote swallowing the rest of the upload
+    private static final int MAX_RECORD_LENGTH = 1 << 20;
+
+    /**
+     * A record of the upload: the request, or why it could not be read.
+     */
+    record Row(long number, TaskCreateRequest request, String error) {
+    }
+
+    private final ExportFormat format;
+    private final BufferedReader reader;
+    private final ObjectReader json;
+    private final ObjectMapper objectMapper;
+    private final List<String> columns;
+    private long number;
+
+    TaskImportReader(ExportFormat format, InputStream in, ObjectMapper objectMapper) throws IOException {
+        this.format = format;
+        this.reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        this.objectMapper = objectMapper;
+        this.json = objectMapper.readerFor(TaskCreateRequest.class)
+                .without(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+        this.columns = format == ExportFormat.CSV ? readHeader() : null;
+    }
+
+    /**
+     * @return The next record, or null at the end of the upload
+     */
+    Row next() throws IOException {
+        if (format == ExportFormat.NDJSON) {
+            String line;
+            do {
+                line = reader.readLine();
+                if (line == null) {
+                    return null;
+                }
+            } while (line.isBlank());
+            number++;
+            try {
+                return new Row(number, json.readValue(line), null);
+            } catch (JsonProcessingException e) {
+                return new Row(number, null, "Invalid JSON: " + e.getOriginalMessage());
+            }
+        }
+
+        List<String> fields;
+        do {
+            fields = readRecord();
+            if (fields == null) {
+                return null;
+            }
+        } while (fields.size() == 1 && fields.get(0).isEmpty());
+        number++;
+        if (fields.size() != columns.size()) {
+            return new Row(number, null, "Expected " + columns.size() + " fields but found " + fields.size());
+        }
+        Map<String, String> values = new HashMap<>();
+        for (int i = 0; i < fields.size(); i++) {
+            // Empty fields are missing values
+            if (!fields.get(i).isEmpty()) {
+                values.put(columns.get(i), fields.get(i));
+            }
+        }
+        try {
+            return new Row(number, json.readValue(objectMapper.<JsonNode>valueToTree(values)), null);
+        } catch (IOException | IllegalArgumentException e) {
+            return new Row(number, null, "Invalid value: " + e.getMessage().lines().findFirst().orElse(""));
+        }
+    }
+
+    private List<String> readHeader() throws IOException {
+        List<String> header = readRecord();
+        if (header == null) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "CSV upload has no header row");
+        }
+        return header.stream().map(String::trim).toList();
+    }
+
+    private List<String> readRecord() throws IOException {
+        int c = reader.read();
+        if (c == -1) {
+            return null;
+        }
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        int length = 0;
+        while (true) {
+            if (++length > MAX_RECORD_LENGTH) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                        "Record " + (number + 1) + " is longer than " + MAX_RECORD_LENGTH + " characters");
+            }
+            if (quoted) {
+                if (c == -1) {
+                    quoted = false;
+                    continue;
+                }
+                if (c == '"') {
+                    int next = reader.read();
+                    if (next != '"') {
+                        quoted = false;
+                        c = next;
+                        continue;
+                    }
+                }
+                field.append((char) c);
+            } else if (c == -1 || c == '\n') {
+                fields.add(field.toString());
+                return fields;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else if (c == '"' && field.isEmpty()) {
+                quoted = true;
+            } else if (c != '\r') {
+                field.append((char) c);
+            }
+            c = reader.read();
+        }
+    }
+}
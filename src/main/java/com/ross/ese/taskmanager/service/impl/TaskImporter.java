@@ -0,0 +1,305 @@
+package com.ross.ese.taskmanager.service.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ross.ese.taskmanager.cache.TaskCacheGenerations;
+import com.ross.ese.taskmanager.dto.ExportFormat;
+import com.ross.ese.taskmanager.dto.TaskCreateRequest;
+import com.ross.ese.taskmanager.dto.TaskImportResult;
+import com.ross.ese.taskmanager.model.Project;
+import com.ross.ese.taskmanager.model.Task;
+import com.ross.ese.taskmanager.model.TaskStatus;
+import com.ross.ese.taskmanager.repository.ProjectRepository;
+import com.ross.ese.taskmanager.repository.ProjectTaskCountsRepository;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.postgresql.PGConnection;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.StringReader;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Imports tasks from a CSV or NDJSON upload without holding it in memory.
+ * <p>
+ * Records are read one at a time and validated with the constraints of
+ * {@link TaskCreateRequest}; rows that fail, or name a project that does not exist,
+ * are reported and skipped. Valid rows are written in batches of
+ * app.task-import.batch-size, one transaction each: with PostgreSQL COPY, otherwise
+ * as a JDBC batch. Ids are taken from the task id sequence in blocks of its
+ * allocation size, as Hibernate's pooled optimizer does, so they never collide with
+ * ids handed out by the application. If a batch fails in the database, its rows are
+ * written again one by one, with the ids already allocated to them, to find the rows
+ * at fault.
+ * <p>
+ * Batches already written stay committed when the upload fails midway. The task list
+ * and project caches are invalidated once, when the import ends.
+ */
+@Component
+@Slf4j
+public class TaskImporter {
+
+    private static final String COPY = "COPY tasks (id, title, description, status, priority, due_date, created_at, "
+            + "project_id) FROM STDIN WITH (FORMAT csv)";
+    private static final String INSERT = "INSERT INTO tasks (id, title, description, status, priority, due_date, "
+            + "created_at, project_id) VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private record PendingTask(long row, TaskCreateRequest request) {
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ProjectRepository projectRepository;
+    private final ProjectTaskCountsRepository projectTaskCountsRepository;
+    private final TaskCacheGenerations taskCacheGenerations;
+    private final CacheManager cacheManager;
+    private final Validator validator;
+    private final ObjectMapper objectMapper;
+    private final EntityManagerFactory entityManagerFactory;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final int maxReportedErrors;
+
+    public TaskImporter(JdbcTemplate jdbcTemplate,
+                        ProjectRepository projectRepository,
+                        ProjectTaskCountsRepository projectTaskCountsRepository,
+                        TaskCacheGenerations taskCacheGenerations,
+                        CacheManager cacheManager,
+                        Validator validator,
+                        ObjectMapper objectMapper,
+                        EntityManagerFactory entityManagerFactory,
+                        PlatformTransactionManager transactionManager,
+                        @Value("${app.task-import.batch-size:1000}") int batchSize,
+                        @Value("${app.task-import.max-reported-errors:1000}") int maxReportedErrors) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.projectRepository = projectRepository;
+        this.projectTaskCountsRepository = projectTaskCountsRepository;
+        this.taskCacheGenerations = taskCacheGenerations;
+        this.cacheManager = cacheManager;
+        this.validator = validator;
+        this.objectMapper = objectMapper;
+        this.entityManagerFactory = entityManagerFactory;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.maxReportedErrors = maxReportedErrors;
+    }
+
+    /**
+     * Imports the tasks of an upload.
+     *
+     * @return How many rows were read, imported and rejected, with the row errors
+     */
+    public TaskImportResult importTasks(ExportFormat format, InputStream in) throws IOException {
+        TaskImportResult result = new TaskImportResult();
+        Set<Long> projectIds = new HashSet<>();
+        long start = System.nanoTime();
+        try {
+            TaskImportReader reader = new TaskImportReader(format, in, objectMapper);
+            List<PendingTask> batch = new ArrayList<>(batchSize);
+            for (TaskImportReader.Row row = reader.next(); row != null; row = reader.next()) {
+                result.setRowsRead(result.getRowsRead() + 1);
+                String error = row.error() != null ? row.error() : validate(row.request());
+                if (error != null) {
+                    reject(result, row.number(), error);
+                    continue;
+                }
+                batch.add(new PendingTask(row.number(), row.request()));
+                if (batch.size() == batchSize) {
+                    writeBatch(batch, result, projectIds);
+                    batch.clear();
+                }
+            }
+            if (!batch.isEmpty()) {
+                writeBatch(batch, result, projectIds);
+            }
+        } finally {
+            if (result.getImported() > 0) {
+                invalidateCaches(projectIds);
+            }
+            log.info("Imported {} of {} task rows in {} ms, {} rejected", result.getImported(), result.getRowsRead(),
+                    (System.nanoTime() - start) / 1_000_000, result.getFailed());
+        }
+        return result;
+    }
+
+    private String validate(TaskCreateRequest request) {
+        Set<ConstraintViolation<TaskCreateRequest>> violations = validator.validate(request);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                .sorted()
+                .collect(Collectors.joining("; "));
+    }
+
+    private void writeBatch(List<PendingTask> batch, TaskImportResult result, Set<Long> projectIds) {
+        Set<Long> activeProjects = activeProjects(batch);
+        List<PendingTask> tasks = new ArrayList<>(batch.size());
+        for (PendingTask task : batch) {
+            Long projectId = task.request().getProjectId();
+            if (projectId != null && !activeProjects.contains(projectId)) {
+                reject(result, task.row(), "Project not found with id: " + projectId);
+            } else {
+                tasks.add(task);
+            }
+        }
+        if (tasks.isEmpty()) {
+            return;
+        }
+
+        // Sequence values are not rolled back, so the ids stay unused if the batch fails
+        List<Long> ids = transactionTemplate.execute(status -> allocateIds(tasks.size()));
+        try {
+            transactionTemplate.executeWithoutResult(status -> insert(tasks, ids));
+            imported(result, projectIds, tasks);
+        } catch (RuntimeException e) {
+            log.debug("Import batch of {} rows failed, writing its rows one by one", tasks.size(), e);
+            for (int i = 0; i < tasks.size(); i++) {
+                PendingTask task = tasks.get(i);
+                List<Long> id = List.of(ids.get(i));
+                try {
+                    transactionTemplate.executeWithoutResult(status -> insert(List.of(task), id));
+                    imported(result, projectIds, List.of(task));
+                } catch (RuntimeException rowFailure) {
+                    reject(result, task.row(), NestedExceptionUtils.getMostSpecificCause(rowFailure).getMessage());
+                }
+            }
+        }
+    }
+
+    private Set<Long> activeProjects(List<PendingTask> batch) {
+        Set<Long> ids = batch.stream()
+                .map(task -> task.request().getProjectId())
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        if (ids.isEmpty()) {
+            return Set.of();
+        }
+        return projectRepository.findAllById(ids).stream()
+                .filter(project -> !project.isDeleting())
+                .map(Project::getId)
+                .collect(Collectors.toSet());
+    }
+
+    // Inserts the tasks with the given ids and counts them in their projects' counters, in the caller's transaction
+    private void insert(List<PendingTask> tasks, List<Long> ids) {
+        LocalDateTime now = LocalDateTime.now();
+        Boolean copied = jdbcTemplate.execute((ConnectionCallback<Boolean>) connection -> {
+            if (!connection.isWrapperFor(PGConnection.class)) {
+                return false;
+            }
+            StringBuilder csv = new StringBuilder(tasks.size() * 128);
+            for (int i = 0; i < tasks.size(); i++) {
+                appendCsvRow(csv, ids.get(i), tasks.get(i).request(), now);
+            }
+            try {
+                connection.unwrap(PGConnection.class).getCopyAPI().copyIn(COPY, new StringReader(csv.toString()));
+            } catch (IOException e) {
+                throw new IllegalStateException("COPY of imported tasks failed", e);
+            }
+            return true;
+        });
+        if (!Boolean.TRUE.equals(copied)) {
+            List<Object[]> rows = new ArrayList<>(tasks.size());
+            for (int i = 0; i < tasks.size(); i++) {
+                TaskCreateRequest request = tasks.get(i).request();
+                rows.add(new Object[]{ids.get(i), request.getTitle(), request.getDescription(), TaskStatus.TODO.name(),
+                        request.getPriority() != null ? request.getPriority().name() : null,
+                        request.getDueDate() != null ? Timestamp.valueOf(request.getDueDate()) : null,
+                        Timestamp.valueOf(now), request.getProjectId()});
+            }
+            jdbcTemplate.batchUpdate(INSERT, rows);
+        }
+
+        Map<Long, Integer> added = new HashMap<>();
+        tasks.stream()
+                .map(task -> task.request().getProjectId())
+                .filter(Objects::nonNull)
+                .forEach(projectId -> added.merge(projectId, 1, Integer::sum));
+        added.forEach((projectId, count) -> {
+            if (projectTaskCountsRepository.add(projectId, count, count, 0, 0, 0) == 0) {
+                log.warn("No task counters for project {}, left to reconciliation", projectId);
+            }
+        });
+    }
+
+    /**
+     * Takes ids from the task id sequence the way the pooled optimizer does: each value
+     * read reserves the block of allocation size ids ending at it.
+     */
+    private List<Long> allocateIds(int count) {
+        String nextValue = entityManagerFactory.unwrap(SessionFactoryImplementor.class).getJdbcServices().getDialect()
+                .getSequenceSupport().getSequenceNextValString(Task.ID_SEQUENCE);
+        List<Long> ids = new ArrayList<>(count);
+        while (ids.size() < count) {
+            long last = Objects.requireNonNull(jdbcTemplate.queryForObject(nextValue, Long.class));
+            for (long id = Math.max(last - Task.ID_ALLOCATION_SIZE + 1, 1); id <= last && ids.size() < count; id++) {
+                ids.add(id);
+            }
+        }
+        return ids;
+    }
+
+    // In COPY's CSV format an unquoted empty field is NULL, so every value is quoted
+    private static void appendCsvRow(StringBuilder csv, Long id, TaskCreateRequest request, LocalDateTime now) {
+        Object[] values = {id, request.getTitle(), request.getDescription(), TaskStatus.TODO, request.getPriority(),
+                request.getDueDate(), now, request.getProjectId()};
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                csv.append(',');
+            }
+            if (values[i] != null) {
+                csv.append('"').append(values[i].toString().replace("\"", "\"\"")).append('"');
+            }
+        }
+        csv.append('\n');
+    }
+
+    private static void imported(TaskImportResult result, Set<Long> projectIds, List<PendingTask> tasks) {
+        result.setImported(result.getImported() + tasks.size());
+        tasks.stream()
+                .map(task -> task.request().getProjectId())
+                .filter(Objects::nonNull)
+                .forEach(projectIds::add);
+    }
+
+    private void reject(TaskImportResult result, long row, String message) {
+        result.setFailed(result.getFailed() + 1);
+        if (result.getErrors().size() < maxReportedErrors) {
+            result.getErrors().add(new TaskImportResult.RowError(row, message));
+        }
+    }
+
+    private void invalidateCaches(Set<Long> projectIds) {
+        taskCacheGenerations.invalidateAllTasksList();
+        taskCacheGenerations.invalidateStatus(TaskStatus.TODO);
+        projectIds.forEach(taskCacheGenerations::invalidateProject);
+
+        Cache projects = cacheManager.getCache("projects");
+        if (projects != null) {
+            projectIds.forEach(projects::evict);
+            projects.evict("all");
+        }
+    }
+}
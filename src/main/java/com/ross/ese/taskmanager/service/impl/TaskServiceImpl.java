@@ -1,30 +1,61 @@
 package com.ross.ese.taskmanager.service.impl;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ross.ese.taskmanager.cache.CacheRefresher;
+import com.ross.ese.taskmanager.cache.TaskCacheGenerations;
+import com.ross.ese.taskmanager.cache.TaskListCacheUpdater;
+import com.ross.ese.taskmanager.config.PaginationProperties;
+import com.ross.ese.taskmanager.dto.CursorPageResponse;
+import com.ross.ese.taskmanager.dto.ExportFormat;
+import com.ross.ese.taskmanager.dto.FieldSelection;
+import com.ross.ese.taskmanager.dto.TaskBatchUpdateRequest;
 import com.ross.ese.taskmanager.dto.TaskCreateRequest;
+import com.ross.ese.taskmanager.dto.TaskImportResult;
 import com.ross.ese.taskmanager.dto.TaskResponse;
+import com.ross.ese.taskmanager.dto.TaskSummaryResponse;
 import com.ross.ese.taskmanager.dto.TaskUpdateRequest;
 import com.ross.ese.taskmanager.model.Project;
+import com.ross.ese.taskmanager.model.ProjectTaskCounts;
 import com.ross.ese.taskmanager.model.Task;
 import com.ross.ese.taskmanager.model.TaskStatus;
 import com.ross.ese.taskmanager.repository.ProjectRepository;
+import com.ross.ese.taskmanager.repository.ProjectTaskCountsRepository;
+import com.ross.ese.taskmanager.repository.TaskFieldsRepository;
 import com.ross.ese.taskmanager.repository.TaskRepository;
 import com.ross.ese.taskmanager.service.TaskService;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
+import org.springframework.cache.Cache;
 import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
-import org.springframework.cache.annotation.Caching;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.server.ResponseStatusException;
 import org.springframework.http.HttpStatus;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
@@ -34,105 +65,83 @@ public class TaskServiceImpl implements TaskService {
 
     private final TaskRepository taskRepository;
     private final ProjectRepository projectRepository;
+    private final ProjectTaskCountsRepository projectTaskCountsRepository;
     private final CacheManager cacheManager;
+    private final TaskListCacheUpdater taskListCacheUpdater;
+    private final TaskCacheGenerations taskCacheGenerations;
+    private final CacheRefresher cacheRefresher;
+    private final PaginationProperties paginationProperties;
+    private final ObjectMapper objectMapper;
+    private final TaskImporter taskImporter;
+
+    @PostConstruct
+    void registerCacheReloaders() {
+        cacheRefresher.register("tasks", this::taskListLoader);
+    }
 
     @Override
-    @Cacheable(value = "tasks", key = "'all'")
+    @Cacheable(value = "tasks", key = "@taskCacheGenerations.allKey()", sync = true)
     public List<TaskResponse> getAllTasks() {
         log.debug("Fetching all tasks");
-        return taskRepository.findAll().stream()
-                .map(this::convertToTaskResponse)
-                .collect(Collectors.toList());
+        return loadAllTasks();
     }
 
     @Override
-    @Cacheable(value = "tasks", key = "#id")
+    @Cacheable(value = "tasks", key = "@taskCacheGenerations.taskKey(#id)", sync = true)
     public TaskResponse getTaskById(Long id) {
         log.debug("Fetching task with id: {}", id);
         return taskRepository.findById(id)
+                // Hidden with its project while the project is deleted
+                .filter(task -> task.getProject() == null || !task.getProject().isDeleting())
                 .map(this::convertToTaskResponse)
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND,
                         "Task not found with id: " + id));
     }
 
     @Override
-    @Caching(evict = {
-            @CacheEvict(value = "tasks", key = "'all'"),
-            @CacheEvict(value = "tasks", key = "'project-' + #result.projectId", condition = "#result.projectId != null"),
-            @CacheEvict(value = "projects", key = "#result.projectId", condition = "#result.projectId != null"),
-            @CacheEvict(value = "projects", key = "'all'")
-    })
     public TaskResponse createTask(TaskCreateRequest request) {
         log.debug("Creating new task with title: {}", request.getTitle());
-        Task task = new Task();
-        task.setTitle(request.getTitle());
-        task.setDescription(request.getDescription());
-        task.setPriority(request.getPriority());
-        task.setDueDate(request.getDueDate());
-        task.setCreatedAt(LocalDateTime.now());
-        task.setStatus(TaskStatus.TODO); // Default status for new tasks
-
-        // Set project if provided
-        if (request.getProjectId() != null) {
-            projectRepository.findById(request.getProjectId())
-                    .ifPresentOrElse(
-                            task::setProject,
-                            () -> log.warn("Project with id {} not found when creating task", request.getProjectId()));
-        }
+        Task task = newTask(request, projectRepository::findActiveById);
 
         Task savedTask = taskRepository.save(task);
         log.info("Task created successfully with id: {}", savedTask.getId());
-        return convertToTaskResponse(savedTask);
+
+        TaskResponse response = convertToTaskResponse(savedTask);
+        adjustTaskCounts(response.getProjectId(), response.getStatus(), 1);
+        taskListCacheUpdater.taskSaved(response, null, null);
+        evictProjectCaches(response.getProjectId());
+        return response;
     }
 
     @Override
-    @Caching(evict = {
-            @CacheEvict(value = "tasks", key = "#id"),
-            @CacheEvict(value = "tasks", key = "'all'"),
-            @CacheEvict(value = "tasks", key = "'project-' + #result.projectId", condition = "#result.projectId != null"),
-            @CacheEvict(value = "projects", key = "#result.projectId", condition = "#result.projectId != null"),
-            @CacheEvict(value = "projects", key = "'all'")
-    })
+    @CacheEvict(value = "tasks", key = "@taskCacheGenerations.taskKey(#id)")
     public TaskResponse updateTask(Long id, TaskUpdateRequest request) {
         log.debug("Updating task with id: {}", id);
         Task existingTask = taskRepository.findById(id)
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND,
                         "Task not found with id: " + id));
-
-        // Update fields if provided
-        if (request.getTitle() != null) {
-            existingTask.setTitle(request.getTitle());
-        }
-        if (request.getDescription() != null) {
-            existingTask.setDescription(request.getDescription());
-        }
-        if (request.getStatus() != null) {
-            existingTask.setStatus(request.getStatus());
-        }
-        if (request.getPriority() != null) {
-            existingTask.setPriority(request.getPriority());
-        }
-        if (request.getDueDate() != null) {
-            existingTask.setDueDate(request.getDueDate());
-        }
-
-        // Update project if provided
-        if (request.getProjectId() != null) {
-            projectRepository.findById(request.getProjectId())
-                    .ifPresent(existingTask::setProject);
-        }
+        Long previousProjectId = projectIdOf(existingTask);
+        TaskStatus previousStatus = existingTask.getStatus();
+        applyUpdate(existingTask, request, projectRepository::findActiveById);
 
         Task updatedTask = taskRepository.save(existingTask);
         log.info("Task updated successfully with id: {}", updatedTask.getId());
-        return convertToTaskResponse(updatedTask);
+
+        // Only the lists the task was in before or is in now are affected
+        TaskResponse response = convertToTaskResponse(updatedTask);
+        taskListCacheUpdater.taskSaved(response, previousProjectId, previousStatus);
+        // Project task counts only change when the task moves between projects or changes status
+        if (!Objects.equals(previousProjectId, response.getProjectId()) || previousStatus != response.getStatus()) {
+            adjustTaskCounts(previousProjectId, previousStatus, -1);
+            adjustTaskCounts(response.getProjectId(), response.getStatus(), 1);
+            evictProjectCaches(previousProjectId);
+            evictProjectCaches(response.getProjectId());
+        }
+        return response;
     }
 
     @Override
-    @Caching(evict = {
-            @CacheEvict(value = "tasks", key = "#id"),
-            @CacheEvict(value = "tasks", key = "'all'"),
-            @CacheEvict(value = "projects", key = "'all'")
-    })
+    @CacheEvict(value = "tasks", key = "@taskCacheGenerations.taskKey(#id)")
     public void deleteTask(Long id) {
         log.debug("Deleting task with id: {}", id);
 
@@ -142,22 +151,14 @@ public class TaskServiceImpl implements TaskService {
                             "Task not found with id: " + id));
 
             // Extract project ID for cache eviction
-            Long projectId = Optional.ofNullable(task.getProject())
-                    .map(Project::getId)
-                    .orElse(null);
+            Long projectId = projectIdOf(task);
 
             taskRepository.deleteById(id);
+            adjustTaskCounts(projectId, task.getStatus(), -1);
+
+            taskListCacheUpdater.taskDeleted(id, projectId, task.getStatus());
+            evictProjectCaches(projectId);
 
-            if (projectId != null) {
-                log.debug("Evicting caches for project ID: {}", projectId);
-                if (cacheManager.getCache("tasks") != null) {
-                    cacheManager.getCache("tasks").evict("project-" + projectId);
-                }
-                if (cacheManager.getCache("projects") != null) {
-                    cacheManager.getCache("projects").evict(projectId);
-                }
-            }
-            
             log.info("Task deleted successfully with id: {}", id);
         } catch (Exception e) {
             log.error("Error deleting task with ID {}: {}", id, e.getMessage(), e);
@@ -166,21 +167,435 @@ public class TaskServiceImpl implements TaskService {
     }
 
     @Override
-    @Cacheable(value = "tasks", key = "'project-' + #projectId")
+    public List<TaskResponse> createTasks(List<TaskCreateRequest> requests) {
+        log.debug("Creating {} tasks", requests.size());
+        Map<Long, Project> projects = activeProjects(requests.stream().map(TaskCreateRequest::getProjectId));
+        List<Task> tasks = new ArrayList<>(requests.size());
+        for (TaskCreateRequest request : requests) {
+            tasks.add(newTask(request, projectId -> Optional.ofNullable(projects.get(projectId))));
+        }
+
+        // Ids come from the pooled sequence, so the inserts are sent as JDBC batches at flush
+        List<TaskResponse> responses = taskRepository.saveAll(tasks).stream()
+                .map(this::convertToTaskResponse)
+                .toList();
+
+        BatchChanges changes = new BatchChanges();
+        for (TaskResponse response : responses) {
+            changes.touched(response.getProjectId(), response.getStatus());
+            changes.count(response.getProjectId(), response.getStatus(), 1);
+        }
+        applyBatchChanges(changes);
+        log.info("{} tasks created", responses.size());
+        return responses;
+    }
+
+    @Override
+    public List<TaskResponse> updateTasks(List<TaskBatchUpdateRequest.Item> requests) {
+        log.debug("Updating {} tasks", requests.size());
+        List<Long> ids = requests.stream().map(TaskBatchUpdateRequest.Item::getId).toList();
+        if (new HashSet<>(ids).size() != ids.size()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Each task can only be updated once per batch");
+        }
+        Map<Long, Task> tasks = findAllTasks(ids);
+        Map<Long, Project> projects = activeProjects(requests.stream().map(TaskUpdateRequest::getProjectId));
+
+        BatchChanges changes = new BatchChanges();
+        List<TaskResponse> responses = new ArrayList<>(requests.size());
+        for (TaskBatchUpdateRequest.Item request : requests) {
+            Task task = tasks.get(request.getId());
+            Long previousProjectId = projectIdOf(task);
+            TaskStatus previousStatus = task.getStatus();
+            applyUpdate(task, request, projectId -> Optional.ofNullable(projects.get(projectId)));
+
+            TaskResponse response = convertToTaskResponse(task);
+            changes.taskIds.add(task.getId());
+            changes.touched(previousProjectId, previousStatus);
+            changes.touched(response.getProjectId(), response.getStatus());
+            if (!Objects.equals(previousProjectId, response.getProjectId()) || previousStatus != response.getStatus()) {
+                changes.count(previousProjectId, previousStatus, -1);
+                changes.count(response.getProjectId(), response.getStatus(), 1);
+            }
+            responses.add(response);
+        }
+        // Dirty tasks are flushed as batched updates, before the counter updates or at commit
+        applyBatchChanges(changes);
+        log.info("{} tasks updated", responses.size());
+        return responses;
+    }
+
+    @Override
+    public void deleteTasks(List<Long> ids) {
+        List<Long> distinctIds = ids.stream().distinct().toList();
+        log.debug("Deleting {} tasks", distinctIds.size());
+        Map<Long, Task> tasks = findAllTasks(distinctIds);
+
+        BatchChanges changes = new BatchChanges();
+        for (Task task : tasks.values()) {
+            Long projectId = projectIdOf(task);
+            changes.taskIds.add(task.getId());
+            changes.touched(projectId, task.getStatus());
+            changes.count(projectId, task.getStatus(), -1);
+        }
+        taskRepository.deleteAllByIdInBatch(distinctIds);
+        applyBatchChanges(changes);
+        log.info("{} tasks deleted", distinctIds.size());
+    }
+
+    @Override
+    @Cacheable(value = "tasks", key = "@taskCacheGenerations.projectKey(#projectId)", sync = true)
     public List<TaskResponse> getTasksByProject(Long projectId) {
         log.debug("Fetching tasks for project id: {}", projectId);
-        return taskRepository.findByProjectId(projectId).stream()
-                .map(this::convertToTaskResponse)
-                .collect(Collectors.toList());
+        return loadTasksByProject(projectId);
     }
 
     @Override
-    @Cacheable(value = "tasks", key = "'status-' + #status")
+    @Cacheable(value = "tasks", key = "@taskCacheGenerations.statusKey(#status)", sync = true)
     public List<TaskResponse> getTasksByStatus(TaskStatus status) {
         log.debug("Fetching tasks with status: {}", status);
-        return taskRepository.findByStatus(status).stream()
-                .map(this::convertToTaskResponse)
-                .collect(Collectors.toList());
+        return loadTasksByStatus(status);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageResponse<TaskResponse> getTasksPage(Long after, Integer limit) {
+        int pageSize = paginationProperties.resolveLimit(limit);
+        log.debug("Fetching {} tasks after id: {}", pageSize, after);
+        return toPage(taskRepository.findResponsePage(cursor(after), Limit.of(pageSize + 1)), pageSize);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageResponse<TaskResponse> getTasksByProjectPage(Long projectId, Long after, Integer limit) {
+        int pageSize = paginationProperties.resolveLimit(limit);
+        log.debug("Fetching {} tasks for project id: {} after id: {}", pageSize, projectId, after);
+        return toPage(taskRepository.findResponsePageByProjectId(
+                projectId, cursor(after), Limit.of(pageSize + 1)), pageSize);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageResponse<TaskResponse> getTasksByStatusPage(TaskStatus status, Long after, Integer limit) {
+        int pageSize = paginationProperties.resolveLimit(limit);
+        log.debug("Fetching {} tasks with status: {} after id: {}", pageSize, status, after);
+        return toPage(taskRepository.findResponsePageByStatus(
+                status, cursor(after), Limit.of(pageSize + 1)), pageSize);
+    }
+
+    @Override
+    @Cacheable(value = "tasks", key = "@taskCacheGenerations.allSummaryKey()", sync = true)
+    public List<TaskSummaryResponse> getAllTaskSummaries() {
+        log.debug("Fetching all task summaries");
+        return loadAllTaskSummaries();
+    }
+
+    @Override
+    @Cacheable(value = "tasks", key = "@taskCacheGenerations.projectSummaryKey(#projectId)", sync = true)
+    public List<TaskSummaryResponse> getTaskSummariesByProject(Long projectId) {
+        log.debug("Fetching task summaries for project id: {}", projectId);
+        return loadTaskSummariesByProject(projectId);
+    }
+
+    @Override
+    @Cacheable(value = "tasks", key = "@taskCacheGenerations.statusSummaryKey(#status)", sync = true)
+    public List<TaskSummaryResponse> getTaskSummariesByStatus(TaskStatus status) {
+        log.debug("Fetching task summaries with status: {}", status);
+        return loadTaskSummariesByStatus(status);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageResponse<TaskSummaryResponse> getTaskSummariesPage(Long after, Integer limit) {
+        int pageSize = paginationProperties.resolveLimit(limit);
+        log.debug("Fetching {} task summaries after id: {}", pageSize, after);
+        return toSummaryPage(taskRepository.findSummaryPage(cursor(after), Limit.of(pageSize + 1)), pageSize);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageResponse<TaskSummaryResponse> getTaskSummariesByProjectPage(Long projectId, Long after, Integer limit) {
+        int pageSize = paginationProperties.resolveLimit(limit);
+        log.debug("Fetching {} task summaries for project id: {} after id: {}", pageSize, projectId, after);
+        return toSummaryPage(taskRepository.findSummaryPageByProjectId(
+                projectId, cursor(after), Limit.of(pageSize + 1)), pageSize);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageResponse<TaskSummaryResponse> getTaskSummariesByStatusPage(TaskStatus status, Long after, Integer limit) {
+        int pageSize = paginationProperties.resolveLimit(limit);
+        log.debug("Fetching {} task summaries with status: {} after id: {}", pageSize, status, after);
+        return toSummaryPage(taskRepository.findSummaryPageByStatus(
+                status, cursor(after), Limit.of(pageSize + 1)), pageSize);
+    }
+
+    // Sparse fieldsets select only the requested columns and are not cached
+    @Override
+    @Transactional(readOnly = true)
+    public Map<String, Object> getTaskFieldsById(Long id, String fields) {
+        FieldSelection selection = FieldSelection.parse(fields, TaskFieldsRepository.FIELDS);
+        log.debug("Fetching fields {} of task with id: {}", selection.fields(), id);
+        return taskRepository.findFieldsById(id, selection)
+                .map(selection::values)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND,
+                        "Task not found with id: " + id));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<Map<String, Object>> getTaskFields(String fields, Long projectId, TaskStatus status) {
+        FieldSelection selection = FieldSelection.parse(fields, TaskFieldsRepository.FIELDS);
+        log.debug("Fetching fields {} of tasks for project id: {} with status: {}", selection.fields(), projectId, status);
+        return taskRepository.findFields(
+                        selection, projectId, status, null, paginationProperties.unpagedLimit()).stream()
+                .map(selection::values)
+                .toList();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageResponse<Map<String, Object>> getTaskFieldsPage(String fields, Long projectId, TaskStatus status,
+                                                                     Long after, Integer limit) {
+        FieldSelection selection = FieldSelection.parse(fields, TaskFieldsRepository.FIELDS);
+        int pageSize = paginationProperties.resolveLimit(limit);
+        log.debug("Fetching fields {} of {} tasks for project id: {} with status: {} after id: {}",
+                selection.fields(), pageSize, projectId, status, after);
+        List<Map<String, Object>> rows = taskRepository.findFields(
+                selection, projectId, status, cursor(after), Limit.of(pageSize + 1));
+        return CursorPageResponse.of(rows, pageSize, row -> (Long) row.get("id"), selection::values);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public long exportTasksByProject(Long projectId, ExportFormat format, OutputStream out) throws IOException {
+        log.debug("Exporting tasks of project {} as {}", projectId, format);
+        // Read straight from the database: the export must not fill the list caches
+        TaskExportWriter writer = new TaskExportWriter(format, out, objectMapper);
+        long count = 0;
+        try (Stream<TaskResponse> tasks = taskRepository.streamResponsesByProjectId(projectId)) {
+            for (Iterator<TaskResponse> iterator = tasks.iterator(); iterator.hasNext(); count++) {
+                writer.write(iterator.next());
+            }
+        }
+        writer.flush();
+        log.info("Exported {} tasks of project {}", count, projectId);
+        return count;
+    }
+
+    @Override
+    // Each batch commits on its own; an upload is not one transaction
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public TaskImportResult importTasks(ExportFormat format, InputStream in) throws IOException {
+        log.debug("Importing tasks as {}", format);
+        return taskImporter.importTasks(format, in);
+    }
+
+    private static CursorPageResponse<TaskResponse> toPage(List<TaskResponse> rows, int pageSize) {
+        return CursorPageResponse.of(rows, pageSize, TaskResponse::getId, Function.identity());
+    }
+
+    private static CursorPageResponse<TaskSummaryResponse> toSummaryPage(List<TaskSummaryResponse> rows, int pageSize) {
+        return CursorPageResponse.of(rows, pageSize, TaskSummaryResponse::getId, Function.identity());
+    }
+
+    // Ids are generated from 1, so no cursor means starting after 0
+    private static long cursor(Long after) {
+        return after != null ? after : 0L;
+    }
+
+    // Lists are selected as TaskResponse rows, without loading Task entities and their associations,
+    // and stop at app.pagination.max-unpaged rows
+    private List<TaskResponse> loadAllTasks() {
+        return taskRepository.findAllResponses(paginationProperties.unpagedLimit());
+    }
+
+    private List<TaskResponse> loadTasksByProject(Long projectId) {
+        return taskRepository.findResponsesByProjectId(projectId, paginationProperties.unpagedLimit());
+    }
+
+    private List<TaskResponse> loadTasksByStatus(TaskStatus status) {
+        return taskRepository.findResponsesByStatus(status, paginationProperties.unpagedLimit());
+    }
+
+    private List<TaskSummaryResponse> loadAllTaskSummaries() {
+        return taskRepository.findAllSummaries(paginationProperties.unpagedLimit());
+    }
+
+    private List<TaskSummaryResponse> loadTaskSummariesByProject(Long projectId) {
+        return taskRepository.findSummariesByProjectId(projectId, paginationProperties.unpagedLimit());
+    }
+
+    private List<TaskSummaryResponse> loadTaskSummariesByStatus(TaskStatus status) {
+        return taskRepository.findSummariesByStatus(status, paginationProperties.unpagedLimit());
+    }
+
+    // Reloads a cached task list in the background for refresh-ahead
+    private Callable<? extends List<?>> taskListLoader(Object key) {
+        TaskCacheGenerations.ListScope scope = taskCacheGenerations.listScopeOf(key);
+        if (scope == null) {
+            return null;
+        }
+        if (scope.summary()) {
+            if (scope.projectId() != null) {
+                return () -> loadTaskSummariesByProject(scope.projectId());
+            }
+            if (scope.status() != null) {
+                return () -> loadTaskSummariesByStatus(scope.status());
+            }
+            return this::loadAllTaskSummaries;
+        }
+        if (scope.projectId() != null) {
+            return () -> loadTasksByProject(scope.projectId());
+        }
+        if (scope.status() != null) {
+            return () -> loadTasksByStatus(scope.status());
+        }
+        return this::loadAllTasks;
+    }
+
+    private Task newTask(TaskCreateRequest request, Function<Long, Optional<Project>> activeProjects) {
+        Task task = new Task();
+        task.setTitle(request.getTitle());
+        task.setDescription(request.getDescription());
+        task.setPriority(request.getPriority());
+        task.setDueDate(request.getDueDate());
+        task.setCreatedAt(LocalDateTime.now());
+        task.setStatus(TaskStatus.TODO); // Default status for new tasks
+
+        // Set project if provided
+        if (request.getProjectId() != null) {
+            activeProjects.apply(request.getProjectId())
+                    .ifPresentOrElse(
+                            task::setProject,
+                            () -> log.warn("Project with id {} not found when creating task", request.getProjectId()));
+        }
+        return task;
+    }
+
+    private static void applyUpdate(Task task, TaskUpdateRequest request,
+                                    Function<Long, Optional<Project>> activeProjects) {
+        // Update fields if provided
+        if (request.getTitle() != null) {
+            task.setTitle(request.getTitle());
+        }
+        if (request.getDescription() != null) {
+            task.setDescription(request.getDescription());
+        }
+        if (request.getStatus() != null) {
+            task.setStatus(request.getStatus());
+        }
+        if (request.getPriority() != null) {
+            task.setPriority(request.getPriority());
+        }
+        if (request.getDueDate() != null) {
+            task.setDueDate(request.getDueDate());
+        }
+
+        // Update project if provided
+        if (request.getProjectId() != null) {
+            activeProjects.apply(request.getProjectId())
+                    .ifPresent(task::setProject);
+        }
+    }
+
+    // Loads the projects of a batch in one query, skipping those being deleted
+    private Map<Long, Project> activeProjects(Stream<Long> projectIds) {
+        Set<Long> ids = projectIds.filter(Objects::nonNull).collect(Collectors.toSet());
+        if (ids.isEmpty()) {
+            return Map.of();
+        }
+        return projectRepository.findAllById(ids).stream()
+                .filter(project -> !project.isDeleting())
+                .collect(Collectors.toMap(Project::getId, Function.identity()));
+    }
+
+    // Loads the tasks of a batch in one query; the whole batch fails if any of them does not exist
+    private Map<Long, Task> findAllTasks(List<Long> ids) {
+        Map<Long, Task> tasks = taskRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(Task::getId, Function.identity()));
+        List<Long> missing = ids.stream().filter(id -> !tasks.containsKey(id)).toList();
+        if (!missing.isEmpty()) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Tasks not found with ids: " + missing);
+        }
+        return tasks;
+    }
+
+    /**
+     * What a batch write touched, so that it costs one counter update per project and
+     * one cache invalidation pass rather than one of each per task.
+     */
+    private static final class BatchChanges {
+        private final List<Long> taskIds = new ArrayList<>();
+        private final Set<Long> projectIds = new HashSet<>();
+        private final Set<TaskStatus> statuses = EnumSet.noneOf(TaskStatus.class);
+        private final Map<Long, ProjectTaskCounts> countDeltas = new HashMap<>();
+
+        void touched(Long projectId, TaskStatus status) {
+            if (projectId != null) {
+                projectIds.add(projectId);
+            }
+            if (status != null) {
+                statuses.add(status);
+            }
+        }
+
+        void count(Long projectId, TaskStatus status, int delta) {
+            if (projectId == null) {
+                return;
+            }
+            ProjectTaskCounts counts = countDeltas.computeIfAbsent(projectId, ProjectTaskCounts::new);
+            counts.setTotal(counts.getTotal() + delta);
+            if (status != null) {
+                counts.set(status, counts.get(status) + delta);
+            }
+        }
+    }
+
+    private void applyBatchChanges(BatchChanges changes) {
+        changes.countDeltas.values().forEach(delta -> {
+            if (projectTaskCountsRepository.add(delta.getProjectId(), delta.getTotal(), delta.getTodo(),
+                    delta.getInProgress(), delta.getReview(), delta.getDone()) == 0) {
+                log.warn("No task counters for project {}, left to reconciliation", delta.getProjectId());
+            }
+        });
+
+        Cache tasks = cacheManager.getCache("tasks");
+        if (tasks != null) {
+            changes.taskIds.forEach(id -> tasks.evict(taskCacheGenerations.taskKey(id)));
+        }
+        taskCacheGenerations.invalidateAllTasksList();
+        changes.projectIds.forEach(taskCacheGenerations::invalidateProject);
+        changes.statuses.forEach(taskCacheGenerations::invalidateStatus);
+
+        Cache projects = cacheManager.getCache("projects");
+        if (projects != null) {
+            changes.countDeltas.keySet().forEach(projects::evict);
+            projects.evict("all");
+        }
+    }
+
+    // Counted in the same transaction as the task write; missing counters are created by the reconciler
+    private void adjustTaskCounts(Long projectId, TaskStatus status, int delta) {
+        if (projectId != null && projectTaskCountsRepository.add(projectId, status, delta) == 0) {
+            log.warn("No task counters for project {}, left to reconciliation", projectId);
+        }
+    }
+
+    // Evicts the cached project and project list, whose task counts changed
+    private void evictProjectCaches(Long projectId) {
+        Cache projects = cacheManager.getCache("projects");
+        if (projects == null) {
+            return;
+        }
+        if (projectId != null) {
+            log.debug("Evicting caches for project ID: {}", projectId);
+            projects.evict(projectId);
+        }
+        projects.evict("all");
+    }
+
+    private Long projectIdOf(Task task) {
+        return Optional.ofNullable(task.getProject()).map(Project::getId).orElse(null);
     }
 
     // Helper method to convert Task to TaskResponse
@@ -0,0 +1,44 @@
+package com.ross.ese.taskmanager.service.impl;
+
+import com.ross.ese.taskmanager.dto.UserAccount;
+import com.ross.ese.taskmanager.model.ERole;
+import com.ross.ese.taskmanager.model.Role;
+import com.ross.ese.taskmanager.model.User;
+import com.ross.ese.taskmanager.repository.UserRepository;
+import com.ross.ese.taskmanager.service.UserService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.EnumSet;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Transactional(readOnly = true)
+public class UserServiceImpl implements UserService {
+
+    private final UserRepository userRepository;
+
+    @Override
+    @Cacheable(value = "users", key = "#email", sync = true)
+    public Optional<UserAccount> findAccountByEmail(String email) {
+        log.debug("Fetching user account for email: {}", email);
+        return userRepository.findByEmail(email)
+                .map(this::convertToUserAccount);
+    }
+
+    private UserAccount convertToUserAccount(User user) {
+        Set<ERole> roles = user.getRoles().stream()
+                .map(Role::getName)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toCollection(() -> EnumSet.noneOf(ERole.class)));
+        return new UserAccount(user.getId(), user.getUsername(), user.getEmail(), roles);
+    }
+}
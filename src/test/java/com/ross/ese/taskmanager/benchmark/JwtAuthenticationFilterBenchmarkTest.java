@@ -0,0 +1,104 @@
+package com.ross.ese.taskmanager.benchmark;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.crypto.MACSigner;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.SignedJWT;
+import com.ross.ese.taskmanager.config.ApplicationConfig;
+import com.ross.ese.taskmanager.config.JwtVerificationProperties;
+import com.ross.ese.taskmanager.config.SupabaseProperties;
+import com.ross.ese.taskmanager.dto.UserAccount;
+import com.ross.ese.taskmanager.model.ERole;
+import com.ross.ese.taskmanager.security.JwtAuthenticationFilter;
+import com.ross.ese.taskmanager.security.SupabaseJwtVerifier;
+import com.ross.ese.taskmanager.service.SupabaseAuthService;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.slf4j.LoggerFactory;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.time.Instant;
+import java.util.Date;
+import java.util.EnumSet;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+/**
+ * Measures the cost of {@link JwtAuthenticationFilter} per request with local verification.
+ * Run with: mvn test -Pbenchmark
+ */
+@Tag("benchmark")
+public class JwtAuthenticationFilterBenchmarkTest {
+
+    private static final String SECRET = "testing-jwt-secret-key-must-be-at-least-32-chars-long-for-testing";
+    private static final int WARMUP_ITERATIONS = 100_000;
+    private static final int MEASURED_ITERATIONS = 100_000;
+
+    @Test
+    public void localVerificationCostPerRequest() throws Exception {
+        // Outside Spring Boot logback defaults to DEBUG, which would dominate the measurement
+        ((Logger) LoggerFactory.getLogger(Logger.ROOT_LOGGER_NAME)).setLevel(Level.INFO);
+
+        JwtVerificationProperties properties = new JwtVerificationProperties();
+        properties.setMode(JwtVerificationProperties.Mode.LOCAL);
+        properties.setHmacSecret(SECRET);
+        properties.setAudience("authenticated");
+
+        SupabaseProperties supabaseProperties = new SupabaseProperties();
+        supabaseProperties.setUrl("https://example.supabase.co");
+
+        UserAccount account = new UserAccount(1L, "user@example.com", "user@example.com", EnumSet.of(ERole.ROLE_USER));
+        JwtAuthenticationFilter filter = new JwtAuthenticationFilter(
+                Mockito.mock(SupabaseAuthService.class),
+                new ApplicationConfig(),
+                new SupabaseJwtVerifier(properties, supabaseProperties),
+                properties,
+                // Stands in for a "users" cache hit
+                email -> Optional.of(account));
+
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/tasks");
+        request.addHeader("Authorization", "Bearer " + token(properties));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            runFilter(filter, request, response);
+        }
+
+        long start = System.nanoTime();
+        for (int i = 0; i < MEASURED_ITERATIONS; i++) {
+            runFilter(filter, request, response);
+        }
+        long elapsed = System.nanoTime() - start;
+
+        System.out.printf("JwtAuthenticationFilter (local HS256): %,d ns/request over %,d requests%n",
+                elapsed / MEASURED_ITERATIONS, MEASURED_ITERATIONS);
+    }
+
+    private void runFilter(JwtAuthenticationFilter filter, MockHttpServletRequest request,
+                           MockHttpServletResponse response) throws Exception {
+        filter.doFilter(request, response, new MockFilterChain());
+        assertNotNull(SecurityContextHolder.getContext().getAuthentication());
+        SecurityContextHolder.clearContext();
+    }
+
+    private String token(JwtVerificationProperties properties) throws Exception {
+        JWTClaimsSet claims = new JWTClaimsSet.Builder()
+                .subject("user-123")
+                .issuer("https://example.supabase.co/auth/v1")
+                .audience(properties.getAudience())
+                .claim("email", "user@example.com")
+                .expirationTime(Date.from(Instant.now().plusSeconds(3600)))
+                .build();
+        SignedJWT jwt = new SignedJWT(new JWSHeader(JWSAlgorithm.HS256), claims);
+        jwt.sign(new MACSigner(SECRET));
+        return jwt.serialize();
+    }
+}
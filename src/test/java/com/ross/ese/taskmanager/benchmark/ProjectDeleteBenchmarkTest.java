@@ -0,0 +1,130 @@
+package com.ross.ese.taskmanager.benchmark;
+
+import com.ross.ese.taskmanager.model.Project;
+import com.ross.ese.taskmanager.model.Task;
+import com.ross.ese.taskmanager.model.TaskStatus;
+import com.ross.ese.taskmanager.repository.ProjectRepository;
+import com.ross.ese.taskmanager.repository.TaskRepository;
+import com.ross.ese.taskmanager.service.impl.ProjectTaskPurger;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.management.ManagementFactory;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Compares deleting the tasks of a project as it was (load every Task entity, then
+ * deleteAll, one DELETE per entity) with the chunked set-based deletion of
+ * {@link ProjectTaskPurger}: statements, heap allocated and time per project size.
+ * H2 runs in-process, so the allocation includes the database's own work.
+ * Run with: mvn test -Pbenchmark
+ */
+@Tag("benchmark")
+@SpringBootTest
+@ActiveProfiles("test")
+public class ProjectDeleteBenchmarkTest {
+
+    private static final int[] PROJECT_SIZES = {1_000, 10_000, 100_000};
+    private static final int WARMUP_SIZE = 1_000;
+    private static final int SEED_CHUNK_SIZE = 5_000;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private ProjectTaskPurger projectTaskPurger;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    public void projectDeleteCost() {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        Consumer<Long> entities = projectId -> transaction.executeWithoutResult(status -> {
+            List<Task> tasks = taskRepository.findByProjectId(projectId);
+            taskRepository.deleteAll(tasks);
+        });
+        Consumer<Long> setBased = projectTaskPurger::purge;
+
+        measure("entities (findByProjectId + deleteAll)", WARMUP_SIZE, entities, false);
+        measure("set-based chunks", WARMUP_SIZE, setBased, false);
+        for (int size : PROJECT_SIZES) {
+            measure("entities (findByProjectId + deleteAll)", size, entities, true);
+            measure("set-based chunks", size, setBased, true);
+        }
+    }
+
+    private void measure(String name, int tasks, Consumer<Long> delete, boolean print) {
+        Long projectId = seed(tasks);
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        long allocatedBefore = allocatedBytes();
+        long start = System.nanoTime();
+
+        delete.accept(projectId);
+
+        long elapsed = System.nanoTime() - start;
+        long allocated = allocatedBytes() - allocatedBefore;
+        assertEquals(0, taskRepository.countByProjectId(projectId));
+        if (print) {
+            System.out.printf("%-40s %,8d tasks: %,7d statements, %,8d entities loaded, %,9d KB allocated, %,7d ms%n",
+                    name + ":", tasks,
+                    statistics.getPrepareStatementCount(),
+                    statistics.getEntityLoadCount(),
+                    allocated / 1024,
+                    elapsed / 1_000_000);
+        }
+        projectRepository.deleteById(projectId);
+    }
+
+    private Long seed(int tasks) {
+        Project project = new Project();
+        project.setName("Project with " + tasks + " tasks");
+        Long projectId = projectRepository.save(project).getId();
+
+        // Task ids come from the pooled sequence, so the inserts are JDBC-batched; the pool does not auto-commit
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        LocalDateTime now = LocalDateTime.now();
+        for (int from = 0; from < tasks; from += SEED_CHUNK_SIZE) {
+            int first = from;
+            transaction.executeWithoutResult(status -> {
+                List<Task> chunk = new ArrayList<>(SEED_CHUNK_SIZE);
+                for (int i = first; i < Math.min(first + SEED_CHUNK_SIZE, tasks); i++) {
+                    Task task = new Task();
+                    task.setTitle("Task " + i);
+                    task.setDescription("Description of task " + i);
+                    task.setStatus(TaskStatus.TODO);
+                    task.setCreatedAt(now);
+                    task.setProject(projectRepository.getReferenceById(projectId));
+                    chunk.add(task);
+                }
+                taskRepository.saveAll(chunk);
+            });
+        }
+        assertEquals(tasks, taskRepository.countByProjectId(projectId));
+        return projectId;
+    }
+
+    private static long allocatedBytes() {
+        return ((com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean()).getCurrentThreadAllocatedBytes();
+    }
+}
@@ -0,0 +1,132 @@
+package com.ross.ese.taskmanager.benchmark;
+
+import com.ross.ese.taskmanager.dto.ProjectCreateRequest;
+import com.ross.ese.taskmanager.dto.TaskBatchUpdateRequest;
+import com.ross.ese.taskmanager.dto.TaskCreateRequest;
+import com.ross.ese.taskmanager.dto.TaskResponse;
+import com.ross.ese.taskmanager.model.TaskStatus;
+import com.ross.ese.taskmanager.repository.TaskRepository;
+import com.ross.ese.taskmanager.service.ProjectService;
+import com.ross.ese.taskmanager.service.TaskService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Compares creating, updating and deleting tasks one request at a time with the batch
+ * endpoints' service methods: statements and tasks per second. With the pooled task id
+ * sequence the batch path sends its inserts and updates as JDBC batches of
+ * hibernate.jdbc.batch_size, and runs one counter update per project and one cache
+ * invalidation pass per batch. H2 runs in-process, so the gain from fewer round trips
+ * is larger against a networked database.
+ * Run with: mvn test -Pbenchmark
+ */
+@Tag("benchmark")
+@SpringBootTest
+@ActiveProfiles("test")
+public class TaskBatchBenchmarkTest {
+
+    private static final int TASKS = 5_000;
+    private static final int BATCH_SIZE = 1_000;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private ProjectService projectService;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    public void batchThroughput() {
+        ProjectCreateRequest project = new ProjectCreateRequest();
+        project.setName("Batch benchmark");
+        Long projectId = projectService.createProject(project).getId();
+        List<TaskCreateRequest> requests = new ArrayList<>(TASKS);
+        for (int i = 0; i < TASKS; i++) {
+            TaskCreateRequest request = new TaskCreateRequest();
+            request.setTitle("Task " + i);
+            request.setDescription("Description of task " + i);
+            request.setProjectId(projectId);
+            requests.add(request);
+        }
+
+        // Warm-up round, then the measured one
+        for (boolean print : new boolean[]{false, true}) {
+            List<Long> single = measure("create, single", print, () ->
+                    requests.stream().map(taskService::createTask).map(TaskResponse::getId).toList());
+            List<Long> batch = measure("create, batch", print, () -> inBatches(requests, chunk ->
+                    taskService.createTasks(chunk).stream().map(TaskResponse::getId).toList()));
+
+            measure("update, single", print, () -> {
+                single.forEach(id -> taskService.updateTask(id, update(id)));
+                return single;
+            });
+            measure("update, batch", print, () -> inBatches(batch, chunk -> {
+                taskService.updateTasks(chunk.stream().map(TaskBatchBenchmarkTest::update).toList());
+                return chunk;
+            }));
+
+            measure("delete, single", print, () -> {
+                single.forEach(taskService::deleteTask);
+                return single;
+            });
+            measure("delete, batch", print, () -> inBatches(batch, chunk -> {
+                taskService.deleteTasks(chunk);
+                return chunk;
+            }));
+            assertEquals(0, taskRepository.countByProjectId(projectId));
+        }
+        projectService.deleteProject(projectId);
+    }
+
+    private List<Long> measure(String name, boolean print, Supplier<List<Long>> operation) {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        long start = System.nanoTime();
+
+        List<Long> ids = operation.get();
+
+        long elapsed = System.nanoTime() - start;
+        assertEquals(TASKS, ids.size());
+        if (print) {
+            System.out.printf("%-16s %,6d tasks: %,7d statements, %,6d ms, %,8d tasks/s%n",
+                    name + ":", TASKS,
+                    statistics.getPrepareStatementCount(),
+                    elapsed / 1_000_000,
+                    TASKS * 1_000_000_000L / elapsed);
+        }
+        return ids;
+    }
+
+    private static <T> List<Long> inBatches(List<T> items, Function<List<T>, List<Long>> batch) {
+        List<Long> ids = new ArrayList<>(items.size());
+        for (int from = 0; from < items.size(); from += BATCH_SIZE) {
+            ids.addAll(batch.apply(items.subList(from, Math.min(from + BATCH_SIZE, items.size()))));
+        }
+        return ids;
+    }
+
+    private static TaskBatchUpdateRequest.Item update(Long id) {
+        TaskBatchUpdateRequest.Item item = new TaskBatchUpdateRequest.Item();
+        item.setId(id);
+        item.setStatus(TaskStatus.IN_PROGRESS);
+        return item;
+    }
+}
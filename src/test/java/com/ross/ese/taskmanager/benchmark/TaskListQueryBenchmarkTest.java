@@ -0,0 +1,166 @@
+package com.ross.ese.taskmanager.benchmark;
+
+import com.ross.ese.taskmanager.dto.TaskResponse;
+import com.ross.ese.taskmanager.model.ERole;
+import com.ross.ese.taskmanager.model.Project;
+import com.ross.ese.taskmanager.model.Role;
+import com.ross.ese.taskmanager.model.Task;
+import com.ross.ese.taskmanager.model.TaskStatus;
+import com.ross.ese.taskmanager.model.User;
+import com.ross.ese.taskmanager.repository.ProjectRepository;
+import com.ross.ese.taskmanager.repository.RoleRepository;
+import com.ross.ese.taskmanager.repository.TaskRepository;
+import com.ross.ese.taskmanager.repository.UserRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Compares the task list query as it was (Task entities with their project, assignee
+ * and creator graphs, as the former EAGER mappings loaded them) with the TaskResponse
+ * projection: statements, entities loaded and heap allocated per request.
+ * Run with: mvn test -Pbenchmark
+ */
+@Tag("benchmark")
+@SpringBootTest
+@ActiveProfiles("test")
+public class TaskListQueryBenchmarkTest {
+
+    private static final int USERS = 50;
+    private static final int PROJECTS = 100;
+    private static final int TASKS = 10_000;
+    private static final int WARMUP_ITERATIONS = 20;
+    private static final int MEASURED_ITERATIONS = 20;
+
+    // Loads what findAll() used to load with the EAGER associations, in a single query
+    private static final String ENTITY_GRAPH = "SELECT t FROM Task t LEFT JOIN FETCH t.project p "
+            + "LEFT JOIN FETCH p.owner LEFT JOIN FETCH t.assignee LEFT JOIN FETCH t.creator ORDER BY t.id";
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    public void taskListCostPerRequest() {
+        seed();
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+
+        measure("entities (former EAGER graph)", () -> readOnly.execute(status ->
+                entityManager.createQuery(ENTITY_GRAPH, Task.class).getResultList().stream()
+                        .map(TaskListQueryBenchmarkTest::toResponse)
+                        .toList()));
+        measure("entities (LAZY associations)", () -> readOnly.execute(status ->
+                taskRepository.findAll().stream()
+                        .map(TaskListQueryBenchmarkTest::toResponse)
+                        .toList()));
+        measure("TaskResponse projection", () -> readOnly.execute(status ->
+                taskRepository.findAllResponses(Limit.unlimited())));
+    }
+
+    private void measure(String name, Supplier<List<TaskResponse>> request) {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            assertEquals(TASKS, request.get().size());
+        }
+
+        statistics.clear();
+        long allocatedBefore = allocatedBytes();
+        long start = System.nanoTime();
+        for (int i = 0; i < MEASURED_ITERATIONS; i++) {
+            request.get();
+        }
+        long elapsed = System.nanoTime() - start;
+        long allocated = allocatedBytes() - allocatedBefore;
+
+        System.out.printf("%-32s %,6d rows, %,4d statements, %,6d entities + %,4d collections loaded, "
+                        + "%,8d KB allocated, %,6d us per request%n",
+                name + ":", TASKS,
+                statistics.getPrepareStatementCount() / MEASURED_ITERATIONS,
+                statistics.getEntityLoadCount() / MEASURED_ITERATIONS,
+                statistics.getCollectionLoadCount() / MEASURED_ITERATIONS,
+                allocated / MEASURED_ITERATIONS / 1024,
+                elapsed / MEASURED_ITERATIONS / 1000);
+    }
+
+    private void seed() {
+        Role userRole = roleRepository.save(new Role(ERole.ROLE_USER));
+        Role managerRole = roleRepository.save(new Role(ERole.ROLE_MANAGER));
+        List<User> users = new ArrayList<>();
+        for (int i = 0; i < USERS; i++) {
+            User user = new User("user" + i, "user" + i + "@example.com", "password");
+            user.getRoles().add(userRole);
+            user.getRoles().add(managerRole);
+            users.add(user);
+        }
+        users = userRepository.saveAll(users);
+
+        List<Project> projects = new ArrayList<>();
+        for (int i = 0; i < PROJECTS; i++) {
+            Project project = new Project();
+            project.setName("Project " + i);
+            project.setDescription("Description of project " + i);
+            project.setOwner(users.get(i % USERS));
+            projects.add(project);
+        }
+        projects = projectRepository.saveAll(projects);
+
+        List<Task> tasks = new ArrayList<>();
+        for (int i = 0; i < TASKS; i++) {
+            Task task = new Task();
+            task.setTitle("Task " + i);
+            task.setDescription("Description of task " + i);
+            task.setStatus(TaskStatus.values()[i % TaskStatus.values().length]);
+            task.setProject(projects.get(i % PROJECTS));
+            task.setAssignee(users.get(i % USERS));
+            task.setCreator(users.get((i + 1) % USERS));
+            tasks.add(task);
+        }
+        taskRepository.saveAll(tasks);
+    }
+
+    private static TaskResponse toResponse(Task task) {
+        return new TaskResponse(task.getId(), task.getTitle(), task.getDescription(), task.getStatus(),
+                task.getPriority(), task.getDueDate(), task.getCreatedAt(),
+                Optional.ofNullable(task.getProject()).map(Project::getId).orElse(null),
+                Optional.ofNullable(task.getProject()).map(Project::getName).orElse(null));
+    }
+
+    private static long allocatedBytes() {
+        return ((com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean()).getCurrentThreadAllocatedBytes();
+    }
+}
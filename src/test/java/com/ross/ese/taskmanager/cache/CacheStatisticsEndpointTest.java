@@ -0,0 +1,80 @@
+package com.ross.ese.taskmanager.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.ross.ese.taskmanager.config.AppCacheProperties;
+import com.ross.ese.taskmanager.config.CacheConfig;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CacheStatisticsEndpointTest {
+
+    private CacheManager cacheManager;
+    private CacheStatisticsEndpoint endpoint;
+
+    @BeforeEach
+    public void setup() {
+        AppCacheProperties properties = new AppCacheProperties();
+        properties.getSpecs().put("tasks", new AppCacheProperties.Spec(100L, null, Duration.ofMinutes(1)));
+        cacheManager = new CacheConfig().cacheManager(properties, Optional.empty(), refresher());
+        endpoint = new CacheStatisticsEndpoint(cacheManager);
+    }
+
+    @Test
+    public void testCacheManager_OnlyKnownCachesExist() {
+        assertNotNull(cacheManager.getCache("tasks"));
+        assertNotNull(cacheManager.getCache("users"));
+        assertNull(cacheManager.getCache("unknown"));
+    }
+
+    @Test
+    public void testCacheManager_ListsAreWeighedByElementCount() {
+        org.springframework.cache.Cache tasks = cacheManager.getCache("tasks");
+        tasks.put("all", IntStream.range(0, 80).boxed().toList());
+        tasks.put("project-1", IntStream.range(0, 80).boxed().toList());
+        nativeCache("tasks").cleanUp();
+
+        CacheStatisticsEndpoint.CacheStatistics statistics = endpoint.cache("tasks");
+        assertEquals(1, statistics.estimatedSize());
+        assertEquals(80L, statistics.weightedSize());
+        assertEquals(100L, statistics.maximumWeight());
+        assertEquals(Duration.ofMinutes(10), statistics.expireAfterWrite());
+        assertEquals(Duration.ofMinutes(1), statistics.expireAfterAccess());
+        assertEquals(1, statistics.evictionCount());
+    }
+
+    @Test
+    public void testEndpoint_ReportsHitsAndEvicts() {
+        org.springframework.cache.Cache projects = cacheManager.getCache("projects");
+        projects.put("all", List.of("a", "b"));
+        projects.get("all");
+        projects.get("missing");
+
+        CacheStatisticsEndpoint.CacheStatistics statistics = endpoint.caches().get("projects");
+        assertEquals(1, statistics.hitCount());
+        assertEquals(1, statistics.missCount());
+        assertEquals(0.5, statistics.hitRate());
+
+        assertTrue(endpoint.evict("projects"));
+        assertNull(projects.get("all"));
+        assertFalse(endpoint.evict("unknown"));
+        assertNull(endpoint.cache("unknown"));
+    }
+
+    private Cache<Object, Object> nativeCache(String name) {
+        return ((CaffeineCache) cacheManager.getCache(name)).getNativeCache();
+    }
+
+    private static CacheRefresher refresher() {
+        return new CacheRefresher(TransactionOperations.withoutTransaction(), Runnable::run);
+    }
+}
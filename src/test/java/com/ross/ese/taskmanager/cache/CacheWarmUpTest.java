@@ -0,0 +1,92 @@
+package com.ross.ese.taskmanager.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ross.ese.taskmanager.repository.TaskRepository;
+import com.ross.ese.taskmanager.service.ProjectService;
+import com.ross.ese.taskmanager.service.TaskService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.boot.availability.AvailabilityChangeEvent;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class CacheWarmUpTest {
+
+    @Mock
+    private ProjectService projectService;
+
+    @Mock
+    private TaskService taskService;
+
+    @Mock
+    private TaskRepository taskRepository;
+
+    @Mock
+    private JsonResponseCache jsonResponseCache;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @BeforeEach
+    public void setup() {
+        when(taskRepository.findMostActiveProjectIds(Limit.of(2))).thenReturn(List.of(7L, 3L));
+    }
+
+    @Test
+    public void testRun_LoadsHotEntries() {
+        warmUp(Duration.ofSeconds(10), 5).run(null);
+
+        verify(projectService, times(6)).getAllProjects();
+        verify(taskService, times(6)).getAllTaskSummaries();
+        verify(taskService, times(6)).getTaskSummariesByProject(7L);
+        verify(taskService, times(6)).getTaskSummariesByProject(3L);
+        verify(jsonResponseCache, times(4)).preload(any());
+    }
+
+    @Test
+    public void testRun_RefusesTrafficWhileWarming() {
+        warmUp(Duration.ofSeconds(10), 0).run(null);
+
+        ArgumentCaptor<AvailabilityChangeEvent<?>> event = ArgumentCaptor.forClass(AvailabilityChangeEvent.class);
+        verify(eventPublisher).publishEvent(event.capture());
+        assertEquals(ReadinessState.REFUSING_TRAFFIC, event.getValue().getState());
+    }
+
+    @Test
+    public void testRun_GivesUpAfterTimeout() {
+        when(projectService.getAllProjects()).thenAnswer(invocation -> {
+            Thread.sleep(5000);
+            return List.of();
+        });
+
+        long start = System.nanoTime();
+        warmUp(Duration.ofMillis(100), 0).run(null);
+
+        assertTrue(Duration.ofNanos(System.nanoTime() - start).toMillis() < 2000);
+    }
+
+    @Test
+    public void testRun_FailureDoesNotPreventStartup() {
+        when(projectService.getAllProjects()).thenThrow(new IllegalStateException("database unavailable"));
+
+        assertDoesNotThrow(() -> warmUp(Duration.ofSeconds(10), 0).run(null));
+    }
+
+    private CacheWarmUp warmUp(Duration timeout, int iterations) {
+        return new CacheWarmUp(projectService, taskService, taskRepository, jsonResponseCache, new ObjectMapper(),
+                eventPublisher, true, timeout, 2, iterations);
+    }
+}
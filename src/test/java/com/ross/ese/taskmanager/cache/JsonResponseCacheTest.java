@@ -0,0 +1,118 @@
+package com.ross.ese.taskmanager.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ross.ese.taskmanager.dto.TaskResponse;
+import com.ross.ese.taskmanager.model.TaskStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class JsonResponseCacheTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+    private JsonResponseCache responseCache;
+    private List<TaskResponse> tasks;
+
+    @BeforeEach
+    public void setup() {
+        responseCache = responseCache(true);
+        tasks = new ArrayList<>();
+        for (long id = 1; id <= 50; id++) {
+            TaskResponse task = new TaskResponse();
+            task.setId(id);
+            task.setTitle("Task " + id);
+            task.setDescription("Description of task " + id);
+            task.setStatus(TaskStatus.TODO);
+            tasks.add(task);
+        }
+    }
+
+    @Test
+    public void testOk_SameInstanceReusesEncoding() {
+        ResponseEntity<?> first = responseCache.ok(tasks, new MockHttpServletRequest());
+        ResponseEntity<?> second = responseCache.ok(tasks, new MockHttpServletRequest());
+
+        assertEquals(HttpStatus.OK, first.getStatusCode());
+        assertSame(first.getBody(), second.getBody());
+        assertArrayEquals(json(tasks), (byte[]) first.getBody());
+    }
+
+    @Test
+    public void testOk_NewInstanceIsEncodedAgain() {
+        ResponseEntity<?> first = responseCache.ok(tasks, new MockHttpServletRequest());
+        List<TaskResponse> changed = new ArrayList<>(tasks.subList(1, tasks.size()));
+        ResponseEntity<?> second = responseCache.ok(changed, new MockHttpServletRequest());
+
+        assertArrayEquals(json(changed), (byte[]) second.getBody());
+        assertNotEquals(first.getHeaders().getETag(), second.getHeaders().getETag());
+    }
+
+    @Test
+    public void testOk_MatchingETagReturnsNotModified() {
+        String etag = responseCache.ok(tasks, new MockHttpServletRequest()).getHeaders().getETag();
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader(HttpHeaders.IF_NONE_MATCH, etag);
+
+        ResponseEntity<?> response = responseCache.ok(tasks, request);
+
+        assertEquals(HttpStatus.NOT_MODIFIED, response.getStatusCode());
+        assertNull(response.getBody());
+        assertEquals(etag, response.getHeaders().getETag());
+    }
+
+    @Test
+    public void testOk_GzipWhenAccepted() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader(HttpHeaders.ACCEPT_ENCODING, "deflate, gzip;q=0.8");
+
+        ResponseEntity<?> response = responseCache.ok(tasks, request);
+
+        assertEquals("gzip", response.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+        try (GZIPInputStream gzip = new GZIPInputStream(new ByteArrayInputStream((byte[]) response.getBody()))) {
+            assertArrayEquals(json(tasks), gzip.readAllBytes());
+        }
+    }
+
+    @Test
+    public void testOk_NoGzipWhenRefused() {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader(HttpHeaders.ACCEPT_ENCODING, "gzip;q=0");
+
+        ResponseEntity<?> response = responseCache.ok(tasks, request);
+
+        assertNull(response.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+        assertArrayEquals(json(tasks), (byte[]) response.getBody());
+    }
+
+    @Test
+    public void testOk_DisabledReturnsBody() {
+        ResponseEntity<?> response = responseCache(false).ok(tasks, new MockHttpServletRequest());
+
+        assertSame(tasks, response.getBody());
+        assertNull(response.getHeaders().getETag());
+    }
+
+    private JsonResponseCache responseCache(boolean enabled) {
+        return new JsonResponseCache(objectMapper, enabled, true, DataSize.ofKilobytes(1), DataSize.ofMegabytes(1));
+    }
+
+    private byte[] json(Object body) {
+        try {
+            return objectMapper.writeValueAsBytes(body);
+        } catch (IOException e) {
+            throw new AssertionError(e);
+        }
+    }
+}
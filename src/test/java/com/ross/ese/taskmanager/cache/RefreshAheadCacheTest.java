@@ -0,0 +1,100 @@
+package com.ross.ese.taskmanager.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RefreshAheadCacheTest {
+
+    private static final Duration REFRESH_AFTER = Duration.ofMillis(50);
+
+    private final List<Runnable> scheduled = new ArrayList<>();
+    private final AtomicInteger loads = new AtomicInteger();
+    private CacheRefresher refresher;
+    private RefreshAheadCache cache;
+
+    @BeforeEach
+    public void setup() {
+        // Refreshes are queued and run explicitly by the test
+        refresher = new CacheRefresher(TransactionOperations.withoutTransaction(), scheduled::add);
+        refresher.register("tasks", key -> "all".equals(key) ? () -> "v" + loads.incrementAndGet() : null);
+        cache = new RefreshAheadCache(new CaffeineCache("tasks", Caffeine.newBuilder().build()),
+                REFRESH_AFTER, 100, Duration.ofMinutes(10), refresher);
+    }
+
+    @Test
+    public void testGet_ConcurrentMissesLoadOnce() throws Exception {
+        AtomicInteger calls = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(10);
+        List<Future<String>> results = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            results.add(executor.submit(() -> {
+                start.await();
+                return cache.get("project-1", () -> {
+                    calls.incrementAndGet();
+                    Thread.sleep(100);
+                    return "tasks";
+                });
+            }));
+        }
+        start.countDown();
+        for (Future<String> result : results) {
+            assertEquals("tasks", result.get(5, TimeUnit.SECONDS));
+        }
+        executor.shutdown();
+
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    public void testGet_StaleEntryIsServedWhileRefreshing() throws Exception {
+        assertEquals("v0", cache.get("all", () -> "v0"));
+        assertTrue(scheduled.isEmpty());
+
+        Thread.sleep(REFRESH_AFTER.toMillis() * 2);
+        assertEquals("v0", cache.get("all", () -> "unused"));
+        assertEquals("v0", cache.get("all", () -> "unused"));
+        // One refresh per key at a time
+        assertEquals(1, scheduled.size());
+
+        scheduled.remove(0).run();
+        assertEquals("v1", cache.get("all", () -> "unused"));
+        assertTrue(scheduled.isEmpty());
+    }
+
+    @Test
+    public void testRefresh_DoesNotOverwriteNewerWrite() throws Exception {
+        cache.get("all", () -> "v0");
+        Thread.sleep(REFRESH_AFTER.toMillis() * 2);
+        cache.get("all", () -> "unused");
+
+        cache.put("all", "patched");
+        scheduled.remove(0).run();
+
+        assertEquals("patched", cache.get("all").get());
+    }
+
+    @Test
+    public void testGet_KeysWithoutReloaderAreNotRefreshed() throws Exception {
+        cache.get("project-1", () -> "v0");
+        Thread.sleep(REFRESH_AFTER.toMillis() * 2);
+
+        assertEquals("v0", cache.get("project-1", () -> "unused"));
+        assertTrue(scheduled.isEmpty());
+    }
+}
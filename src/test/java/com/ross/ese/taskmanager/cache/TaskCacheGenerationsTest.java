@@ -0,0 +1,82 @@
+package com.ross.ese.taskmanager.cache;
+
+import com.ross.ese.taskmanager.model.TaskStatus;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TaskCacheGenerationsTest {
+
+    private final TaskCacheGenerations generations = new TaskCacheGenerations();
+
+    @Test
+    public void testInvalidate_OnlyAffectedScopesChange() {
+        String all = generations.allKey();
+        String project1 = generations.projectKey(1L);
+        String project2 = generations.projectKey(2L);
+        String todo = generations.statusKey(TaskStatus.TODO);
+        String done = generations.statusKey(TaskStatus.DONE);
+        String task = generations.taskKey(7L);
+
+        generations.invalidate(1L, TaskStatus.TODO);
+
+        assertNotEquals(all, generations.allKey());
+        assertNotEquals(project1, generations.projectKey(1L));
+        assertNotEquals(todo, generations.statusKey(TaskStatus.TODO));
+        assertEquals(project2, generations.projectKey(2L));
+        assertEquals(done, generations.statusKey(TaskStatus.DONE));
+        assertEquals(task, generations.taskKey(7L));
+    }
+
+    @Test
+    public void testInvalidateAll_ChangesEveryKey() {
+        String all = generations.allKey();
+        String project = generations.projectKey(1L);
+        String status = generations.statusKey(TaskStatus.REVIEW);
+        String task = generations.taskKey(7L);
+
+        generations.invalidateAll();
+
+        assertNotEquals(all, generations.allKey());
+        assertNotEquals(project, generations.projectKey(1L));
+        assertNotEquals(status, generations.statusKey(TaskStatus.REVIEW));
+        assertNotEquals(task, generations.taskKey(7L));
+    }
+
+    @Test
+    public void testInvalidate_ChangesBothViews() {
+        String summary = generations.projectSummaryKey(1L);
+
+        generations.invalidateProject(1L);
+
+        assertNotEquals(summary, generations.projectSummaryKey(1L));
+        assertNotEquals(generations.projectKey(1L), generations.projectSummaryKey(1L));
+    }
+
+    @Test
+    public void testInvalidateList_ChangesOnlyThatView() {
+        String full = generations.statusKey(TaskStatus.TODO);
+        String summary = generations.statusSummaryKey(TaskStatus.TODO);
+
+        generations.invalidateList(summary);
+
+        assertEquals(full, generations.statusKey(TaskStatus.TODO));
+        assertNotEquals(summary, generations.statusSummaryKey(TaskStatus.TODO));
+    }
+
+    @Test
+    public void testListScopeOf_ParsesSummaryKeys() {
+        assertEquals(new TaskCacheGenerations.ListScope(2L, null, true),
+                generations.listScopeOf(generations.projectSummaryKey(2L)));
+        assertEquals(new TaskCacheGenerations.ListScope(null, TaskStatus.DONE, false),
+                generations.listScopeOf(generations.statusKey(TaskStatus.DONE)));
+        assertNull(generations.listScopeOf(generations.taskKey(2L)));
+    }
+
+    @Test
+    public void testKeys_AreStableWithoutWrites() {
+        assertEquals(generations.allKey(), generations.allKey());
+        assertEquals(generations.projectKey(3L), generations.projectKey(3L));
+        assertNotEquals(generations.projectKey(3L), generations.projectKey(4L));
+    }
+}
@@ -0,0 +1,156 @@
+package com.ross.ese.taskmanager.cache;
+
+import com.ross.ese.taskmanager.config.AppCacheProperties;
+import com.ross.ese.taskmanager.config.CacheConfig;
+import com.ross.ese.taskmanager.config.PaginationProperties;
+import com.ross.ese.taskmanager.dto.TaskResponse;
+import com.ross.ese.taskmanager.dto.TaskSummaryResponse;
+import com.ross.ese.taskmanager.model.TaskPriority;
+import com.ross.ese.taskmanager.model.TaskStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TaskListCacheUpdaterTest {
+
+    private TaskCacheGenerations generations;
+    private CacheManager cacheManager;
+    private Cache tasks;
+    private TaskListCacheUpdater updater;
+
+    @BeforeEach
+    public void setup() {
+        cacheManager = new CacheConfig().cacheManager(new AppCacheProperties(), Optional.empty(), refresher());
+        generations = new TaskCacheGenerations();
+        tasks = cacheManager.getCache("tasks");
+        updater = new TaskListCacheUpdater(cacheManager, generations, new PaginationProperties(), true, 16);
+    }
+
+    @Test
+    public void testTaskSaved_PatchesCachedLists() {
+        tasks.put(generations.allKey(), List.of(task(1L, 1L, TaskStatus.TODO, "A"), task(2L, 2L, TaskStatus.TODO, "B")));
+        tasks.put(generations.projectKey(1L), List.of(task(1L, 1L, TaskStatus.TODO, "A")));
+        tasks.put(generations.statusKey(TaskStatus.TODO),
+                List.of(task(1L, 1L, TaskStatus.TODO, "A"), task(2L, 2L, TaskStatus.TODO, "B")));
+        tasks.put(generations.statusKey(TaskStatus.DONE), List.of());
+
+        // Task 1 is renamed and moved to DONE, task 3 is created
+        updater.taskSaved(task(1L, 1L, TaskStatus.DONE, "A2"), 1L, TaskStatus.TODO);
+        updater.taskSaved(task(3L, 1L, TaskStatus.TODO, "C"), null, null);
+
+        assertEquals(List.of("A2", "B", "C"), titles(generations.allKey()));
+        assertEquals(List.of("A2", "C"), titles(generations.projectKey(1L)));
+        assertEquals(List.of("B", "C"), titles(generations.statusKey(TaskStatus.TODO)));
+        assertEquals(List.of("A2"), titles(generations.statusKey(TaskStatus.DONE)));
+    }
+
+    @Test
+    public void testTaskDeleted_RemovesFromCachedLists() {
+        tasks.put(generations.allKey(), List.of(task(1L, 1L, TaskStatus.TODO, "A"), task(2L, 1L, TaskStatus.TODO, "B")));
+        tasks.put(generations.projectKey(1L), List.of(task(1L, 1L, TaskStatus.TODO, "A"), task(2L, 1L, TaskStatus.TODO, "B")));
+
+        updater.taskDeleted(1L, 1L, TaskStatus.TODO);
+
+        assertEquals(List.of("B"), titles(generations.allKey()));
+        assertEquals(List.of("B"), titles(generations.projectKey(1L)));
+    }
+
+    @Test
+    public void testTaskSaved_InvalidatesListsThatAreNotCached() {
+        String projectKey = generations.projectKey(5L);
+        String allKey = generations.allKey();
+        tasks.put(allKey, List.of());
+
+        updater.taskSaved(task(1L, 5L, TaskStatus.TODO, "A"), null, null);
+
+        assertNotEquals(projectKey, generations.projectKey(5L));
+        assertEquals(allKey, generations.allKey());
+    }
+
+    @Test
+    public void testTaskDeleted_InvalidatesListsCutAtMaxUnpaged() {
+        PaginationProperties paginationProperties = new PaginationProperties();
+        paginationProperties.setMaxUnpaged(2);
+        updater = new TaskListCacheUpdater(cacheManager, generations, paginationProperties, true, 16);
+        String allKey = generations.allKey();
+        tasks.put(allKey, List.of(task(1L, 1L, TaskStatus.TODO, "A"), task(2L, 1L, TaskStatus.TODO, "B")));
+
+        updater.taskDeleted(1L, 1L, TaskStatus.TODO);
+
+        // Task 3 may exist beyond the cut and belongs in the list now
+        assertNotEquals(allKey, generations.allKey());
+    }
+
+    @Test
+    public void testTaskSaved_PatchesSummaryLists() {
+        tasks.put(generations.projectSummaryKey(1L), List.of(
+                new TaskSummaryResponse(1L, "A", TaskStatus.TODO, TaskPriority.MEDIUM, 1L, null)));
+        tasks.put(generations.projectSummaryKey(2L), List.of());
+        String projectKey = generations.projectKey(1L);
+
+        // Task 1 moves to project 2
+        updater.taskSaved(task(1L, 2L, TaskStatus.TODO, "A2"), 1L, null);
+
+        assertEquals(List.of(), summaryTitles(generations.projectSummaryKey(1L)));
+        assertEquals(List.of("A2"), summaryTitles(generations.projectSummaryKey(2L)));
+        // The full list was not cached and is invalidated on its own
+        assertNotEquals(projectKey, generations.projectKey(1L));
+    }
+
+    @Test
+    public void testTaskSaved_ConcurrentWritersDoNotLoseUpdates() throws Exception {
+        tasks.put(generations.allKey(), List.of());
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        for (long id = 1; id <= 200; id++) {
+            long taskId = id;
+            executor.submit(() -> updater.taskSaved(task(taskId, null, null, "T" + taskId), null, null));
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+
+        assertEquals(200, titles(generations.allKey()).size());
+    }
+
+    @Test
+    public void testTaskSaved_InvalidatesWhenPatchingDisabled() {
+        updater = new TaskListCacheUpdater(new CacheConfig().cacheManager(new AppCacheProperties(), Optional.empty(), refresher()), generations, new PaginationProperties(), false, 16);
+        String allKey = generations.allKey();
+        String todoKey = generations.statusKey(TaskStatus.TODO);
+        String doneKey = generations.statusKey(TaskStatus.DONE);
+
+        updater.taskSaved(task(1L, null, TaskStatus.DONE, "A"), null, TaskStatus.TODO);
+
+        assertNotEquals(allKey, generations.allKey());
+        assertNotEquals(todoKey, generations.statusKey(TaskStatus.TODO));
+        assertNotEquals(doneKey, generations.statusKey(TaskStatus.DONE));
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<String> titles(String key) {
+        return ((List<TaskResponse>) tasks.get(key).get()).stream().map(TaskResponse::getTitle).toList();
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<String> summaryTitles(String key) {
+        return ((List<TaskSummaryResponse>) tasks.get(key).get()).stream().map(TaskSummaryResponse::getTitle).toList();
+    }
+
+    private static TaskResponse task(Long id, Long projectId, TaskStatus status, String title) {
+        return new TaskResponse(id, title, null, status, TaskPriority.MEDIUM, null, null, projectId, null);
+    }
+
+    private static CacheRefresher refresher() {
+        return new CacheRefresher(TransactionOperations.withoutTransaction(), Runnable::run);
+    }
+}
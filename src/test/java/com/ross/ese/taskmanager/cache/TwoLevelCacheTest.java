@@ -0,0 +1,162 @@
+package com.ross.ese.taskmanager.cache;
+
+import com.ross.ese.taskmanager.config.AppCacheProperties;
+import com.ross.ese.taskmanager.config.CacheConfig;
+import com.ross.ese.taskmanager.model.TaskStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Two application nodes sharing the in-process stand-in for the shared tier.
+ */
+public class TwoLevelCacheTest {
+
+    private InMemorySharedCacheTier tierA;
+    private InMemorySharedCacheTier tierB;
+    private Cache projectsA;
+    private Cache projectsB;
+
+    @BeforeEach
+    public void setup() {
+        tierA = new InMemorySharedCacheTier();
+        tierB = tierA.joinCluster();
+        projectsA = cacheManager(tierA).getCache("projects");
+        projectsB = cacheManager(tierB).getCache("projects");
+    }
+
+    @Test
+    public void testGet_ReadsThroughSharedTier() {
+        projectsA.put("all", List.of("p1"));
+
+        assertEquals(List.of("p1"), projectsB.get("all").get());
+        // Now also held in B's near cache
+        tierA.clear("projects");
+        assertEquals(List.of("p1"), projectsB.get("all").get());
+    }
+
+    @Test
+    public void testEvict_DropsNearCopiesOnOtherNodes() {
+        projectsA.put(1L, "old");
+        assertEquals("old", projectsB.get(1L).get());
+
+        projectsA.evict(1L);
+
+        assertNull(projectsB.get(1L));
+    }
+
+    @Test
+    public void testPutAndLoad_KeepNearCopiesOnOtherNodes() {
+        List<CacheInvalidation> received = new ArrayList<>();
+        tierB.subscribe(received::add);
+        projectsA.put("all", List.of("p1"));
+        assertEquals(List.of("p1"), projectsB.get("all").get());
+
+        projectsA.put(2L, "p2");
+        projectsA.get(3L, () -> "p3");
+
+        assertTrue(received.isEmpty());
+    }
+
+    @Test
+    public void testEvictThenPut_ReplacesNearCopiesOnOtherNodes() {
+        projectsA.put("all", List.of("old"));
+        assertEquals(List.of("old"), projectsB.get("all").get());
+
+        projectsA.evict("all");
+        projectsA.put("all", List.of("new"));
+
+        assertEquals(List.of("new"), projectsB.get("all").get());
+    }
+
+    @Test
+    public void testClear_DropsNearCopiesOnOtherNodes() {
+        projectsA.put(1L, "p1");
+        projectsB.get(1L);
+
+        projectsA.clear();
+
+        assertNull(projectsB.get(1L));
+    }
+
+    @Test
+    public void testGetWithLoader_UsesValueLoadedByOtherNode() {
+        AtomicInteger loads = new AtomicInteger();
+
+        assertEquals("p1", projectsA.get(1L, () -> "p" + loads.incrementAndGet()));
+        assertEquals("p1", projectsB.get(1L, () -> "p" + loads.incrementAndGet()));
+
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    public void testNullValuesAreShared() {
+        projectsA.put("missing", null);
+
+        Cache.ValueWrapper value = projectsB.get("missing");
+        assertNotNull(value);
+        assertNull(value.get());
+    }
+
+    @Test
+    public void testGenerations_AreSharedBetweenNodes() {
+        TaskCacheGenerations generationsA = generations(tierA, Duration.ofMinutes(1));
+        TaskCacheGenerations generationsB = generations(tierB, Duration.ofMinutes(1));
+
+        generationsA.invalidate(3L, TaskStatus.DONE);
+
+        assertEquals(generationsA.allKey(), generationsB.allKey());
+        assertEquals(generationsA.projectKey(3L), generationsB.projectKey(3L));
+        assertEquals(generationsA.statusKey(TaskStatus.DONE), generationsB.statusKey(TaskStatus.DONE));
+        assertNotEquals(new TaskCacheGenerations().allKey(), generationsB.allKey());
+    }
+
+    @Test
+    public void testGenerations_NodeStartingLaterUsesCurrentKeys() {
+        TaskCacheGenerations generationsA = generations(tierA, Duration.ofMinutes(1));
+        generationsA.invalidate(3L, TaskStatus.DONE);
+        generationsA.invalidateAll();
+
+        TaskCacheGenerations restartedB = generations(tierB, Duration.ofMinutes(1));
+
+        assertEquals(generationsA.allKey(), restartedB.allKey());
+        assertEquals(generationsA.projectKey(3L), restartedB.projectKey(3L));
+        assertEquals(generationsA.taskKey(7L), restartedB.taskKey(7L));
+    }
+
+    @Test
+    public void testGenerations_MissedBroadcastIsPickedUpOnSync() {
+        TaskCacheGenerations generationsB = generations(tierB, Duration.ZERO);
+        String before = generationsB.allKey();
+
+        // Bumped in the shared tier without the broadcast reaching B
+        tierA.incrementGeneration("all");
+
+        assertNotEquals(before, generationsB.allKey());
+        assertEquals(generations(tierA, Duration.ofMinutes(1)).allKey(), generationsB.allKey());
+    }
+
+    private static TaskCacheGenerations generations(SharedCacheTier tier, Duration syncInterval) {
+        AppCacheProperties properties = new AppCacheProperties();
+        properties.getShared().setGenerationSyncInterval(syncInterval);
+        return new TaskCacheGenerations(Optional.of(tier), properties);
+    }
+
+    private static CacheManager cacheManager(SharedCacheTier tier) {
+        return new CacheConfig().cacheManager(new AppCacheProperties(), Optional.of(tier), refresher());
+    }
+
+    private static CacheRefresher refresher() {
+        return new CacheRefresher(TransactionOperations.withoutTransaction(), Runnable::run);
+    }
+}
@@ -0,0 +1,109 @@
+package com.ross.ese.taskmanager.config;
+
+import com.sun.net.httpserver.HttpServer;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SupabaseConfigTest {
+
+    private HttpServer supabase;
+    private AtomicInteger requests;
+    private ConnectionProvider connectionProvider;
+    private CircuitBreaker circuitBreaker;
+    private WebClient client;
+
+    @BeforeEach
+    public void setup() throws Exception {
+        requests = new AtomicInteger();
+        supabase = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        respond("/ok", 200);
+        respond("/unauthorized", 401);
+        respond("/unavailable", 503);
+        supabase.createContext("/slow", exchange -> {
+            requests.incrementAndGet();
+            try {
+                Thread.sleep(1_000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            exchange.sendResponseHeaders(200, -1);
+            exchange.close();
+        });
+        supabase.setExecutor(Executors.newCachedThreadPool());
+        supabase.start();
+
+        SupabaseProperties properties = new SupabaseProperties();
+        properties.setUrl("http://localhost:" + supabase.getAddress().getPort());
+        properties.setKey("test-key");
+        properties.getClient().setResponseTimeout(Duration.ofMillis(200));
+
+        SupabaseConfig config = new SupabaseConfig(properties);
+        connectionProvider = config.supabaseConnectionProvider();
+        circuitBreaker = config.supabaseCircuitBreaker(new SimpleMeterRegistry());
+        client = config.supabaseAuthClient(connectionProvider, circuitBreaker);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        connectionProvider.dispose();
+        supabase.stop(0);
+    }
+
+    @Test
+    public void testCircuitBreaker_RecordsOnlyServerErrorsAsFailures() {
+        assertEquals(200, status("/ok"));
+        assertEquals(401, status("/unauthorized"));
+        assertEquals(503, status("/unavailable"));
+
+        CircuitBreaker.Metrics metrics = circuitBreaker.getMetrics();
+        assertEquals(2, metrics.getNumberOfSuccessfulCalls());
+        assertEquals(1, metrics.getNumberOfFailedCalls());
+    }
+
+    @Test
+    public void testCircuitBreaker_ResponseTimeoutIsAFailure() {
+        assertThrows(Exception.class, () -> status("/slow"));
+
+        assertEquals(1, circuitBreaker.getMetrics().getNumberOfFailedCalls());
+    }
+
+    @Test
+    public void testCircuitBreaker_OpenBreakerDoesNotCallSupabase() {
+        circuitBreaker.transitionToOpenState();
+
+        Exception e = assertThrows(Exception.class, () -> status("/ok"));
+
+        assertInstanceOf(CallNotPermittedException.class, e);
+        assertEquals(0, requests.get());
+        assertEquals(1, circuitBreaker.getMetrics().getNumberOfNotPermittedCalls());
+    }
+
+    private int status(String path) {
+        return client.get().uri(path)
+                .exchangeToMono(response -> response.releaseBody().thenReturn(response.statusCode().value()))
+                .block();
+    }
+
+    private void respond(String path, int status) {
+        supabase.createContext(path, exchange -> {
+            requests.incrementAndGet();
+            byte[] body = "{}".getBytes();
+            exchange.sendResponseHeaders(status, body.length);
+            exchange.getResponseBody().write(body);
+            exchange.close();
+        });
+    }
+}
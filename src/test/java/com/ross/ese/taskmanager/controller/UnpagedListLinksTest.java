@@ -0,0 +1,57 @@
+package com.ross.ese.taskmanager.controller;
+
+import com.ross.ese.taskmanager.config.PaginationProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class UnpagedListLinksTest {
+
+    private UnpagedListLinks links;
+    private MockHttpServletRequest request;
+    private MockHttpServletResponse response;
+
+    @BeforeEach
+    public void setup() {
+        PaginationProperties properties = new PaginationProperties();
+        properties.setMaxUnpaged(2);
+        properties.setMaxLimit(500);
+        links = new UnpagedListLinks(properties);
+        request = new MockHttpServletRequest("GET", "/api/tasks");
+        request.setQueryString("view=full");
+        request.setParameter("view", "full");
+        response = new MockHttpServletResponse();
+    }
+
+    @Test
+    public void testLinkNext_ListCutAtMaxUnpaged() {
+        links.linkNext(List.of(3L, 8L), Function.identity(), request, response);
+
+        assertEquals("<http://localhost/api/tasks?view=full&after=8&limit=500>; rel=\"next\"",
+                response.getHeader(HttpHeaders.LINK));
+    }
+
+    @Test
+    public void testLinkNext_CompleteListHasNoLink() {
+        links.linkNext(List.of(3L), Function.identity(), request, response);
+
+        assertNull(response.getHeader(HttpHeaders.LINK));
+    }
+
+    @Test
+    public void testLinkNext_RowsWithoutIdHaveNoLink() {
+        List<Map<String, Object>> rows = List.of(Map.of("title", "A"), Map.of("title", "B"));
+
+        links.linkNext(rows, TaskController.ROW_ID, request, response);
+
+        assertNull(response.getHeader(HttpHeaders.LINK));
+    }
+}
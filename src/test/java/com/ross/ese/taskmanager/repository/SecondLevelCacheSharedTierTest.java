@@ -0,0 +1,52 @@
+package com.ross.ese.taskmanager.repository;
+
+import com.ross.ese.taskmanager.model.Project;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * With the shared cache tier on, other instances may change projects and users, so
+ * they are read from the database rather than from the local second-level cache.
+ */
+@SpringBootTest(properties = {"app.cache.shared.enabled=true", "app.cache.shared.type=in-memory"})
+@ActiveProfiles("test")
+public class SecondLevelCacheSharedTierTest {
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @AfterEach
+    public void cleanup() {
+        projectRepository.deleteAll();
+    }
+
+    @Test
+    public void testSecondLevelCache_DisabledWithSharedTier() {
+        assertFalse(entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getSessionFactoryOptions().isSecondLevelCacheEnabled());
+
+        Project project = new Project();
+        project.setName("Uncached project");
+        Long id = projectRepository.save(project).getId();
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        projectRepository.findById(id);
+        projectRepository.findById(id);
+
+        assertEquals(0, statistics.getSecondLevelCacheHitCount());
+        assertEquals(2, statistics.getEntityLoadCount());
+    }
+}
@@ -0,0 +1,111 @@
+package com.ross.ese.taskmanager.repository;
+
+import com.ross.ese.taskmanager.model.ERole;
+import com.ross.ese.taskmanager.model.Project;
+import com.ross.ese.taskmanager.model.Role;
+import com.ross.ese.taskmanager.model.User;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Each repository call below runs in its own transaction and persistence context,
+ * so repeated reads can only be served by the second-level cache.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+public class SecondLevelCacheTest {
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    public void setup() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @AfterEach
+    public void cleanup() {
+        projectRepository.deleteAll();
+        userRepository.deleteAll();
+        roleRepository.deleteAll();
+    }
+
+    @Test
+    public void testProjectFindById_ServedFromCache() {
+        Project project = new Project();
+        project.setName("Cached project");
+        Long id = projectRepository.save(project).getId();
+        projectRepository.findById(id);
+        statistics.clear();
+
+        assertEquals("Cached project", projectRepository.findById(id).orElseThrow().getName());
+        assertEquals("Cached project", projectRepository.findById(id).orElseThrow().getName());
+
+        assertEquals(2, statistics.getDomainDataRegionStatistics("project").getHitCount());
+        assertEquals(0, statistics.getEntityStatistics(Project.class.getName()).getLoadCount());
+    }
+
+    @Test
+    public void testProjectUpdate_UpdatesCachedEntity() {
+        Project project = new Project();
+        project.setName("Before");
+        project = projectRepository.save(project);
+        projectRepository.findById(project.getId());
+
+        project.setName("After");
+        projectRepository.save(project);
+
+        assertEquals("After", projectRepository.findById(project.getId()).orElseThrow().getName());
+    }
+
+    @Test
+    public void testUserRoles_ServedFromCache() {
+        Role role = roleRepository.save(new Role(ERole.ROLE_MANAGER));
+        User user = new User("cached", "cached@example.com", "password");
+        user.getRoles().add(role);
+        Long id = userRepository.save(user).getId();
+        userRepository.findById(id);
+        statistics.clear();
+
+        User cached = userRepository.findById(id).orElseThrow();
+
+        assertEquals(ERole.ROLE_MANAGER, cached.getRoles().iterator().next().getName());
+        assertEquals(1, statistics.getDomainDataRegionStatistics("user").getHitCount());
+        assertEquals(1, statistics.getDomainDataRegionStatistics("user-roles").getHitCount());
+        assertEquals(0, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    public void testRoleFindByName_ServedFromQueryCache() {
+        roleRepository.save(new Role(ERole.ROLE_ADMIN));
+        statistics.clear();
+
+        assertTrue(roleRepository.findByName(ERole.ROLE_ADMIN).isPresent());
+        assertTrue(roleRepository.findByName(ERole.ROLE_ADMIN).isPresent());
+
+        assertEquals(1, statistics.getQueryCacheMissCount());
+        assertEquals(1, statistics.getQueryCacheHitCount());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+}
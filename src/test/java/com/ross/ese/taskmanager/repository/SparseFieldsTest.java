@@ -0,0 +1,131 @@
+package com.ross.ese.taskmanager.repository;
+
+import com.ross.ese.taskmanager.dto.CursorPageResponse;
+import com.ross.ese.taskmanager.dto.ProjectCreateRequest;
+import com.ross.ese.taskmanager.dto.TaskCreateRequest;
+import com.ross.ese.taskmanager.dto.TaskUpdateRequest;
+import com.ross.ese.taskmanager.model.TaskStatus;
+import com.ross.ese.taskmanager.service.ProjectService;
+import com.ross.ese.taskmanager.service.TaskService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+public class SparseFieldsTest {
+
+    @Autowired
+    private ProjectService projectService;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    private Long projectId;
+
+    @BeforeEach
+    public void setup() {
+        ProjectCreateRequest project = new ProjectCreateRequest();
+        project.setName("Mobile");
+        project.setDescription("Mobile app");
+        projectId = projectService.createProject(project).getId();
+        for (String title : List.of("A", "B", "C")) {
+            TaskCreateRequest task = new TaskCreateRequest();
+            task.setTitle(title);
+            task.setDescription("Description of " + title);
+            task.setProjectId(projectId);
+            taskService.createTask(task);
+        }
+        TaskCreateRequest unassigned = new TaskCreateRequest();
+        unassigned.setTitle("D");
+        taskService.createTask(unassigned);
+    }
+
+    @AfterEach
+    public void cleanup() {
+        taskRepository.deleteAll();
+        projectRepository.findAllIds().forEach(projectService::deleteProject);
+    }
+
+    @Test
+    public void testTaskFields_OnlyRequestedFields() {
+        List<Map<String, Object>> tasks = taskService.getTaskFields("id,title,status", null, null);
+
+        assertEquals(4, tasks.size());
+        assertEquals(List.of("id", "title", "status"), List.copyOf(tasks.get(0).keySet()));
+        assertEquals("A", tasks.get(0).get("title"));
+        assertEquals(TaskStatus.TODO, tasks.get(0).get("status"));
+    }
+
+    @Test
+    public void testTaskFields_ProjectFilterAndProjectName() {
+        List<Map<String, Object>> tasks = taskService.getTaskFields("title,projectName", projectId, null);
+
+        assertEquals(3, tasks.size());
+        assertEquals(List.of("title", "projectName"), List.copyOf(tasks.get(0).keySet()));
+        assertEquals("Mobile", tasks.get(0).get("projectName"));
+    }
+
+    @Test
+    public void testTaskFieldsPage_CursorWithoutRequestedId() {
+        CursorPageResponse<Map<String, Object>> page = taskService.getTaskFieldsPage("title", null, null, null, 2);
+
+        assertEquals(List.of(Map.of("title", "A"), Map.of("title", "B")), page.getItems());
+        assertNotNull(page.getNextCursor());
+
+        CursorPageResponse<Map<String, Object>> next =
+                taskService.getTaskFieldsPage("title", null, null, page.getNextCursor(), 2);
+        assertEquals(List.of(Map.of("title", "C"), Map.of("title", "D")), next.getItems());
+        assertNull(next.getNextCursor());
+    }
+
+    @Test
+    public void testTaskFieldsById_NotFound() {
+        assertThrows(ResponseStatusException.class, () -> taskService.getTaskFieldsById(-1L, "title"));
+    }
+
+    @Test
+    public void testFields_UnknownFieldRejected() {
+        assertThrows(ResponseStatusException.class, () -> taskService.getTaskFields("title,password", null, null));
+        assertThrows(ResponseStatusException.class, () -> projectService.getProjectFields(" , "));
+    }
+
+    @Test
+    public void testProjectFields_Counts() {
+        Long taskId = taskRepository.findAllResponses(Limit.of(1)).get(0).getId();
+        TaskUpdateRequest update = new TaskUpdateRequest();
+        update.setStatus(TaskStatus.DONE);
+        taskService.updateTask(taskId, update);
+
+        Map<String, Object> project = projectService.getProjectFieldsById(projectId, "name,taskCount,statusCounts");
+
+        assertEquals(List.of("name", "taskCount", "statusCounts"), List.copyOf(project.keySet()));
+        assertEquals("Mobile", project.get("name"));
+        assertEquals(3, project.get("taskCount"));
+        assertEquals(Map.of(TaskStatus.TODO, 2, TaskStatus.IN_PROGRESS, 0, TaskStatus.REVIEW, 0, TaskStatus.DONE, 1),
+                project.get("statusCounts"));
+    }
+
+    @Test
+    public void testProjectFields_ListWithoutCounters() {
+        List<Map<String, Object>> projects = projectService.getProjectFields("id,description");
+
+        assertEquals(List.of(Map.of("id", projectId, "description", "Mobile app")), projects);
+    }
+}
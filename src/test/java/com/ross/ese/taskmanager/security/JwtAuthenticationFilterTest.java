@@ -0,0 +1,136 @@
+package com.ross.ese.taskmanager.security;
+
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.crypto.MACSigner;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.SignedJWT;
+import com.ross.ese.taskmanager.config.ApplicationConfig;
+import com.ross.ese.taskmanager.config.JwtVerificationProperties;
+import com.ross.ese.taskmanager.config.SupabaseProperties;
+import com.ross.ese.taskmanager.dto.UserAccount;
+import com.ross.ese.taskmanager.model.ERole;
+import com.ross.ese.taskmanager.service.SupabaseAuthService;
+import com.ross.ese.taskmanager.service.UserService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.time.Instant;
+import java.util.Date;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+public class JwtAuthenticationFilterTest {
+
+    private static final String SECRET = "testing-jwt-secret-key-must-be-at-least-32-chars-long-for-testing";
+    private static final String ISSUER = "https://example.supabase.co/auth/v1";
+
+    private JwtVerificationProperties properties;
+    private SupabaseAuthService supabaseAuthService;
+    private UserService userService;
+    private JwtAuthenticationFilter filter;
+
+    @BeforeEach
+    public void setup() {
+        properties = new JwtVerificationProperties();
+        properties.setMode(JwtVerificationProperties.Mode.LOCAL);
+        properties.setHmacSecret(SECRET);
+        properties.setAudience("authenticated");
+
+        SupabaseProperties supabaseProperties = new SupabaseProperties();
+        supabaseProperties.setUrl("https://example.supabase.co");
+
+        supabaseAuthService = mock(SupabaseAuthService.class);
+        userService = mock(UserService.class);
+        filter = new JwtAuthenticationFilter(supabaseAuthService, new ApplicationConfig(),
+                new SupabaseJwtVerifier(properties, supabaseProperties), properties, userService);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    public void testFilter_KnownAccountRolesAreMapped() throws Exception {
+        when(userService.findAccountByEmail("admin@example.com")).thenReturn(Optional.of(
+                new UserAccount(7L, "admin", "admin@example.com", EnumSet.of(ERole.ROLE_ADMIN))));
+
+        Authentication authentication = filter(hs256(claims("admin@example.com").build()));
+
+        AuthenticatedUser user = (AuthenticatedUser) authentication.getPrincipal();
+        assertEquals(7L, user.userId());
+        assertEquals("admin", user.username());
+        assertEquals(Set.of("ROLE_USER", "ROLE_ADMIN"), authorities(authentication));
+    }
+
+    @Test
+    public void testFilter_SpoofedMetadataUsernameGetsNoExtraRoles() throws Exception {
+        when(userService.findAccountByEmail(anyString())).thenReturn(Optional.empty());
+        when(userService.findAccountByEmail("admin@example.com")).thenReturn(Optional.of(
+                new UserAccount(7L, "admin", "admin@example.com", EnumSet.of(ERole.ROLE_ADMIN))));
+
+        Authentication authentication = filter(hs256(claims("mallory@example.com")
+                .claim("user_metadata", Map.of("username", "admin"))
+                .build()));
+
+        AuthenticatedUser user = (AuthenticatedUser) authentication.getPrincipal();
+        assertNull(user.userId());
+        assertEquals("mallory@example.com", user.username());
+        assertEquals(Set.of("ROLE_USER"), authorities(authentication));
+        verify(userService, never()).findAccountByEmail("admin@example.com");
+    }
+
+    @Test
+    public void testFilter_UnreadableClaimsAfterRemoteVerificationAreRejected() throws Exception {
+        properties.setMode(JwtVerificationProperties.Mode.REMOTE);
+        when(supabaseAuthService.verifyToken("not-a-jwt")).thenReturn(true);
+
+        assertNull(filter("not-a-jwt"));
+        verifyNoInteractions(userService);
+    }
+
+    private Authentication filter(String token) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader("Authorization", "Bearer " + token);
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+        return SecurityContextHolder.getContext().getAuthentication();
+    }
+
+    private static Set<String> authorities(Authentication authentication) {
+        return authentication.getAuthorities().stream()
+                .map(GrantedAuthority::getAuthority)
+                .collect(Collectors.toSet());
+    }
+
+    private JWTClaimsSet.Builder claims(String email) {
+        return new JWTClaimsSet.Builder()
+                .subject("user-123")
+                .issuer(ISSUER)
+                .audience("authenticated")
+                .claim("email", email)
+                .claim("role", "authenticated")
+                .issueTime(new Date())
+                .expirationTime(Date.from(Instant.now().plusSeconds(3600)));
+    }
+
+    private String hs256(JWTClaimsSet claims) throws Exception {
+        SignedJWT jwt = new SignedJWT(new JWSHeader(JWSAlgorithm.HS256), claims);
+        jwt.sign(new MACSigner(SECRET));
+        return jwt.serialize();
+    }
+}
@@ -0,0 +1,176 @@
+package com.ross.ese.taskmanager.security;
+
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.crypto.ECDSASigner;
+import com.nimbusds.jose.crypto.MACSigner;
+import com.nimbusds.jose.jwk.Curve;
+import com.nimbusds.jose.jwk.ECKey;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.gen.ECKeyGenerator;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.SignedJWT;
+import com.ross.ese.taskmanager.config.JwtVerificationProperties;
+import com.ross.ese.taskmanager.config.SupabaseProperties;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.oauth2.jwt.BadJwtException;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtException;
+
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Date;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SupabaseJwtVerifierTest {
+
+    private static final String SECRET = "testing-jwt-secret-key-must-be-at-least-32-chars-long-for-testing";
+    private static final String ISSUER = "https://example.supabase.co/auth/v1";
+
+    private JwtVerificationProperties properties;
+    private SupabaseProperties supabaseProperties;
+    private HttpServer jwksServer;
+
+    @BeforeEach
+    public void setup() {
+        properties = new JwtVerificationProperties();
+        properties.setMode(JwtVerificationProperties.Mode.LOCAL);
+        properties.setHmacSecret(SECRET);
+        properties.setAudience("authenticated");
+
+        supabaseProperties = new SupabaseProperties();
+        supabaseProperties.setUrl("https://example.supabase.co");
+    }
+
+    @AfterEach
+    public void tearDown() {
+        if (jwksServer != null) {
+            jwksServer.stop(0);
+        }
+    }
+
+    @Test
+    public void testVerify_ValidHs256Token() throws Exception {
+        SupabaseJwtVerifier verifier = new SupabaseJwtVerifier(properties, supabaseProperties);
+
+        Jwt jwt = verifier.verify(hs256(claims(Instant.now().plusSeconds(3600)).build()));
+
+        assertEquals("user-123", jwt.getSubject());
+        assertEquals("user@example.com", jwt.getClaimAsString("email"));
+    }
+
+    @Test
+    public void testVerify_ExpiredToken() throws Exception {
+        SupabaseJwtVerifier verifier = new SupabaseJwtVerifier(properties, supabaseProperties);
+        String token = hs256(claims(Instant.now().minusSeconds(3600)).build());
+
+        assertThrows(BadJwtException.class, () -> verifier.verify(token));
+    }
+
+    @Test
+    public void testVerify_MissingExpiry() throws Exception {
+        SupabaseJwtVerifier verifier = new SupabaseJwtVerifier(properties, supabaseProperties);
+        String token = hs256(claims(Instant.now().plusSeconds(3600)).expirationTime(null).build());
+
+        assertThrows(BadJwtException.class, () -> verifier.verify(token));
+    }
+
+    @Test
+    public void testVerify_WrongIssuer() throws Exception {
+        SupabaseJwtVerifier verifier = new SupabaseJwtVerifier(properties, supabaseProperties);
+        String token = hs256(claims(Instant.now().plusSeconds(3600)).issuer("https://evil.example.com").build());
+
+        assertThrows(BadJwtException.class, () -> verifier.verify(token));
+    }
+
+    @Test
+    public void testVerify_WrongAudience() throws Exception {
+        SupabaseJwtVerifier verifier = new SupabaseJwtVerifier(properties, supabaseProperties);
+        String token = hs256(claims(Instant.now().plusSeconds(3600)).audience("anon").build());
+
+        assertThrows(BadJwtException.class, () -> verifier.verify(token));
+    }
+
+    @Test
+    public void testVerify_TamperedSignature() throws Exception {
+        SupabaseJwtVerifier verifier = new SupabaseJwtVerifier(properties, supabaseProperties);
+        String token = hs256(claims(Instant.now().plusSeconds(3600)).build());
+        String tampered = token.substring(0, token.length() - 4) + "AAAA";
+
+        assertThrows(BadJwtException.class, () -> verifier.verify(tampered));
+    }
+
+    @Test
+    public void testVerify_Hs256WithoutSecretIsNotAnInvalidToken() throws Exception {
+        properties.setHmacSecret(null);
+        properties.setFallbackToRemote(true);
+        SupabaseJwtVerifier verifier = new SupabaseJwtVerifier(properties, supabaseProperties);
+        String token = hs256(claims(Instant.now().plusSeconds(3600)).build());
+
+        JwtException e = assertThrows(JwtException.class, () -> verifier.verify(token));
+        assertFalse(e instanceof BadJwtException);
+    }
+
+    @Test
+    public void testConstructor_LocalModeWithoutKeysFailsFast() {
+        properties.setHmacSecret(null);
+        properties.setJwksUri("http://localhost:1/jwks.json");
+
+        assertThrows(IllegalStateException.class, () -> new SupabaseJwtVerifier(properties, supabaseProperties));
+    }
+
+    @Test
+    public void testConstructor_RemoteModeWithoutKeysStarts() {
+        properties.setHmacSecret(null);
+        properties.setJwksUri("http://localhost:1/jwks.json");
+        properties.setMode(JwtVerificationProperties.Mode.REMOTE);
+
+        assertDoesNotThrow(() -> new SupabaseJwtVerifier(properties, supabaseProperties));
+    }
+
+    @Test
+    public void testVerify_Es256TokenFromJwks() throws Exception {
+        ECKey signingKey = new ECKeyGenerator(Curve.P_256).keyID("key-1").generate();
+        byte[] jwks = new JWKSet(signingKey.toPublicJWK()).toString().getBytes(StandardCharsets.UTF_8);
+
+        jwksServer = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        jwksServer.createContext("/jwks.json", exchange -> {
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, jwks.length);
+            exchange.getResponseBody().write(jwks);
+            exchange.close();
+        });
+        jwksServer.start();
+        properties.setJwksUri("http://localhost:" + jwksServer.getAddress().getPort() + "/jwks.json");
+
+        SupabaseJwtVerifier verifier = new SupabaseJwtVerifier(properties, supabaseProperties);
+        SignedJWT jwt = new SignedJWT(
+                new JWSHeader.Builder(JWSAlgorithm.ES256).keyID("key-1").build(),
+                claims(Instant.now().plusSeconds(3600)).build());
+        jwt.sign(new ECDSASigner(signingKey));
+
+        assertEquals("user-123", verifier.verify(jwt.serialize()).getSubject());
+    }
+
+    private JWTClaimsSet.Builder claims(Instant expiresAt) {
+        return new JWTClaimsSet.Builder()
+                .subject("user-123")
+                .issuer(ISSUER)
+                .audience("authenticated")
+                .claim("email", "user@example.com")
+                .claim("role", "authenticated")
+                .issueTime(new Date())
+                .expirationTime(Date.from(expiresAt));
+    }
+
+    private String hs256(JWTClaimsSet claims) throws Exception {
+        SignedJWT jwt = new SignedJWT(new JWSHeader(JWSAlgorithm.HS256), claims);
+        jwt.sign(new MACSigner(SECRET));
+        return jwt.serialize();
+    }
+}
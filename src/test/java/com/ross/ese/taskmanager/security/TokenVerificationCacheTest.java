@@ -0,0 +1,214 @@
+package com.ross.ese.taskmanager.security;
+
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.crypto.MACSigner;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.SignedJWT;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TokenVerificationCacheTest {
+
+    private static final String SECRET = "testing-jwt-secret-key-must-be-at-least-32-chars-long-for-testing";
+
+    private SimpleMeterRegistry meterRegistry;
+    private TokenVerificationCache cache;
+    private AtomicInteger remoteCalls;
+
+    @BeforeEach
+    public void setup() {
+        meterRegistry = new SimpleMeterRegistry();
+        cache = new TokenVerificationCache(true, 100, Duration.ofMinutes(5), Duration.ofSeconds(30), meterRegistry);
+        remoteCalls = new AtomicInteger();
+    }
+
+    @Test
+    public void testVerify_ValidTokenIsCached() throws Exception {
+        String token = token(Instant.now().plusSeconds(3600));
+
+        assertTrue(cache.verify(token, answering(true)).block());
+        assertTrue(cache.verify(token, answering(true)).block());
+
+        assertEquals(1, remoteCalls.get());
+        assertEquals(1.0, meterRegistry.get("cache.gets").tag("cache", "token-verification")
+                .tag("result", "hit").functionCounter().count());
+    }
+
+    @Test
+    public void testVerify_RejectedTokenIsCached() throws Exception {
+        String token = token(Instant.now().plusSeconds(3600));
+
+        assertFalse(cache.verify(token, answering(false)).block());
+        assertFalse(cache.verify(token, answering(true)).block());
+
+        assertEquals(1, remoteCalls.get());
+    }
+
+    @Test
+    public void testVerify_UnknownResultIsNotCached() throws Exception {
+        String token = token(Instant.now().plusSeconds(3600));
+
+        assertFalse(cache.verify(token, answering(null)).block());
+        assertTrue(cache.verify(token, answering(true)).block());
+
+        assertEquals(2, remoteCalls.get());
+    }
+
+    @Test
+    public void testVerify_ExpiredTokenIsNotCached() throws Exception {
+        String token = token(Instant.now().minusSeconds(60));
+
+        assertTrue(cache.verify(token, answering(true)).block());
+        assertTrue(cache.verify(token, answering(true)).block());
+
+        assertEquals(2, remoteCalls.get());
+    }
+
+    @Test
+    public void testVerify_Disabled() throws Exception {
+        cache = new TokenVerificationCache(false, 100, Duration.ofMinutes(5), Duration.ofSeconds(30), meterRegistry);
+        String token = token(Instant.now().plusSeconds(3600));
+
+        cache.verify(token, answering(true)).block();
+        cache.verify(token, answering(true)).block();
+
+        assertEquals(2, remoteCalls.get());
+    }
+
+    @Test
+    public void testVerify_ConcurrentCallsShareOneVerification() throws Exception {
+        String token = token(Instant.now().plusSeconds(3600));
+        int callers = 10;
+        CountDownLatch startGate = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(callers);
+
+        Function<String, Mono<Boolean>> slowVerifier = t -> Mono.fromCallable(() -> {
+            remoteCalls.incrementAndGet();
+            Thread.sleep(200);
+            return true;
+        });
+
+        try {
+            List<Future<Boolean>> results = new ArrayList<>();
+            for (int i = 0; i < callers; i++) {
+                results.add(executor.submit(() -> {
+                    startGate.await();
+                    return cache.verify(token, slowVerifier).block();
+                }));
+            }
+            startGate.countDown();
+
+            for (Future<Boolean> result : results) {
+                assertTrue(result.get());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(1, remoteCalls.get());
+    }
+
+    @Test
+    public void testVerify_WaiterRetriesWhenLeaderFails() throws Exception {
+        String token = token(Instant.now().plusSeconds(3600));
+        CountDownLatch leaderStarted = new CountDownLatch(1);
+        CountDownLatch releaseLeader = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+
+        Function<String, Mono<Boolean>> failingVerifier = t -> Mono.fromCallable(() -> {
+            remoteCalls.incrementAndGet();
+            leaderStarted.countDown();
+            releaseLeader.await();
+            throw new IllegalStateException("Supabase unavailable");
+        });
+
+        try {
+            Future<Boolean> leader = executor.submit(() -> cache.verify(token, failingVerifier).block());
+            leaderStarted.await();
+            // Subscribed now, so it joins the leader's call
+            CompletableFuture<Boolean> waiter = cache.verify(token, answering(true)).toFuture();
+            releaseLeader.countDown();
+
+            assertTrue(waiter.get());
+            assertThrows(Exception.class, leader::get);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(2, remoteCalls.get());
+        assertEquals(1.0, meterRegistry.get("token.verification.coalesced").counter().count());
+    }
+
+    @Test
+    public void testVerify_WaitersShareOneRetryWhenLeaderFails() throws Exception {
+        String token = token(Instant.now().plusSeconds(3600));
+        CountDownLatch leaderStarted = new CountDownLatch(1);
+        CountDownLatch releaseLeader = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+
+        Function<String, Mono<Boolean>> failingVerifier = t -> Mono.fromCallable(() -> {
+            remoteCalls.incrementAndGet();
+            leaderStarted.countDown();
+            releaseLeader.await();
+            throw new IllegalStateException("Supabase unavailable");
+        });
+        // Still in flight when the other waiters retry
+        Function<String, Mono<Boolean>> slowVerifier = t -> Mono.delay(Duration.ofMillis(200))
+                .map(tick -> remoteCalls.incrementAndGet() > 0);
+
+        try {
+            Future<Boolean> leader = executor.submit(() -> cache.verify(token, failingVerifier).block());
+            leaderStarted.await();
+            List<CompletableFuture<Boolean>> waiters = new ArrayList<>();
+            for (int i = 0; i < 5; i++) {
+                waiters.add(cache.verify(token, slowVerifier).toFuture());
+            }
+            releaseLeader.countDown();
+
+            for (CompletableFuture<Boolean> waiter : waiters) {
+                assertTrue(waiter.get(5, TimeUnit.SECONDS));
+            }
+            assertThrows(Exception.class, leader::get);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(2, remoteCalls.get());
+    }
+
+    private Function<String, Mono<Boolean>> answering(Boolean result) {
+        return token -> Mono.fromSupplier(() -> {
+            remoteCalls.incrementAndGet();
+            return result;
+        });
+    }
+
+    private String token(Instant expiresAt) throws Exception {
+        JWTClaimsSet claims = new JWTClaimsSet.Builder()
+                .subject("user-123")
+                .expirationTime(Date.from(expiresAt))
+                .build();
+        SignedJWT jwt = new SignedJWT(new JWSHeader(JWSAlgorithm.HS256), claims);
+        jwt.sign(new MACSigner(SECRET));
+        return jwt.serialize();
+    }
+}
@@ -0,0 +1,323 @@
+package com.ross.ese.taskmanager.service;
+
+import com.ross.ese.taskmanager.cache.TaskCacheGenerations;
+import com.ross.ese.taskmanager.dto.ProjectCreateRequest;
+import com.ross.ese.taskmanager.dto.ProjectDeletionJobResponse;
+import com.ross.ese.taskmanager.dto.ProjectResponse;
+import com.ross.ese.taskmanager.dto.TaskCreateRequest;
+import com.ross.ese.taskmanager.dto.TaskResponse;
+import com.ross.ese.taskmanager.model.DeletionJobStatus;
+import com.ross.ese.taskmanager.model.Project;
+import com.ross.ese.taskmanager.model.ProjectDeletionJob;
+import com.ross.ese.taskmanager.model.TaskStatus;
+import com.ross.ese.taskmanager.repository.ProjectDeletionJobRepository;
+import com.ross.ese.taskmanager.repository.ProjectRepository;
+import com.ross.ese.taskmanager.repository.ProjectTaskCountsRepository;
+import com.ross.ese.taskmanager.repository.TaskRepository;
+import com.ross.ese.taskmanager.service.impl.ProjectDeletionWorker;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = "app.project-delete.chunk-size=3")
+@ActiveProfiles("test")
+public class ProjectDeletionTest {
+
+    @Autowired
+    private ProjectService projectService;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private ProjectTaskCountsRepository projectTaskCountsRepository;
+
+    @Autowired
+    private ProjectDeletionJobRepository projectDeletionJobRepository;
+
+    @Autowired
+    private ProjectDeletionWorker projectDeletionWorker;
+
+    @Autowired
+    private TaskCacheGenerations taskCacheGenerations;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @AfterEach
+    public void cleanup() {
+        taskRepository.deleteAll();
+        projectRepository.findAllIds().forEach(projectService::deleteProject);
+    }
+
+    @Test
+    public void testDeleteProject_DeletesTasksInChunks() {
+        Long deleted = createProject("Deleted");
+        Long kept = createProject("Kept");
+        List<Long> deletedTasks = createTasks(deleted, 7);
+        List<Long> keptTasks = createTasks(kept, 2);
+
+        projectService.deleteProject(deleted);
+
+        assertFalse(projectRepository.existsById(deleted));
+        assertFalse(projectTaskCountsRepository.existsById(deleted));
+        assertTrue(deletedTasks.stream().noneMatch(taskRepository::existsById));
+        assertTrue(keptTasks.stream().allMatch(taskRepository::existsById));
+    }
+
+    @Test
+    public void testDeleteProject_EvictsOnlyItsCacheEntries() {
+        Long deleted = createProject("Deleted");
+        Long kept = createProject("Kept");
+        Long deletedTask = createTasks(deleted, 4).get(0);
+        Long keptTask = createTasks(kept, 1).get(0);
+        taskService.getTaskById(deletedTask);
+        taskService.getTaskById(keptTask);
+        taskService.getTasksByProject(kept);
+        String keptListKey = taskCacheGenerations.projectKey(kept);
+        String allKey = taskCacheGenerations.allKey();
+
+        projectService.deleteProject(deleted);
+
+        Cache tasks = cacheManager.getCache("tasks");
+        assertNull(tasks.get(taskCacheGenerations.taskKey(deletedTask)));
+        assertNotNull(tasks.get(taskCacheGenerations.taskKey(keptTask)));
+        assertEquals(keptListKey, taskCacheGenerations.projectKey(kept));
+        assertNotNull(tasks.get(keptListKey));
+        assertNotEquals(allKey, taskCacheGenerations.allKey());
+        assertThrows(ResponseStatusException.class, () -> taskService.getTaskById(deletedTask));
+    }
+
+    @Test
+    public void testDeleteProjectAsync_HidesProjectAndReportsProgress() throws InterruptedException {
+        Long deleted = createProject("Deleted");
+        Long kept = createProject("Kept");
+        List<Long> deletedTasks = createTasks(deleted, 7);
+
+        ProjectDeletionJobResponse job = projectService.deleteProjectAsync(deleted);
+
+        assertEquals(7, job.getTasksTotal());
+        assertThrows(ResponseStatusException.class, () -> projectService.getProjectById(deleted));
+        assertEquals(List.of(kept), projectService.getAllProjects().stream().map(ProjectResponse::getId).toList());
+
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (projectService.getDeletionJob(job.getId()).getStatus() != DeletionJobStatus.COMPLETED
+                && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+        }
+        ProjectDeletionJobResponse finished = projectService.getDeletionJob(job.getId());
+        assertEquals(DeletionJobStatus.COMPLETED, finished.getStatus());
+        assertEquals(7, finished.getTasksDeleted());
+        assertNotNull(finished.getFinishedAt());
+        assertFalse(projectRepository.existsById(deleted));
+        assertTrue(deletedTasks.stream().noneMatch(taskRepository::existsById));
+    }
+
+    @Test
+    public void testDeleteProjectAsync_FinishesProjectLeftHidden() throws InterruptedException {
+        Long deleted = createProject("Deleted");
+        List<Long> deletedTasks = createTasks(deleted, 4);
+        // The state a synchronous delete leaves when a chunk fails
+        Project project = projectRepository.findById(deleted).orElseThrow();
+        project.setDeleting(true);
+        projectRepository.save(project);
+
+        assertThrows(ResponseStatusException.class, () -> projectService.getProjectById(deleted));
+        assertThrows(ResponseStatusException.class, () -> projectService.deleteProject(deleted));
+
+        ProjectDeletionJobResponse job = projectService.deleteProjectAsync(deleted);
+
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (projectService.getDeletionJob(job.getId()).getStatus() != DeletionJobStatus.COMPLETED
+                && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+        }
+        assertEquals(DeletionJobStatus.COMPLETED, projectService.getDeletionJob(job.getId()).getStatus());
+        assertFalse(projectRepository.existsById(deleted));
+        assertTrue(deletedTasks.stream().noneMatch(taskRepository::existsById));
+    }
+
+    @Test
+    public void testDeleteProjectAsync_ConcurrentRequestsCreateOneJob() throws Exception {
+        Long deleted = createProject("Deleted");
+        createTasks(deleted, 7);
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        List<Future<ProjectDeletionJobResponse>> requests = new ArrayList<>();
+        try {
+            for (int i = 0; i < 4; i++) {
+                requests.add(executor.submit(() -> {
+                    start.await();
+                    return projectService.deleteProjectAsync(deleted);
+                }));
+            }
+            start.countDown();
+            for (Future<ProjectDeletionJobResponse> request : requests) {
+                try {
+                    request.get();
+                } catch (ExecutionException e) {
+                    // The job may have finished before a late request, which then finds no project
+                    assertInstanceOf(ResponseStatusException.class, e.getCause());
+                }
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        List<ProjectDeletionJob> jobs = projectDeletionJobRepository.findAll().stream()
+                .filter(job -> job.getProjectId().equals(deleted))
+                .toList();
+        assertEquals(1, jobs.size());
+        awaitCompleted(jobs.get(0).getId());
+    }
+
+    @Test
+    public void testDeleteProjectAsync_HidesTasksFromCachedLists() throws InterruptedException {
+        Long deleted = createProject("Deleted");
+        Long kept = createProject("Kept");
+        createTasks(deleted, 7);
+        List<Long> keptTasks = createTasks(kept, 2);
+        assertEquals(9, taskService.getAllTasks().size());
+        assertEquals(7, taskService.getTasksByProject(deleted).size());
+        assertEquals(9, taskService.getTasksByStatus(TaskStatus.TODO).size());
+
+        ProjectDeletionJobResponse job = projectService.deleteProjectAsync(deleted);
+
+        assertEquals(keptTasks, taskService.getAllTasks().stream().map(TaskResponse::getId).toList());
+        assertTrue(taskService.getTasksByProject(deleted).isEmpty());
+        assertEquals(keptTasks, taskService.getTasksByStatus(TaskStatus.TODO).stream().map(TaskResponse::getId).toList());
+        awaitCompleted(job.getId());
+    }
+
+    @Test
+    public void testTaskQueries_LeaveOutTasksOfHiddenProject() throws InterruptedException {
+        Long deleted = createProject("Deleted");
+        Long kept = createProject("Kept");
+        List<Long> deletedTasks = createTasks(deleted, 2);
+        List<Long> keptTasks = createTasks(kept, 2);
+        Project project = projectRepository.findById(deleted).orElseThrow();
+        project.setDeleting(true);
+        projectRepository.save(project);
+
+        assertEquals(keptTasks, taskRepository.findAllResponses(Limit.unlimited()).stream()
+                .map(TaskResponse::getId).toList());
+        assertTrue(taskRepository.findSummaryPageByProjectId(deleted, 0L, Limit.of(10)).isEmpty());
+        assertEquals(keptTasks.size(), taskService.getTaskFields("title", null, null).size());
+        assertThrows(ResponseStatusException.class, () -> taskService.getTaskById(deletedTasks.get(0)));
+        assertThrows(ResponseStatusException.class, () -> taskService.getTaskFieldsById(deletedTasks.get(0), "title"));
+
+        awaitCompleted(projectService.deleteProjectAsync(deleted).getId());
+    }
+
+    @Test
+    public void testResumeUnfinished_LeavesJobsLeasedByAnotherNode() throws InterruptedException {
+        Long deleted = createProject("Deleted");
+        List<Long> deletedTasks = createTasks(deleted, 4);
+        Project project = projectRepository.findById(deleted).orElseThrow();
+        project.setDeleting(true);
+        projectRepository.save(project);
+        // A job another live node is running
+        ProjectDeletionJob job = new ProjectDeletionJob(deleted, 4);
+        job.setStatus(DeletionJobStatus.RUNNING);
+        job.setOwner("other-node");
+        job.setHeartbeatAt(LocalDateTime.now());
+        Long jobId = projectDeletionJobRepository.save(job).getId();
+
+        projectDeletionWorker.resumeUnfinished();
+        Thread.sleep(200);
+
+        assertEquals(DeletionJobStatus.RUNNING, projectService.getDeletionJob(jobId).getStatus());
+        assertTrue(deletedTasks.stream().allMatch(taskRepository::existsById));
+
+        // The other node stopped renewing its lease
+        job = projectDeletionJobRepository.findById(jobId).orElseThrow();
+        job.setHeartbeatAt(LocalDateTime.now().minusHours(1));
+        projectDeletionJobRepository.save(job);
+
+        projectDeletionWorker.resumeUnfinished();
+
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (projectService.getDeletionJob(jobId).getStatus() != DeletionJobStatus.COMPLETED
+                && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+        }
+        assertEquals(DeletionJobStatus.COMPLETED, projectService.getDeletionJob(jobId).getStatus());
+        assertFalse(projectRepository.existsById(deleted));
+        assertTrue(deletedTasks.stream().noneMatch(taskRepository::existsById));
+    }
+
+    @Test
+    public void testClaim_RejectsJobWithLiveLease() {
+        ProjectDeletionJob job = new ProjectDeletionJob(-1L, 0);
+        job.setOwner("other-node");
+        job.setHeartbeatAt(LocalDateTime.now());
+        Long jobId = projectDeletionJobRepository.save(job).getId();
+        LocalDateTime now = LocalDateTime.now();
+        List<DeletionJobStatus> unfinished = List.of(DeletionJobStatus.PENDING, DeletionJobStatus.RUNNING);
+
+        assertEquals(0, projectDeletionJobRepository.claim(jobId, "this-node", now, now.minusMinutes(2), unfinished));
+        assertEquals(1, projectDeletionJobRepository.claim(jobId, "this-node", now, now.plusSeconds(1), unfinished));
+        assertEquals(0, projectDeletionJobRepository.renewLease(jobId, "other-node", 0, now));
+        assertEquals("this-node", projectDeletionJobRepository.findById(jobId).orElseThrow().getOwner());
+        projectDeletionJobRepository.deleteById(jobId);
+    }
+
+    @Test
+    public void testGetDeletionJob_NotFound() {
+        assertThrows(ResponseStatusException.class, () -> projectService.getDeletionJob(-1L));
+    }
+
+    @Test
+    public void testDeleteProject_NotFound() {
+        assertThrows(ResponseStatusException.class, () -> projectService.deleteProject(-1L));
+    }
+
+    private void awaitCompleted(Long jobId) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (projectService.getDeletionJob(jobId).getStatus() != DeletionJobStatus.COMPLETED
+                && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+        }
+        assertEquals(DeletionJobStatus.COMPLETED, projectService.getDeletionJob(jobId).getStatus());
+    }
+
+    private Long createProject(String name) {
+        ProjectCreateRequest request = new ProjectCreateRequest();
+        request.setName(name);
+        return projectService.createProject(request).getId();
+    }
+
+    private List<Long> createTasks(Long projectId, int count) {
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            TaskCreateRequest request = new TaskCreateRequest();
+            request.setTitle("Task " + i);
+            request.setProjectId(projectId);
+            ids.add(taskService.createTask(request).getId());
+        }
+        return ids;
+    }
+}
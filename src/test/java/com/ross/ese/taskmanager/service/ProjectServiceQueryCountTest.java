@@ -0,0 +1,102 @@
+package com.ross.ese.taskmanager.service;
+
+import com.ross.ese.taskmanager.dto.CursorPageResponse;
+import com.ross.ese.taskmanager.dto.ProjectCreateRequest;
+import com.ross.ese.taskmanager.dto.ProjectResponse;
+import com.ross.ese.taskmanager.dto.TaskCreateRequest;
+import com.ross.ese.taskmanager.model.TaskStatus;
+import com.ross.ese.taskmanager.repository.ProjectRepository;
+import com.ross.ese.taskmanager.repository.TaskRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Guards against the project list going back to one task count query per project.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+public class ProjectServiceQueryCountTest {
+
+    private static final int PROJECTS = 20;
+
+    @Autowired
+    private ProjectService projectService;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    public void setup() {
+        for (int i = 0; i < PROJECTS; i++) {
+            ProjectCreateRequest project = new ProjectCreateRequest();
+            project.setName("Project " + i);
+            Long projectId = projectService.createProject(project).getId();
+            for (int j = 0; j < i % 3; j++) {
+                TaskCreateRequest task = new TaskCreateRequest();
+                task.setTitle("Task " + i + "-" + j);
+                task.setProjectId(projectId);
+                taskService.createTask(task);
+            }
+        }
+        cacheManager.getCache("projects").clear();
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @AfterEach
+    public void cleanup() {
+        taskRepository.deleteAll();
+        projectRepository.findAllIds().forEach(projectService::deleteProject);
+    }
+
+    @Test
+    public void testGetAllProjects_SingleStatement() {
+        List<ProjectResponse> projects = projectService.getAllProjects();
+
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(PROJECTS, projects.size());
+        for (int i = 0; i < PROJECTS; i++) {
+            assertEquals("Project " + i, projects.get(i).getName());
+            assertEquals(i % 3, projects.get(i).getTaskCount());
+            assertEquals(i % 3, projects.get(i).getStatusCounts().get(TaskStatus.TODO));
+        }
+    }
+
+    @Test
+    public void testGetProjectsPage_SingleStatement() {
+        CursorPageResponse<ProjectResponse> page = projectService.getProjectsPage(null, 10);
+
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(10, page.getItems().size());
+        assertEquals(page.getItems().get(9).getId(), page.getNextCursor());
+        assertEquals(List.of(0, 1, 2, 0), page.getItems().subList(0, 4).stream()
+                .map(ProjectResponse::getTaskCount).toList());
+    }
+}
@@ -0,0 +1,161 @@
+package com.ross.ese.taskmanager.service;
+
+import com.ross.ese.taskmanager.dto.ProjectCreateRequest;
+import com.ross.ese.taskmanager.dto.ProjectResponse;
+import com.ross.ese.taskmanager.dto.TaskCreateRequest;
+import com.ross.ese.taskmanager.dto.TaskUpdateRequest;
+import com.ross.ese.taskmanager.model.JobLease;
+import com.ross.ese.taskmanager.model.TaskStatus;
+import com.ross.ese.taskmanager.repository.JobLeaseRepository;
+import com.ross.ese.taskmanager.repository.ProjectRepository;
+import com.ross.ese.taskmanager.repository.ProjectTaskCountsRepository;
+import com.ross.ese.taskmanager.repository.TaskRepository;
+import com.ross.ese.taskmanager.service.impl.ProjectTaskCountsReconciler;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.DefaultApplicationArguments;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+public class ProjectTaskCountsTest {
+
+    @Autowired
+    private ProjectService projectService;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private ProjectTaskCountsRepository projectTaskCountsRepository;
+
+    @Autowired
+    private JobLeaseRepository jobLeaseRepository;
+
+    @Autowired
+    private ProjectTaskCountsReconciler reconciler;
+
+    private Long projectA;
+    private Long projectB;
+
+    @BeforeEach
+    public void setup() {
+        projectA = createProject("A");
+        projectB = createProject("B");
+    }
+
+    @AfterEach
+    public void cleanup() {
+        jobLeaseRepository.deleteAll();
+        taskRepository.deleteAll();
+        projectRepository.findAllIds().forEach(projectService::deleteProject);
+    }
+
+    @Test
+    public void testCounters_FollowTaskWrites() {
+        Long task1 = createTask(projectA);
+        createTask(projectA);
+        assertCounts(projectA, 2, Map.of(TaskStatus.TODO, 2));
+
+        updateTask(task1, null, TaskStatus.DONE);
+        assertCounts(projectA, 2, Map.of(TaskStatus.TODO, 1, TaskStatus.DONE, 1));
+
+        updateTask(task1, projectB, TaskStatus.REVIEW);
+        assertCounts(projectA, 1, Map.of(TaskStatus.TODO, 1));
+        assertCounts(projectB, 1, Map.of(TaskStatus.REVIEW, 1));
+
+        taskService.deleteTask(task1);
+        assertCounts(projectB, 0, Map.of());
+        assertEquals(1, projectService.getAllProjects().stream()
+                .filter(project -> project.getId().equals(projectA))
+                .findFirst().orElseThrow().getTaskCount());
+    }
+
+    @Test
+    public void testReconcile_RepairsDrift() {
+        createTask(projectA);
+        createTask(projectB);
+        projectTaskCountsRepository.add(projectA, TaskStatus.IN_PROGRESS, 5);
+        projectTaskCountsRepository.deleteById(projectB);
+
+        assertEquals(2, reconciler.reconcile());
+
+        assertCounts(projectA, 1, Map.of(TaskStatus.TODO, 1));
+        assertCounts(projectB, 1, Map.of(TaskStatus.TODO, 1));
+        assertEquals(0, reconciler.reconcile());
+    }
+
+    @Test
+    public void testReconcile_SkippedWhileAnotherNodeHoldsTheLease() {
+        createTask(projectA);
+        projectTaskCountsRepository.deleteById(projectA);
+        JobLease lease = new JobLease("project-task-counts");
+        lease.setOwner("other-node");
+        lease.setExpiresAt(LocalDateTime.now().plusMinutes(5));
+        jobLeaseRepository.save(lease);
+
+        assertEquals(0, reconciler.reconcile());
+        assertFalse(projectTaskCountsRepository.existsById(projectA));
+
+        // The other node stopped before its lease ran out
+        lease.setExpiresAt(LocalDateTime.now().minusSeconds(1));
+        jobLeaseRepository.save(lease);
+
+        assertEquals(1, reconciler.reconcile());
+        assertCounts(projectA, 1, Map.of(TaskStatus.TODO, 1));
+    }
+
+    @Test
+    public void testRun_CreatesMissingCountersAtStartup() {
+        createTask(projectA);
+        createTask(projectA);
+        // A project created before the counters existed
+        projectTaskCountsRepository.deleteById(projectA);
+
+        reconciler.run(new DefaultApplicationArguments());
+
+        assertCounts(projectA, 2, Map.of(TaskStatus.TODO, 2));
+    }
+
+    private void assertCounts(Long projectId, int total, Map<TaskStatus, Integer> nonZero) {
+        ProjectResponse project = projectService.getProjectById(projectId);
+        assertEquals(total, project.getTaskCount());
+        for (TaskStatus status : TaskStatus.values()) {
+            assertEquals(nonZero.getOrDefault(status, 0), project.getStatusCounts().get(status), status.name());
+        }
+    }
+
+    private Long createProject(String name) {
+        ProjectCreateRequest request = new ProjectCreateRequest();
+        request.setName(name);
+        return projectService.createProject(request).getId();
+    }
+
+    private Long createTask(Long projectId) {
+        TaskCreateRequest request = new TaskCreateRequest();
+        request.setTitle("Task");
+        request.setProjectId(projectId);
+        return taskService.createTask(request).getId();
+    }
+
+    private void updateTask(Long taskId, Long projectId, TaskStatus status) {
+        TaskUpdateRequest request = new TaskUpdateRequest();
+        request.setProjectId(projectId);
+        request.setStatus(status);
+        taskService.updateTask(taskId, request);
+    }
+}
@@ -0,0 +1,171 @@
+package com.ross.ese.taskmanager.service;
+
+import com.ross.ese.taskmanager.cache.TaskCacheGenerations;
+import com.ross.ese.taskmanager.dto.ProjectCreateRequest;
+import com.ross.ese.taskmanager.dto.TaskBatchUpdateRequest;
+import com.ross.ese.taskmanager.dto.TaskCreateRequest;
+import com.ross.ese.taskmanager.dto.TaskResponse;
+import com.ross.ese.taskmanager.model.ProjectTaskCounts;
+import com.ross.ese.taskmanager.model.TaskStatus;
+import com.ross.ese.taskmanager.repository.ProjectRepository;
+import com.ross.ese.taskmanager.repository.ProjectTaskCountsRepository;
+import com.ross.ese.taskmanager.repository.TaskRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+public class TaskBatchTest {
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private ProjectService projectService;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private ProjectTaskCountsRepository projectTaskCountsRepository;
+
+    @Autowired
+    private TaskCacheGenerations taskCacheGenerations;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @AfterEach
+    public void cleanup() {
+        taskRepository.deleteAll();
+        projectRepository.findAllIds().forEach(projectService::deleteProject);
+    }
+
+    @Test
+    public void testCreateTasks_CreatesAllAndCountsPerProject() {
+        Long first = createProject("First");
+        Long second = createProject("Second");
+        List<TaskCreateRequest> requests = new ArrayList<>();
+        for (int i = 0; i < 120; i++) {
+            requests.add(createRequest("Task " + i, i % 3 == 0 ? second : first));
+        }
+
+        List<TaskResponse> created = taskService.createTasks(requests);
+
+        assertEquals(120, created.size());
+        assertEquals(120, created.stream().map(TaskResponse::getId).distinct().count());
+        assertEquals(120, taskRepository.count());
+        assertEquals(80, counts(first).getTodo());
+        assertEquals(40, counts(second).getTotal());
+        assertEquals("Second", created.get(0).getProjectName());
+    }
+
+    @Test
+    public void testCreateTasks_InvalidatesListsOnce() {
+        Long projectId = createProject("Project");
+        taskService.getTasksByProject(projectId);
+        String listKey = taskCacheGenerations.projectKey(projectId);
+
+        taskService.createTasks(List.of(createRequest("Task 1", projectId), createRequest("Task 2", projectId)));
+
+        assertNotEquals(listKey, taskCacheGenerations.projectKey(projectId));
+        assertEquals(2, taskService.getTasksByProject(projectId).size());
+    }
+
+    @Test
+    public void testUpdateTasks_MovesTasksAndCounters() {
+        Long first = createProject("First");
+        Long second = createProject("Second");
+        List<TaskResponse> created = taskService.createTasks(List.of(
+                createRequest("Task 1", first), createRequest("Task 2", first)));
+        taskService.getTaskById(created.get(0).getId());
+
+        TaskBatchUpdateRequest.Item move = new TaskBatchUpdateRequest.Item();
+        move.setId(created.get(0).getId());
+        move.setProjectId(second);
+        move.setStatus(TaskStatus.DONE);
+        TaskBatchUpdateRequest.Item rename = new TaskBatchUpdateRequest.Item();
+        rename.setId(created.get(1).getId());
+        rename.setTitle("Renamed");
+
+        List<TaskResponse> updated = taskService.updateTasks(List.of(move, rename));
+
+        assertEquals(second, updated.get(0).getProjectId());
+        assertEquals("Renamed", updated.get(1).getTitle());
+        assertEquals(TaskStatus.DONE, taskService.getTaskById(created.get(0).getId()).getStatus());
+        assertEquals(1, counts(first).getTodo());
+        assertEquals(1, counts(second).getDone());
+        assertEquals(1, counts(second).getTotal());
+    }
+
+    @Test
+    public void testUpdateTasks_MissingTaskFailsWholeBatch() {
+        Long projectId = createProject("Project");
+        TaskResponse task = taskService.createTasks(List.of(createRequest("Task 1", projectId))).get(0);
+        TaskBatchUpdateRequest.Item existing = new TaskBatchUpdateRequest.Item();
+        existing.setId(task.getId());
+        existing.setTitle("Renamed");
+        TaskBatchUpdateRequest.Item missing = new TaskBatchUpdateRequest.Item();
+        missing.setId(-1L);
+        missing.setTitle("Missing");
+
+        assertThrows(ResponseStatusException.class, () -> taskService.updateTasks(List.of(existing, missing)));
+        assertEquals("Task 1", taskService.getTaskById(task.getId()).getTitle());
+    }
+
+    @Test
+    public void testDeleteTasks_DeletesAllAndEvictsThem() {
+        Long projectId = createProject("Project");
+        List<TaskResponse> created = taskService.createTasks(List.of(
+                createRequest("Task 1", projectId), createRequest("Task 2", projectId), createRequest("Task 3", projectId)));
+        Long deletedId = created.get(0).getId();
+        taskService.getTaskById(deletedId);
+
+        taskService.deleteTasks(List.of(deletedId, created.get(1).getId()));
+
+        assertEquals(1, taskRepository.count());
+        assertEquals(1, counts(projectId).getTotal());
+        assertNull(cacheManager.getCache("tasks").get(taskCacheGenerations.taskKey(deletedId)));
+        assertThrows(ResponseStatusException.class, () -> taskService.getTaskById(deletedId));
+    }
+
+    @Test
+    public void testDeleteTasks_MissingTaskFailsWholeBatch() {
+        Long projectId = createProject("Project");
+        Long taskId = taskService.createTasks(List.of(createRequest("Task 1", projectId))).get(0).getId();
+
+        assertThrows(ResponseStatusException.class, () -> taskService.deleteTasks(List.of(taskId, -1L)));
+        assertTrue(taskRepository.existsById(taskId));
+        assertEquals(1, counts(projectId).getTotal());
+    }
+
+    private ProjectTaskCounts counts(Long projectId) {
+        return projectTaskCountsRepository.findById(projectId).orElseThrow();
+    }
+
+    private Long createProject(String name) {
+        ProjectCreateRequest request = new ProjectCreateRequest();
+        request.setName(name);
+        return projectService.createProject(request).getId();
+    }
+
+    private static TaskCreateRequest createRequest(String title, Long projectId) {
+        TaskCreateRequest request = new TaskCreateRequest();
+        request.setTitle(title);
+        request.setProjectId(projectId);
+        return request;
+    }
+}
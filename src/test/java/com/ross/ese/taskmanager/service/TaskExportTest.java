@@ -0,0 +1,113 @@
+package com.ross.ese.taskmanager.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ross.ese.taskmanager.cache.TaskCacheGenerations;
+import com.ross.ese.taskmanager.dto.ExportFormat;
+import com.ross.ese.taskmanager.dto.ProjectCreateRequest;
+import com.ross.ese.taskmanager.dto.TaskCreateRequest;
+import com.ross.ese.taskmanager.dto.TaskResponse;
+import com.ross.ese.taskmanager.repository.ProjectRepository;
+import com.ross.ese.taskmanager.repository.TaskRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+public class TaskExportTest {
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private ProjectService projectService;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private TaskCacheGenerations taskCacheGenerations;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @AfterEach
+    public void cleanup() {
+        taskRepository.deleteAll();
+        projectRepository.findAllIds().forEach(projectService::deleteProject);
+    }
+
+    @Test
+    public void testExportNdjson_OneTaskPerLineWithoutCaching() throws IOException {
+        Long projectId = createProject("Exported");
+        Long otherId = createProject("Other");
+        List<TaskResponse> created = taskService.createTasks(List.of(
+                createRequest("Task 1", "First", projectId),
+                createRequest("Task 2", "Second", projectId),
+                createRequest("Task 3", "Elsewhere", otherId)));
+
+        String[] lines = export(projectId, ExportFormat.NDJSON).split("\n");
+
+        assertEquals(2, lines.length);
+        assertEquals(taskService.getTaskById(created.get(0).getId()), objectMapper.readValue(lines[0], TaskResponse.class));
+        assertEquals(taskService.getTaskById(created.get(1).getId()), objectMapper.readValue(lines[1], TaskResponse.class));
+        assertNull(cacheManager.getCache("tasks").get(taskCacheGenerations.projectKey(projectId)));
+    }
+
+    @Test
+    public void testExportCsv_QuotesFieldsWithSeparators() throws IOException {
+        Long projectId = createProject("Exported");
+        Long taskId = taskService.createTasks(List.of(
+                createRequest("Task, quoted", "Says \"hi\"\non two lines", projectId))).get(0).getId();
+        TaskResponse task = taskService.getTaskById(taskId);
+
+        String csv = export(projectId, ExportFormat.CSV);
+
+        assertEquals("id,title,description,status,priority,dueDate,createdAt,projectId,projectName\r\n"
+                + task.getId() + ",\"Task, quoted\",\"Says \"\"hi\"\"\non two lines\",TODO,,,"
+                + task.getCreatedAt() + "," + projectId + ",Exported\r\n", csv);
+    }
+
+    @Test
+    public void testExport_EmptyProject() throws IOException {
+        Long projectId = createProject("Empty");
+
+        assertEquals("", export(projectId, ExportFormat.NDJSON));
+    }
+
+    private String export(Long projectId, ExportFormat format) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        taskService.exportTasksByProject(projectId, format, out);
+        return out.toString(StandardCharsets.UTF_8);
+    }
+
+    private Long createProject(String name) {
+        ProjectCreateRequest request = new ProjectCreateRequest();
+        request.setName(name);
+        return projectService.createProject(request).getId();
+    }
+
+    private static TaskCreateRequest createRequest(String title, String description, Long projectId) {
+        TaskCreateRequest request = new TaskCreateRequest();
+        request.setTitle(title);
+        request.setDescription(description);
+        request.setProjectId(projectId);
+        return request;
+    }
+}
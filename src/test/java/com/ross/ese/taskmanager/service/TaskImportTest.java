@@ -0,0 +1,157 @@
+package com.ross.ese.taskmanager.service;
+
+import com.ross.ese.taskmanager.cache.TaskCacheGenerations;
+import com.ross.ese.taskmanager.dto.ExportFormat;
+import com.ross.ese.taskmanager.dto.ProjectCreateRequest;
+import com.ross.ese.taskmanager.dto.TaskCreateRequest;
+import com.ross.ese.taskmanager.dto.TaskImportResult;
+import com.ross.ese.taskmanager.dto.TaskResponse;
+import com.ross.ese.taskmanager.model.Task;
+import com.ross.ese.taskmanager.model.TaskPriority;
+import com.ross.ese.taskmanager.repository.ProjectRepository;
+import com.ross.ese.taskmanager.repository.ProjectTaskCountsRepository;
+import com.ross.ese.taskmanager.repository.TaskRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = "app.task-import.batch-size=2")
+@ActiveProfiles("test")
+public class TaskImportTest {
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private ProjectService projectService;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private ProjectTaskCountsRepository projectTaskCountsRepository;
+
+    @Autowired
+    private TaskCacheGenerations taskCacheGenerations;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    public void cleanup() {
+        taskRepository.deleteAll();
+        projectRepository.findAllIds().forEach(projectService::deleteProject);
+    }
+
+    @Test
+    public void testImportCsv_ReportsRowErrorsWithoutAborting() throws IOException {
+        Long projectId = createProject("Imported");
+        taskService.getTasksByProject(projectId);
+        String listKey = taskCacheGenerations.projectKey(projectId);
+        String csv = "title,priority,projectId,description,dueDate\r\n"
+                + "First task,HIGH," + projectId + ",\"Line one\nline two, with \"\"quotes\"\"\",\r\n"
+                + "No,,,,\r\n"
+                + "Bad priority,URGENT,,,\r\n"
+                + "\r\n"
+                + "Unknown project,,-1,,\r\n"
+                + "Too long," + "LOW,," + "x".repeat(600) + ",\r\n"
+                + "Last task,," + projectId + ",,2030-01-31T12:00:00\r\n";
+
+        TaskImportResult result = importTasks(ExportFormat.CSV, csv);
+
+        assertEquals(6, result.getRowsRead());
+        assertEquals(2, result.getImported());
+        assertEquals(4, result.getFailed());
+        assertEquals(List.of(2L, 3L, 4L, 5L), result.getErrors().stream().map(TaskImportResult.RowError::getRow).toList());
+        assertTrue(result.getErrors().get(0).getMessage().startsWith("title: "));
+        assertEquals("Project not found with id: -1", result.getErrors().get(2).getMessage());
+
+        assertNotEquals(listKey, taskCacheGenerations.projectKey(projectId));
+        List<TaskResponse> imported = taskService.getTasksByProject(projectId);
+        assertEquals(List.of("First task", "Last task"), imported.stream().map(TaskResponse::getTitle).toList());
+        assertEquals("Line one\nline two, with \"quotes\"", imported.get(0).getDescription());
+        assertEquals(TaskPriority.HIGH, imported.get(0).getPriority());
+        assertEquals(2, projectTaskCountsRepository.findById(projectId).orElseThrow().getTodo());
+    }
+
+    @Test
+    public void testImportNdjson_ReimportsAnExport() throws IOException {
+        Long source = createProject("Source");
+        Long target = createProject("Target");
+        taskService.createTasks(List.of(createRequest("Task 1", source), createRequest("Task 2", source),
+                createRequest("Task 3", source)));
+        ByteArrayOutputStream export = new ByteArrayOutputStream();
+        taskService.exportTasksByProject(source, ExportFormat.NDJSON, export);
+        String ndjson = export.toString(StandardCharsets.UTF_8)
+                .replace("\"projectId\":" + source, "\"projectId\":" + target) + "{not json}\n";
+
+        TaskImportResult result = importTasks(ExportFormat.NDJSON, ndjson);
+
+        assertEquals(3, result.getImported());
+        assertEquals(1, result.getFailed());
+        assertEquals(4, result.getErrors().get(0).getRow());
+        assertEquals(3, taskService.getTasksByProject(target).size());
+        assertEquals(3, projectTaskCountsRepository.findById(target).orElseThrow().getTotal());
+    }
+
+    @Test
+    public void testImport_IdsDoNotCollideWithCreatedTasks() throws IOException {
+        importTasks(ExportFormat.NDJSON, "{\"title\":\"Imported\"}\n");
+        Long created = taskService.createTask(createRequest("Created", null)).getId();
+        importTasks(ExportFormat.NDJSON, "{\"title\":\"Imported again\"}\n");
+
+        assertEquals(3, taskRepository.count());
+        assertEquals("Created", taskService.getTaskById(created).getTitle());
+    }
+
+    @Test
+    public void testImport_FailedBatchRetriesRowsWithItsIds() throws IOException {
+        String csv = "title,description\r\n"
+                + "First task,\r\n"
+                + "Too long," + "x".repeat(600) + "\r\n"
+                + "Last task,\r\n";
+        long before = nextTaskIdBlock();
+
+        TaskImportResult result = importTasks(ExportFormat.CSV, csv);
+
+        assertEquals(2, result.getImported());
+        assertEquals(List.of(2L), result.getErrors().stream().map(TaskImportResult.RowError::getRow).toList());
+        // One block per batch, none for the rows written again
+        assertEquals(before + 3L * Task.ID_ALLOCATION_SIZE, nextTaskIdBlock());
+    }
+
+    private long nextTaskIdBlock() {
+        return jdbcTemplate.queryForObject("SELECT NEXT VALUE FOR " + Task.ID_SEQUENCE, Long.class);
+    }
+
+    private TaskImportResult importTasks(ExportFormat format, String body) throws IOException {
+        return taskService.importTasks(format, new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private Long createProject(String name) {
+        ProjectCreateRequest request = new ProjectCreateRequest();
+        request.setName(name);
+        return projectService.createProject(request).getId();
+    }
+
+    private static TaskCreateRequest createRequest(String title, Long projectId) {
+        TaskCreateRequest request = new TaskCreateRequest();
+        request.setTitle(title);
+        request.setProjectId(projectId);
+        return request;
+    }
+}
@@ -1,13 +1,20 @@
 package com.ross.ese.taskmanager.service;
 
+import com.ross.ese.taskmanager.cache.CacheRefresher;
+import com.ross.ese.taskmanager.cache.TaskCacheGenerations;
+import com.ross.ese.taskmanager.cache.TaskListCacheUpdater;
+import com.ross.ese.taskmanager.config.PaginationProperties;
+import com.ross.ese.taskmanager.dto.CursorPageResponse;
 import com.ross.ese.taskmanager.dto.TaskCreateRequest;
 import com.ross.ese.taskmanager.dto.TaskResponse;
+import com.ross.ese.taskmanager.dto.TaskSummaryResponse;
 import com.ross.ese.taskmanager.dto.TaskUpdateRequest;
 import com.ross.ese.taskmanager.model.Project;
 import com.ross.ese.taskmanager.model.Task;
 import com.ross.ese.taskmanager.model.TaskPriority;
 import com.ross.ese.taskmanager.model.TaskStatus;
 import com.ross.ese.taskmanager.repository.ProjectRepository;
+import com.ross.ese.taskmanager.repository.ProjectTaskCountsRepository;
 import com.ross.ese.taskmanager.repository.TaskRepository;
 import com.ross.ese.taskmanager.service.impl.TaskServiceImpl;
 import org.junit.jupiter.api.BeforeEach;
@@ -15,7 +22,10 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.domain.Limit;
 import org.springframework.web.server.ResponseStatusException;
 
 import java.time.LocalDateTime;
@@ -36,6 +46,24 @@ public class TaskServiceTest {
     @Mock
     private ProjectRepository projectRepository;
 
+    @Mock
+    private ProjectTaskCountsRepository projectTaskCountsRepository;
+
+    @Mock
+    private CacheManager cacheManager;
+
+    @Mock
+    private TaskListCacheUpdater taskListCacheUpdater;
+
+    @Mock
+    private TaskCacheGenerations taskCacheGenerations;
+
+    @Mock
+    private CacheRefresher cacheRefresher;
+
+    @Spy
+    private PaginationProperties paginationProperties = new PaginationProperties();
+
     @InjectMocks
     private TaskServiceImpl taskService;
 
@@ -71,14 +99,23 @@ public class TaskServiceTest {
 
     @Test
     public void testGetAllTasks() {
-        when(taskRepository.findAll()).thenReturn(Arrays.asList(task1, task2));
+        when(taskRepository.findAllResponses(any(Limit.class))).thenReturn(Arrays.asList(response(task1), response(task2)));
 
         List<TaskResponse> result = taskService.getAllTasks();
 
         assertEquals(2, result.size());
         assertEquals("Test Task 1", result.get(0).getTitle());
         assertEquals("Test Task 2", result.get(1).getTitle());
-        verify(taskRepository, times(1)).findAll();
+        verify(taskRepository, times(1)).findAllResponses(any(Limit.class));
+    }
+
+    @Test
+    public void testGetAllTasks_StopsAtMaxUnpaged() {
+        paginationProperties.setMaxUnpaged(2);
+        when(taskRepository.findAllResponses(Limit.of(2))).thenReturn(Arrays.asList(response(task1), response(task2)));
+
+        assertEquals(2, taskService.getAllTasks().size());
+        verify(taskRepository).findAllResponses(Limit.of(2));
     }
 
     @Test
@@ -124,7 +161,7 @@ public class TaskServiceTest {
         assertEquals("New Task", result.getTitle());
         assertEquals(TaskStatus.TODO, result.getStatus());
         verify(taskRepository, times(1)).save(any(Task.class));
-        verify(projectRepository, never()).findById(any());
+        verify(projectRepository, never()).findActiveById(any());
     }
 
     @Test
@@ -144,7 +181,7 @@ public class TaskServiceTest {
         savedTask.setCreatedAt(LocalDateTime.now());
         savedTask.setProject(project);
 
-        when(projectRepository.findById(1L)).thenReturn(Optional.of(project));
+        when(projectRepository.findActiveById(1L)).thenReturn(Optional.of(project));
         when(taskRepository.save(any(Task.class))).thenReturn(savedTask);
 
         TaskResponse result = taskService.createTask(request);
@@ -155,7 +192,7 @@ public class TaskServiceTest {
         assertEquals(1L, result.getProjectId());
         assertEquals("Test Project", result.getProjectName());
         verify(taskRepository, times(1)).save(any(Task.class));
-        verify(projectRepository, times(1)).findById(1L);
+        verify(projectRepository, times(1)).findActiveById(1L);
     }
 
     @Test
@@ -184,6 +221,11 @@ public class TaskServiceTest {
         assertEquals(TaskStatus.IN_PROGRESS, result.getStatus());
         verify(taskRepository, times(1)).findById(1L);
         verify(taskRepository, times(1)).save(any(Task.class));
+        // The cached lists are told where the task was before the update
+        verify(taskListCacheUpdater).taskSaved(result, 1L, TaskStatus.TODO);
+        // The task changed status, so it moves between the status counters of its project
+        verify(projectTaskCountsRepository).add(1L, TaskStatus.TODO, -1);
+        verify(projectTaskCountsRepository).add(1L, TaskStatus.IN_PROGRESS, 1);
     }
 
     @Test
@@ -221,14 +263,14 @@ public class TaskServiceTest {
     @Test
     public void testGetTasksByProject_Success() {
         when(projectRepository.existsById(1L)).thenReturn(true);
-        when(taskRepository.findByProjectId(1L)).thenReturn(List.of(task1));
+        when(taskRepository.findResponsesByProjectId(eq(1L), any(Limit.class))).thenReturn(List.of(response(task1)));
 
         List<TaskResponse> result = taskService.getTasksByProject(1L);
 
         assertEquals(1, result.size());
         assertEquals("Test Task 1", result.get(0).getTitle());
         verify(projectRepository, times(1)).existsById(1L);
-        verify(taskRepository, times(1)).findByProjectId(1L);
+        verify(taskRepository, times(1)).findResponsesByProjectId(eq(1L), any(Limit.class));
     }
 
     @Test
@@ -237,18 +279,95 @@ public class TaskServiceTest {
 
         assertThrows(ResponseStatusException.class, () -> taskService.getTasksByProject(999L));
         verify(projectRepository, times(1)).existsById(999L);
-        verify(taskRepository, never()).findByProjectId(anyLong());
+        verify(taskRepository, never()).findResponsesByProjectId(anyLong(), any(Limit.class));
     }
 
     @Test
     public void testGetTasksByStatus() {
-        when(taskRepository.findByStatus(TaskStatus.TODO)).thenReturn(List.of(task1));
+        when(taskRepository.findResponsesByStatus(eq(TaskStatus.TODO), any(Limit.class))).thenReturn(List.of(response(task1)));
 
         List<TaskResponse> result = taskService.getTasksByStatus(TaskStatus.TODO);
 
         assertEquals(1, result.size());
         assertEquals("Test Task 1", result.get(0).getTitle());
         assertEquals(TaskStatus.TODO, result.get(0).getStatus());
-        verify(taskRepository, times(1)).findByStatus(TaskStatus.TODO);
+        verify(taskRepository, times(1)).findResponsesByStatus(eq(TaskStatus.TODO), any(Limit.class));
+    }
+
+    @Test
+    public void testGetTasksPage_ReturnsNextCursor() {
+        when(taskRepository.findResponsePage(0L, Limit.of(2))).thenReturn(Arrays.asList(response(task1), response(task2)));
+
+        CursorPageResponse<TaskResponse> page = taskService.getTasksPage(null, 1);
+
+        assertEquals(1, page.getItems().size());
+        assertEquals("Test Task 1", page.getItems().get(0).getTitle());
+        assertEquals(1L, page.getNextCursor());
+    }
+
+    @Test
+    public void testGetTasksByProjectPage_LastPage() {
+        when(taskRepository.findResponsePageByProjectId(1L, 1L, Limit.of(51)))
+                .thenReturn(List.of(response(task2)));
+
+        CursorPageResponse<TaskResponse> page = taskService.getTasksByProjectPage(1L, 1L, null);
+
+        assertEquals(1, page.getItems().size());
+        assertNull(page.getNextCursor());
+    }
+
+    @Test
+    public void testGetTasksByStatusPage_LimitIsCapped() {
+        when(taskRepository.findResponsePageByStatus(TaskStatus.TODO, 0L, Limit.of(501)))
+                .thenReturn(List.of(response(task1)));
+
+        taskService.getTasksByStatusPage(TaskStatus.TODO, null, 10_000);
+
+        verify(taskRepository).findResponsePageByStatus(TaskStatus.TODO, 0L, Limit.of(501));
+    }
+
+    @Test
+    public void testGetTaskSummariesByStatus() {
+        when(taskRepository.findSummariesByStatus(eq(TaskStatus.TODO), any(Limit.class))).thenReturn(List.of(summary(task1)));
+
+        List<TaskSummaryResponse> result = taskService.getTaskSummariesByStatus(TaskStatus.TODO);
+
+        assertEquals(1, result.size());
+        assertEquals("Test Task 1", result.get(0).getTitle());
+        verify(taskRepository, times(1)).findSummariesByStatus(eq(TaskStatus.TODO), any(Limit.class));
+        verify(taskRepository, never()).findResponsesByStatus(any(), any(Limit.class));
+    }
+
+    @Test
+    public void testGetTaskSummariesPage_ReturnsNextCursor() {
+        when(taskRepository.findSummaryPage(0L, Limit.of(2))).thenReturn(Arrays.asList(summary(task1), summary(task2)));
+
+        CursorPageResponse<TaskSummaryResponse> page = taskService.getTaskSummariesPage(null, 1);
+
+        assertEquals(1, page.getItems().size());
+        assertEquals(1L, page.getNextCursor());
+    }
+
+    @Test
+    public void testGetTasksPage_InvalidLimit() {
+        assertThrows(ResponseStatusException.class, () -> taskService.getTasksPage(null, 0));
+        verifyNoInteractions(taskRepository);
+    }
+
+    // The row the summary queries select for a task
+    private static TaskSummaryResponse summary(Task task) {
+        Project taskProject = task.getProject();
+        return new TaskSummaryResponse(task.getId(), task.getTitle(), task.getStatus(), task.getPriority(),
+                taskProject != null ? taskProject.getId() : null,
+                taskProject != null ? taskProject.getName() : null);
+    }
+
+    // The row the list queries select for a task
+    private static TaskResponse response(Task task) {
+        Project taskProject = task.getProject();
+        return new TaskResponse(task.getId(), task.getTitle(), task.getDescription(), task.getStatus(),
+                task.getPriority(), task.getDueDate(), task.getCreatedAt(),
+                taskProject != null ? taskProject.getId() : null,
+                taskProject != null ? taskProject.getName() : null);
     }
 }